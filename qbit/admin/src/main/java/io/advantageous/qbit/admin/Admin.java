@@ -27,6 +27,8 @@ import io.advantageous.qbit.meta.ContextMeta;
 import io.advantageous.qbit.meta.builder.ContextMetaBuilder;
 import io.advantageous.qbit.meta.swagger.MetaTransformerFromQbitMetaToSwagger;
 import io.advantageous.qbit.meta.swagger.ServiceEndpointInfo;
+import io.advantageous.qbit.metrics.StatService;
+import io.advantageous.qbit.metrics.support.OpenMetricsExporter;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.reactive.Reactor;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
@@ -105,6 +107,12 @@ public class Admin {
     private final List<String> blackListForSystemProperties;
 
 
+    /**
+     * Stat service to scrape for metrics, null if metrics are not exposed.
+     */
+    private final StatService statService;
+
+
     /**
      * Construct the admin
      *
@@ -121,8 +129,31 @@ public class Admin {
                  final List<AdminJob> adminJobs,
                  final Reactor reactor,
                  final List<String> blackListForSystemProperties) {
+        this(healthService, contextMetaBuilder, adminContextMetaBuilder, adminJobs, reactor,
+                blackListForSystemProperties, null);
+    }
+
+    /**
+     * Construct the admin
+     *
+     * @param healthService                health service
+     * @param adminContextMetaBuilder      meta data support for the Admin itself.
+     * @param contextMetaBuilder           meta data support
+     * @param adminJobs                    list of periodic admin jobs
+     * @param reactor                      reactor
+     * @param blackListForSystemProperties black list for env variables and system properties we don't want queried.
+     * @param statService                  stat service exposed at /metrics, may be null.
+     */
+    public Admin(final HealthServiceAsync healthService,
+                 final ContextMetaBuilder contextMetaBuilder,
+                 final ContextMetaBuilder adminContextMetaBuilder,
+                 final List<AdminJob> adminJobs,
+                 final Reactor reactor,
+                 final List<String> blackListForSystemProperties,
+                 final StatService statService) {
 
         this.reactor = reactor;
+        this.statService = statService;
         for (AdminJob adminJob : adminJobs) {
             reactor.addRepeatingTask(adminJob.every(), adminJob.timeUnit(),
                     adminJob.runnable());
@@ -228,6 +259,35 @@ public class Admin {
     }
 
 
+    /**
+     * Metrics in OpenMetrics text format so Prometheus style scrapers can pull them.
+     *
+     * @param responseCallback responseCallback
+     */
+    @RequestMapping(value = "/metrics",
+            summary = "OpenMetrics scrape endpoint",
+            description = "Counts, levels and timing percentiles from the stat service in OpenMetrics text format.",
+            returnDescription = "OpenMetrics text, or 404 if no stat service is configured")
+    public void metrics(final Callback<HttpTextResponse> responseCallback) {
+
+        if (statService == null) {
+            responseCallback.resolve(httpResponseBuilder().setBody("no stat service configured")
+                    .setCode(404).buildTextResponse());
+            return;
+        }
+
+        statService.openMetrics(callbackBuilder().withStringCallback(text ->
+                responseCallback.resolve(httpResponseBuilder().setBody(text).setCode(200)
+                        .setContentType(OpenMetricsExporter.CONTENT_TYPE).buildTextResponse())
+        ).withErrorHandler(error -> {
+            logger.error("Unable to scrape stat service", error);
+            responseCallback.resolve(httpResponseBuilder().setBody("unable to scrape stat service")
+                    .setCode(500).buildTextResponse());
+        }).build());
+        statService.clientProxyFlush();
+    }
+
+
     /**
      * Checks to see if the key is black listed
      *
@@ -10,6 +10,7 @@ import io.advantageous.qbit.config.PropertyResolver;
 import io.advantageous.qbit.http.server.HttpServer;
 import io.advantageous.qbit.http.server.HttpServerBuilder;
 import io.advantageous.qbit.meta.builder.ContextMetaBuilder;
+import io.advantageous.qbit.metrics.StatService;
 import io.advantageous.qbit.reactive.Reactor;
 import io.advantageous.qbit.reactive.ReactorBuilder;
 import io.advantageous.qbit.server.EndpointServerBuilder;
@@ -83,6 +84,7 @@ public class AdminBuilder {
     private String machineName;
     private boolean useMachineName = Sys.sysProp("QBIT_USE_MACHINE_NAME_FOR_STATS", true);
     private String statName;
+    private StatService statService;
 
 
     @SuppressWarnings("WeakerAccess")
@@ -353,11 +355,27 @@ public class AdminBuilder {
     public Admin getAdmin() {
         if (admin == null) {
             admin = new Admin(getHealthService(), getContextBuilder(), getAdminContextBuilder(),
-                    getAdminJobs(), getReactor(), new ArrayList<>(this.getBlackListForSystemProperties()));
+                    getAdminJobs(), getReactor(), new ArrayList<>(this.getBlackListForSystemProperties()),
+                    getStatService());
         }
         return admin;
     }
 
+    /**
+     * Stat service that the admin exposes at /__admin/metrics for pull based scrapers.
+     * Null by default, which means metrics are not exposed.
+     *
+     * @return stat service proxy
+     */
+    public StatService getStatService() {
+        return statService;
+    }
+
+    public AdminBuilder setStatService(final StatService statService) {
+        this.statService = statService;
+        return this;
+    }
+
     public AdminBuilder setAdmin(Admin admin) {
         this.admin = admin;
         return this;
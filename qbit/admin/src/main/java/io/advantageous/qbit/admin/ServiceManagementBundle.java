@@ -152,6 +152,19 @@ public class ServiceManagementBundle implements ServiceHealthManager, StatsColle
     }
 
 
+    /**
+     * Prefixes the stats key with the stat key prefix, and then calls statsCollector.recordTimingHistogram.
+     *
+     * @param statKey   statKey
+     * @param histogram encoded histogram
+     */
+    @Override
+    public void recordTimingHistogram(String statKey, long[] histogram) {
+        final String longKey = getActualStatKey(statKey);
+        stats.recordTimingHistogram(longKey, histogram);
+    }
+
+
     private String getActualStatKey(String statKey) {
         String longKey = statNameMap.get(statKey);
         if (longKey == null) {
@@ -6,6 +6,7 @@ import io.advantageous.qbit.annotation.QueueCallback;
 import io.advantageous.qbit.annotation.QueueCallbackType;
 import io.advantageous.qbit.service.ServiceProxyUtils;
 import io.advantageous.qbit.service.discovery.*;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
 import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +40,7 @@ public class ClusteredStatReplicator implements StatReplicator, ServiceChangedEv
     private final int tallyInterval;
     private final int flushInterval;
     private final ConcurrentHashMap<String, LocalCount> countMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> timingMap = new ConcurrentHashMap<>();
     private long currentTime;
     private long lastReconnectTime;
     private long lastSendTime;
@@ -102,16 +104,22 @@ public class ClusteredStatReplicator implements StatReplicator, ServiceChangedEv
     }
 
     @Override
-    public void replicateTiming(String name, long level, long time) {
+    public void replicateTiming(String name, long timing, long time) {
+        timingHistogram(name).record(timing);
+    }
 
-        LocalCount localCount = countMap.get(name);
+    @Override
+    public void replicateTimingHistogram(String name, long[] histogram, long time) {
+        timingHistogram(name).add(histogram);
+    }
 
-        if (localCount == null) {
-            localCount = new LocalCount();
-            localCount.name = name;
-            countMap.put(name, localCount);
+    private LatencyHistogram timingHistogram(final String name) {
+        LatencyHistogram histogram = timingMap.get(name);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            timingMap.put(name, histogram);
         }
-        localCount.count = level;
+        return histogram;
     }
 
     private void doRecordCount(Pair<EndpointDefinition, StatReplicator> statReplicator,
@@ -124,6 +132,16 @@ public class ClusteredStatReplicator implements StatReplicator, ServiceChangedEv
         }
     }
 
+    private void doRecordTiming(Pair<EndpointDefinition, StatReplicator> statReplicator,
+                                final String name, final long[] histogram, final long now) {
+
+        try {
+            statReplicator.getSecond().replicateTimingHistogram(name, histogram, now);
+        } catch (Exception ex) {
+            logger.error(sputs("ClusteredStatReplicator::Replicator failed", statReplicator), ex);
+        }
+    }
+
     @QueueCallback({QueueCallbackType.IDLE,
             QueueCallbackType.EMPTY,
             QueueCallbackType.LIMIT})
@@ -158,6 +176,16 @@ public class ClusteredStatReplicator implements StatReplicator, ServiceChangedEv
             if (countMap.size() > 10_000_000) {
                 countMap.clear();
             }
+
+            timingMap.forEach((name, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    final long[] encoded = histogram.encode();
+                    statReplicators.forEach(
+                            statReplicator -> doRecordTiming(statReplicator, name, encoded, currentTime)
+                    );
+                    histogram.reset();
+                }
+            });
             flushReplicatorsAll();
         }
 
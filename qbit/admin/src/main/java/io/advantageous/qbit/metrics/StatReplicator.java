@@ -21,6 +21,7 @@ package io.advantageous.qbit.metrics;
 import io.advantageous.qbit.client.RemoteTCPClientProxy;
 import io.advantageous.qbit.service.ServiceFlushable;
 import io.advantageous.qbit.service.Stoppable;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
 
 /**
  * Stat Replicator.
@@ -33,4 +34,21 @@ public interface StatReplicator extends RemoteTCPClientProxy, ServiceFlushable,
     void replicateLevel(String name, long level, long time);
 
     void replicateTiming(String name, long timing, long time);
+
+    /**
+     * Replicate a batch of timings packed by {@link LatencyHistogram#encode()}.
+     * Replicators that do not keep histograms fall back to replicating the max.
+     * Replicators that run behind a service queue proxy must override this:
+     * the queue's method lookup does not see interface default methods.
+     *
+     * @param name      name of metric
+     * @param histogram encoded histogram
+     * @param time      time
+     */
+    default void replicateTimingHistogram(String name, long[] histogram, long time) {
+        final long max = LatencyHistogram.encodedMax(histogram);
+        if (max > 0) {
+            replicateTiming(name, max, time);
+        }
+    }
 }
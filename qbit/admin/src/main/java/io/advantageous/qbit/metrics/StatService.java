@@ -19,6 +19,7 @@
 package io.advantageous.qbit.metrics;
 
 import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.service.stats.LatencyPercentiles;
 import io.advantageous.qbit.service.stats.Stats;
 import io.advantageous.qbit.service.stats.StatsCollector;
 
@@ -34,7 +35,7 @@ public interface StatService extends StatsCollector {
 
 
     /**
-     * Get the last n Seconds of stats (up to two minutes of stats typically kept in memory).
+     * Get the last n Seconds of stats (up to the second horizon, two minutes by default).
      * <p>
      * The `Stat` object has the mean, median, etc.
      * <p>
@@ -66,6 +67,16 @@ public interface StatService extends StatsCollector {
     default void averageLastLevel(Callback<Long> callback, String name, int secondCount) {
     }
 
+    /**
+     * Gets the average level over the last n minutes, from the per minute downsampled stats.
+     *
+     * @param callback    callback
+     * @param name        name of metric, KPI, etc.
+     * @param minuteCount minuteCount
+     */
+    default void averageLastLevelMinutes(Callback<Long> callback, String name, int minuteCount) {
+    }
+
     /**
      * Gets count of the current minute
      *
@@ -127,6 +138,17 @@ public interface StatService extends StatsCollector {
     }
 
 
+    /**
+     * Gets count of the last N minutes, from the per minute downsampled stats.
+     *
+     * @param callback    callback
+     * @param name        name of metric
+     * @param minuteCount minute count
+     */
+    default void lastNMinutesCount(Callback<Long> callback, String name, int minuteCount) {
+    }
+
+
     /**
      * Gets count of the last recorded N full seconds.
      * This is more exact if the count overlaps two minutes.
@@ -159,6 +181,35 @@ public interface StatService extends StatsCollector {
     default void lastFiveSecondCountExact(Callback<Long> callback, String name) {
     }
 
+    /**
+     * Gets a timing percentile, e.g., 99.9, over the last one to two minutes.
+     * Timings from every thread, service and node are merged before the percentile is taken.
+     *
+     * @param callback   callback
+     * @param name       name of timing
+     * @param percentile percentile between 0 and 100
+     */
+    default void timingPercentile(Callback<Long> callback, String name, double percentile) {
+    }
+
+    /**
+     * Gets count, min, max, mean, p50, p90, p99 and p99.9 of a timing
+     * over the last one to two minutes.
+     *
+     * @param callback callback
+     * @param name     name of timing
+     */
+    default void timingPercentiles(Callback<LatencyPercentiles> callback, String name) {
+    }
+
+    /**
+     * Gets counts, levels and timings in OpenMetrics text format, for Prometheus style scrapers.
+     *
+     * @param callback callback
+     */
+    default void openMetrics(Callback<String> callback) {
+    }
+
     /**
      * Bulk record.
      *
@@ -18,19 +18,23 @@
 
 package io.advantageous.qbit.metrics;
 
+import io.advantageous.boon.core.Sys;
 import io.advantageous.qbit.GlobalConstants;
 import io.advantageous.qbit.annotation.Service;
-import io.advantageous.qbit.metrics.support.MinuteStat;
+import io.advantageous.qbit.metrics.support.NoOpRecorder;
+import io.advantageous.qbit.metrics.support.OpenMetricsExporter;
+import io.advantageous.qbit.metrics.support.TimeSeriesStore;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.service.ServiceProxyUtils;
 import io.advantageous.qbit.service.discovery.ServiceChangedEventChannel;
 import io.advantageous.qbit.service.discovery.ServiceDiscovery;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
+import io.advantageous.qbit.service.stats.LatencyPercentiles;
 import io.advantageous.qbit.service.stats.Stats;
 import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -45,12 +49,15 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
     private final Timer timer;
     private final String serviceId;
     private final ServiceDiscovery serviceDiscovery;
-    private final int sizeOfMaps;
+    private final TimeSeriesStore timeSeries;
     private final Logger logger = LoggerFactory.getLogger(StatServiceImpl.class);
     private final boolean debug = GlobalConstants.DEBUG || logger.isDebugEnabled();
     private final long timeToLiveCheckInterval;
-    private Map<String, MinuteStat> currentMinuteOfStatsMap;
-    private Map<String, MinuteStat> lastMinuteOfStatsMap;
+    private final OpenMetricsExporter openMetricsExporter = new OpenMetricsExporter();
+    private final long openMetricsCacheMS = Sys.sysProp("QBIT_OPEN_METRICS_CACHE_MS", 1000);
+    private String openMetrics;
+    private long lastOpenMetricsTime;
+    private final Map<String, TimingWindow> timingWindows = new ConcurrentHashMap<>();
     private long lastHealthCheck = 0;
     private long now;
     private long startMinute;
@@ -63,14 +70,24 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
                            final String serviceId,
                            final int numStats,
                            final long timeToLiveCheckInterval) {
+        this(recorder, replica, timer, serviceDiscovery, serviceId, numStats, timeToLiveCheckInterval, 120, 60);
+    }
+
+    public StatServiceImpl(final StatRecorder recorder,
+                           final StatReplicator replica,
+                           final Timer timer,
+                           final ServiceDiscovery serviceDiscovery,
+                           final String serviceId,
+                           final int numStats,
+                           final long timeToLiveCheckInterval,
+                           final int secondHorizon,
+                           final int minuteHorizon) {
 
         this.serviceId = serviceId;
         this.serviceDiscovery = serviceDiscovery;
         this.recorder = recorder;
-        this.currentMinuteOfStatsMap = new ConcurrentHashMap<>(numStats);
-        this.lastMinuteOfStatsMap = new ConcurrentHashMap<>(numStats);
+        this.timeSeries = new TimeSeriesStore(secondHorizon, minuteHorizon, numStats);
         this.timer = timer;
-        this.sizeOfMaps = numStats;
         now = timer.now();
         startMinute = now;
         this.replica = replica;
@@ -93,6 +110,13 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
         recordTimingWithTime(name, duration, now);
     }
 
+    public void recordTimingHistogram(String name, long[] histogram) {
+        oneMinuteOfTimings(name).add(histogram);
+        timeSeries.recordLevel(name, LatencyHistogram.encodedMax(histogram), now);
+        openMetricsExporter.timing(name, LatencyHistogram.encodedCount(histogram), LatencyHistogram.encodedSum(histogram));
+        replica.replicateTimingHistogram(name, histogram, now);
+    }
+
     public void increment(String name) {
         recordCountWithTime(name, 1, now);
     }
@@ -104,78 +128,99 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
     }
 
     public Stats statsForLastSeconds(String name, int secondCount) {
-        return oneMinuteOfStats(name).statsForLastSeconds(now, secondCount);
+        return timeSeries.statsForLastSeconds(name, now, secondCount);
     }
 
     public long averageLastLevel(String name, int secondCount) {
-        return oneMinuteOfStats(name).averageLastLevel(now, secondCount);
+        return timeSeries.averageLastLevel(name, now, secondCount);
+    }
+
+    public long averageLastLevelMinutes(String name, int minuteCount) {
+        return timeSeries.averageLevelLastMinutes(name, now, minuteCount);
     }
 
     public long currentMinuteCount(String name) {
-        return oneMinuteOfStats(name).getTotalCount();
+        return timeSeries.currentMinuteCount(name);
     }
 
     public long lastTenSecondCount(String name) {
-        return oneMinuteOfStats(name).countLastTenSeconds(now);
+        return timeSeries.countLastSeconds(name, now, 10);
     }
 
     public long lastFiveSecondCount(String name) {
-        return oneMinuteOfStats(name).countLastFiveSeconds(now);
+        return timeSeries.countLastSeconds(name, now, 5);
     }
 
     public long lastNSecondsCount(String name, int secondCount) {
-        return oneMinuteOfStats(name).countLastSeconds(now, secondCount);
+        return timeSeries.countLastSeconds(name, now, secondCount);
+    }
+
+    public long lastNMinutesCount(String name, int minuteCount) {
+        return timeSeries.countLastMinutes(name, now, minuteCount);
     }
 
+    /* The ring has no minute seam, so the exact counts are the same as the plain ones. */
     public long lastNSecondsCountExact(String name, int secondCount) {
-        long count = oneMinuteOfStats(name).countLastSeconds(now, secondCount);
-        long count2 = lastOneMinuteOfStats(name).countLastSeconds(now, secondCount);
-        return count + count2;
+        return lastNSecondsCount(name, secondCount);
     }
 
     public long lastTenSecondCountExact(String name) {
-
-        return oneMinuteOfStats(name).countLastTenSeconds(now) +
-                lastOneMinuteOfStats(name).countLastTenSeconds(now);
+        return lastTenSecondCount(name);
     }
 
     public long lastFiveSecondCountExact(String name) {
-        return oneMinuteOfStats(name).countLastFiveSeconds(now) +
-                lastOneMinuteOfStats(name).countLastTenSeconds(now);
-
+        return lastFiveSecondCount(name);
     }
 
     public long currentSecondCount(String name) {
-        return oneMinuteOfStats(name).countThisSecond(now);
+        return timeSeries.countThisSecond(name, now);
     }
 
     public long lastSecondCount(String name) {
-        return oneMinuteOfStats(name).countLastSecond(now);
+        return timeSeries.countLastSecond(name, now);
     }
 
     public void recordCountWithTime(String name, long count, long now) {
-        oneMinuteOfStats(name).changeBy(count, now);
+        timeSeries.changeBy(name, count, now);
+        openMetricsExporter.count(name, count);
         replica.replicateCount(name, count, now);
     }
 
     public void recordTimingWithTime(String name, long duration, long now) {
-        oneMinuteOfStats(name).recordLevel(duration, now);
+        timeSeries.recordLevel(name, duration, now);
+        oneMinuteOfTimings(name).record(duration);
+        openMetricsExporter.timing(name, 1, duration);
         replica.replicateTiming(name, duration, now);
     }
 
 
     public void recordLevelWithTime(String name, long level, long now) {
-        oneMinuteOfStats(name).recordLevel(level, now);
+        timeSeries.recordLevel(name, level, now);
+        openMetricsExporter.level(name, level);
         replica.replicateLevel(name, level, now);
     }
 
 
     public void replicateCount(String name, long count, long time) {
-        oneMinuteOfStats(name).changeBy(count, time);
+        timeSeries.changeBy(name, count, time);
+        openMetricsExporter.count(name, count);
     }
 
     public void replicateLevel(String name, long level, long time) {
-        oneMinuteOfStats(name).recordLevel(level, time);
+        timeSeries.recordLevel(name, level, time);
+        openMetricsExporter.level(name, level);
+    }
+
+    public void replicateTiming(String name, long timing, long time) {
+        timeSeries.recordLevel(name, timing, time);
+        oneMinuteOfTimings(name).record(timing);
+        openMetricsExporter.timing(name, 1, timing);
+    }
+
+    public void replicateTimingHistogram(String name, long[] histogram, long time) {
+        timeSeries.recordLevel(name, LatencyHistogram.encodedMax(histogram), time);
+        oneMinuteOfTimings(name).add(histogram);
+        openMetricsExporter.timing(name, LatencyHistogram.encodedCount(histogram), LatencyHistogram.encodedSum(histogram));
     }
 
     public void recordAll(final long timestamp,
@@ -201,22 +246,13 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
         }
     }
 
-    private MinuteStat oneMinuteOfStats(String name) {
-        MinuteStat oneMinuteOfStats = this.currentMinuteOfStatsMap.get(name);
-        if (oneMinuteOfStats == null) {
-            oneMinuteOfStats = new MinuteStat(now, name);
-            this.currentMinuteOfStatsMap.put(name, oneMinuteOfStats);
-        }
-        return oneMinuteOfStats;
-    }
-
-    private MinuteStat lastOneMinuteOfStats(String name) {
-        MinuteStat oneMinuteOfStats = this.lastMinuteOfStatsMap.get(name);
-        if (oneMinuteOfStats == null) {
-            oneMinuteOfStats = new MinuteStat(now, name);
-            this.lastMinuteOfStatsMap.put(name, oneMinuteOfStats);
+    private LatencyHistogram oneMinuteOfTimings(String name) {
+        TimingWindow timingWindow = this.timingWindows.get(name);
+        if (timingWindow == null) {
+            timingWindow = new TimingWindow();
+            this.timingWindows.put(name, timingWindow);
         }
-        return oneMinuteOfStats;
+        return timingWindow.currentMinute;
     }
 
     public void queueLimit() {
@@ -264,18 +300,69 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
         long duration = (now - startMinute) / 1_000;
         if (duration > 60) {
             if (debug) logger.debug("One minute of stats");
-            startMinute = now;
 
-            final ArrayList<MinuteStat> stats = new ArrayList<>(this.currentMinuteOfStatsMap.values());
-            this.recorder.record(stats);
-            this.lastMinuteOfStatsMap = currentMinuteOfStatsMap;
-            this.currentMinuteOfStatsMap = new ConcurrentHashMap<>(sizeOfMaps);
+            /* Only build minute records if someone records them. */
+            if (!(recorder instanceof NoOpRecorder)) {
+                this.recorder.record(timeSeries.minuteStats(startMinute, now));
+            }
+            startMinute = now;
+            timeSeries.rollMinute();
+            timingWindows.values().forEach(TimingWindow::roll);
         }
     }
 
     public long lastMinuteCount(String name) {
 
-        return lastOneMinuteOfStats(name).getTotalCount();
+        return timeSeries.lastMinuteCount(name);
+    }
+
+    /**
+     * Timing percentile over the current and the last minute,
+     * merged from every thread, service and node reporting this timing.
+     *
+     * @param name       name of timing
+     * @param percentile percentile, e.g., 99.9
+     * @return value at percentile
+     */
+    public long timingPercentile(String name, double percentile) {
+        return lastTwoMinutesOfTimings(name).percentile(percentile);
+    }
+
+    public LatencyPercentiles timingPercentiles(String name) {
+        return new LatencyPercentiles(lastTwoMinutesOfTimings(name));
+    }
+
+    /**
+     * Renders counts, levels and timings in OpenMetrics text format for a pull based scraper.
+     * The text is cached for QBIT_OPEN_METRICS_CACHE_MS, one second by default, between scrapes.
+     *
+     * @return OpenMetrics text
+     */
+    public String openMetrics() {
+        if (openMetrics == null || now - lastOpenMetricsTime >= openMetricsCacheMS) {
+            openMetrics = openMetricsExporter.render(this::timingsForScrape);
+            lastOpenMetricsTime = now;
+        }
+        return openMetrics;
+    }
+
+    /* Quantiles come from the current minute, or the last minute right after the minute rolls over. */
+    private LatencyHistogram timingsForScrape(String name) {
+        final TimingWindow timingWindow = timingWindows.get(name);
+        if (timingWindow == null) {
+            return null;
+        }
+        return timingWindow.currentMinute.getTotalCount() > 0 ? timingWindow.currentMinute : timingWindow.lastMinute;
+    }
+
+    private LatencyHistogram lastTwoMinutesOfTimings(String name) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final TimingWindow timingWindow = timingWindows.get(name);
+        if (timingWindow != null) {
+            histogram.add(timingWindow.lastMinute);
+            histogram.add(timingWindow.currentMinute);
+        }
+        return histogram;
     }
 
     @Override
@@ -284,4 +371,20 @@ public class StatServiceImpl implements QueueCallBackHandler, ServiceChangedEven
             ((ServiceChangedEventChannel) replica).servicePoolChanged(serviceName);
         }
     }
+
+    /**
+     * Timing histograms for the current and the last minute.
+     * Rolling swaps them and resets the old one, so nothing is allocated each minute.
+     */
+    private static final class TimingWindow {
+        private LatencyHistogram currentMinute = new LatencyHistogram();
+        private LatencyHistogram lastMinute = new LatencyHistogram();
+
+        private void roll() {
+            final LatencyHistogram oldest = lastMinute;
+            lastMinute = currentMinute;
+            currentMinute = oldest;
+            currentMinute.reset();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import io.advantageous.qbit.metrics.StatReplicator;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.reactive.Reactor;
 import io.advantageous.qbit.reactive.ReactorBuilder;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
 import io.advantageous.qbit.service.stats.StatList;
 import io.advantageous.qbit.util.Timer;
 
@@ -68,6 +69,18 @@ public class LocalStatsCollector implements StatReplicator, QueueCallBackHandler
 
     }
 
+    /**
+     * Overridden rather than inherited because calls come in through a service
+     * queue and the method lookup there does not see interface default methods.
+     */
+    @Override
+    public void replicateTimingHistogram(String name, long[] histogram, long time) {
+        final long max = LatencyHistogram.encodedMax(histogram);
+        if (max > 0) {
+            replicateTiming(name, max, time);
+        }
+    }
+
     @Override
     public void queueProcess() {
 
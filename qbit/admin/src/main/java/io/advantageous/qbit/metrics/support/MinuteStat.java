@@ -47,6 +47,14 @@ public class MinuteStat {
 
     }
 
+    public MinuteStat(String name, long startTime, long endTime, long[] secondCounts, int totalCount) {
+        this.name = name;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.secondCounts = secondCounts;
+        this.totalCount = totalCount;
+    }
+
 
     public long countLastSecond(long now) {
         int secondIndex = secondIndex(now);
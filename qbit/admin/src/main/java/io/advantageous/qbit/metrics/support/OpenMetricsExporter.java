@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.LatencyHistogram;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+
+/**
+ * Keeps the running totals a pull based scraper needs and renders them in OpenMetrics text format.
+ * <p>
+ * Stat service minute counts roll over every minute, but OpenMetrics counters and summary counts must be
+ * monotonic, so counts and timings are also totaled here. Negative count deltas are dropped so a counter
+ * never goes down. Levels are exposed as gauges. Timing quantiles come from the stat service timing histograms.
+ * </p>
+ * <p>
+ * Every metric family and sample name is claimed in one registry shared by counts, levels and timings.
+ * When two stats would map to the same name, for example {@code a.b} and {@code a_b}, or a counter
+ * {@code jobs.total} and a level {@code jobs}, the one seen later gets a numbered family such as {@code a_b_2}.
+ * A scrape never has two families with the same name.
+ * </p>
+ * <p>
+ * Rendering walks the live maps and writes into one reused StringBuilder, so nothing is copied.
+ * It is meant to run on the stat service queue thread, like the rest of the stat service.
+ * </p>
+ */
+public class OpenMetricsExporter {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+    /* Names each metric type puts in a scrape, as suffixes of its family name. */
+    private static final String[] COUNTER_SUFFIXES = {"", "_total", "_created"};
+    private static final String[] GAUGE_SUFFIXES = {""};
+    private static final String[] SUMMARY_SUFFIXES = {"", "_sum", "_count", "_created"};
+
+    private final Map<String, Exposed> counts = new ConcurrentHashMap<>();
+    private final Map<String, Exposed> levels = new ConcurrentHashMap<>();
+    private final Map<String, Exposed> timings = new ConcurrentHashMap<>();
+    /* Family and sample names already in use across all three maps. */
+    private final Set<String> claimedNames = ConcurrentHashMap.newKeySet();
+    private final StringBuilder builder = new StringBuilder(4096);
+
+    public void count(final String name, final long count) {
+        final Exposed exposed = exposed(counts, name, COUNTER_SUFFIXES);
+        if (count > 0) {
+            exposed.value += count;
+        }
+    }
+
+    public void level(final String name, final long level) {
+        exposed(levels, name, GAUGE_SUFFIXES).value = level;
+    }
+
+    public void timing(final String name, final long count, final long sum) {
+        final Exposed exposed = exposed(timings, name, SUMMARY_SUFFIXES);
+        exposed.value += count;
+        exposed.sum += sum;
+    }
+
+    private Exposed exposed(final Map<String, Exposed> map, final String name, final String[] suffixes) {
+        Exposed exposed = map.get(name);
+        if (exposed == null) {
+            exposed = new Exposed(name, claimFamily(familyName(name, suffixes == COUNTER_SUFFIXES), suffixes));
+            map.put(name, exposed);
+        }
+        return exposed;
+    }
+
+    /**
+     * Claims the family name and every sample name it renders, numbering the family until none of them is taken.
+     */
+    private String claimFamily(final String base, final String[] suffixes) {
+        String family = base;
+        for (int attempt = 2; !isFree(family, suffixes); attempt++) {
+            family = base + '_' + attempt;
+        }
+        for (String suffix : suffixes) {
+            claimedNames.add(family + suffix);
+        }
+        return family;
+    }
+
+    private boolean isFree(final String family, final String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (claimedNames.contains(family + suffix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders all metrics.
+     *
+     * @param timingHistograms looks up the histogram to take timing quantiles from, may return null
+     * @return OpenMetrics text
+     */
+    public String render(final Function<String, LatencyHistogram> timingHistograms) {
+        builder.setLength(0);
+
+        for (Exposed exposed : counts.values()) {
+            builder.append("# TYPE ").append(exposed.family).append(" counter\n");
+            builder.append(exposed.family).append("_total ").append(exposed.value).append('\n');
+        }
+
+        for (Exposed exposed : levels.values()) {
+            builder.append("# TYPE ").append(exposed.family).append(" gauge\n");
+            builder.append(exposed.family).append(' ').append(exposed.value).append('\n');
+        }
+
+        for (Exposed exposed : timings.values()) {
+            builder.append("# TYPE ").append(exposed.family).append(" summary\n");
+            final LatencyHistogram histogram = timingHistograms.apply(exposed.name);
+            if (histogram != null && histogram.getTotalCount() > 0) {
+                for (int index = 0; index < QUANTILES.length; index++) {
+                    builder.append(exposed.family).append("{quantile=\"").append(QUANTILE_LABELS[index])
+                            .append("\"} ").append(histogram.percentile(QUANTILES[index] * 100)).append('\n');
+                }
+            }
+            builder.append(exposed.family).append("_sum ").append(exposed.sum).append('\n');
+            builder.append(exposed.family).append("_count ").append(exposed.value).append('\n');
+        }
+
+        builder.append("# EOF\n");
+        return builder.toString();
+    }
+
+    /**
+     * Turns a QBit stat name like {@code my.app.requests} into a valid metric name, {@code my_app_requests}.
+     *
+     * @param name stat name
+     * @return metric name
+     */
+    static String metricName(final String name) {
+        final StringBuilder metricName = new StringBuilder(name.length() + 1);
+        for (int index = 0; index < name.length(); index++) {
+            final char ch = name.charAt(index);
+            final boolean valid = (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || ch == '_' || ch == ':'
+                    || (index > 0 && ch >= '0' && ch <= '9');
+            if (index == 0 && ch >= '0' && ch <= '9') {
+                metricName.append('_');
+                metricName.append(ch);
+            } else {
+                metricName.append(valid ? ch : '_');
+            }
+        }
+        return metricName.toString();
+    }
+
+    private static String familyName(final String name, final boolean counter) {
+        final String metricName = metricName(name);
+        /* Counter samples get the _total suffix, so keep it off the family name. */
+        return counter && metricName.endsWith("_total")
+                ? metricName.substring(0, metricName.length() - "_total".length())
+                : metricName;
+    }
+
+    private static final class Exposed {
+        final String name;
+        final String family;
+        long value;
+        long sum;
+
+        Exposed(final String name, final String family) {
+            this.name = name;
+            this.family = family;
+        }
+    }
+}
@@ -57,6 +57,13 @@ public class ReplicatorHub implements StatReplicator, ServiceChangedEventChannel
 
     }
 
+    @Override
+    public void replicateTimingHistogram(String name, long[] histogram, long time) {
+        for (StatReplicator replicator : list) {
+            replicator.replicateTimingHistogram(name, histogram, time);
+        }
+    }
+
 
     @SuppressWarnings("CodeBlock2Expr")
     @Override
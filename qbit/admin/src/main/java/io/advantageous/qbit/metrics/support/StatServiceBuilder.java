@@ -32,6 +32,7 @@ import io.advantageous.qbit.server.ServiceEndpointServer;
 import io.advantageous.qbit.service.ServiceBuilder;
 import io.advantageous.qbit.service.ServiceQueue;
 import io.advantageous.qbit.service.discovery.ServiceDiscovery;
+import io.advantageous.qbit.service.stats.MetricsRegistry;
 import io.advantageous.qbit.service.stats.StatsCollector;
 import io.advantageous.qbit.service.stats.StatsCollectorBuffer;
 import io.advantageous.qbit.util.Timer;
@@ -72,6 +73,8 @@ public class StatServiceBuilder {
     private int flushInterval;
     private int timeToLiveCheckInterval;
     private int numStats;
+    private int secondHorizon;
+    private int minuteHorizon;
 
 
     public StatServiceBuilder(PropertyResolver propertyResolver) {
@@ -83,6 +86,10 @@ public class StatServiceBuilder {
                 .getIntegerProperty("timeToLiveCheckInterval", 5_000);
         this.numStats = propertyResolver
                 .getIntegerProperty("numStats", 100);
+        this.secondHorizon = propertyResolver
+                .getIntegerProperty("secondHorizon", 120);
+        this.minuteHorizon = propertyResolver
+                .getIntegerProperty("minuteHorizon", 60);
 
     }
 
@@ -134,6 +141,34 @@ public class StatServiceBuilder {
         this.numStats = numStats;
     }
 
+    /**
+     * How many seconds of per second stats are kept for each stat. Values below 64 are raised to 64.
+     *
+     * @return second horizon
+     */
+    public int getSecondHorizon() {
+        return secondHorizon;
+    }
+
+    public StatServiceBuilder setSecondHorizon(int secondHorizon) {
+        this.secondHorizon = secondHorizon;
+        return this;
+    }
+
+    /**
+     * How many minutes of per minute stats, downsampled from the per second stats, are kept for each stat.
+     *
+     * @return minute horizon
+     */
+    public int getMinuteHorizon() {
+        return minuteHorizon;
+    }
+
+    public StatServiceBuilder setMinuteHorizon(int minuteHorizon) {
+        this.minuteHorizon = minuteHorizon;
+        return this;
+    }
+
     public QueueBuilder getSendQueueBuilder() {
 
         if (sendQueueBuilder == null) {
@@ -343,7 +378,8 @@ public class StatServiceBuilder {
 
 
         return new StatServiceImpl(this.getRecorder(), replicator, getTimer(), getServiceDiscovery(),
-                getLocalServiceId(), getNumStats(), getTimeToLiveCheckInterval());
+                getLocalServiceId(), getNumStats(), getTimeToLiveCheckInterval(),
+                getSecondHorizon(), getMinuteHorizon());
 
     }
 
@@ -441,6 +477,11 @@ public class StatServiceBuilder {
                     proxy.replicateTiming(name, level, time);
                 }
 
+                @Override
+                public void replicateTimingHistogram(String name, long[] histogram, long time) {
+                    proxy.replicateTimingHistogram(name, histogram, time);
+                }
+
                 @Override
                 public void clientProxyFlush() {
                     proxy.clientProxyFlush();
@@ -505,4 +546,15 @@ public class StatServiceBuilder {
     public StatsCollector buildStatsCollectorWithAutoFlush() {
         return new StatsCollectorBuffer(getServiceQueue().createProxyWithAutoFlush(StatsCollector.class, 1, TimeUnit.SECONDS));
     }
+
+
+    /**
+     * Builds a thread safe registry that any thread can record to.
+     * Call {@link MetricsRegistry#flush()} periodically to send the stats to the stat service.
+     *
+     * @return metrics registry
+     */
+    public MetricsRegistry buildMetricsRegistry() {
+        return new MetricsRegistry(getServiceQueue().createProxy(StatService.class));
+    }
 }
@@ -0,0 +1,101 @@
+package io.advantageous.qbit.metrics.support;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Writes StatsD metric lines straight into a ByteBuffer.
+ * <p>
+ * Keys are encoded to bytes once by the caller and numbers are written as ASCII digits,
+ * so writing a line does not allocate. Counts and timings come out as they did with
+ * {@code String.format}. Whole-number gauges now go out as {@code key:7|g} instead of
+ * {@code key:7.0|g}, which StatsD reads as the same value.
+ * </p>
+ */
+final class StatsDEncoder {
+
+    static final byte[] COUNT = {'|', 'c'};
+    static final byte[] TIMING = {'|', 'm', 's'};
+    static final byte[] GAUGE = {'|', 'g'};
+
+    private static final int SAMPLE_RATE_DIGITS = 6;
+    private static final long SAMPLE_RATE_SCALE = 1_000_000L;
+
+    private StatsDEncoder() {
+    }
+
+    static byte[] keyBytes(final String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Length in bytes of a line written by {@link #writeLine}.
+     */
+    static int lineLength(final byte[] key, final long value, final byte[] type, final double sampleRate) {
+        int length = key.length + 1 + longLength(value) + type.length;
+        if (sampleRate < 1.0) {
+            length += 2 + longLength(Math.round(sampleRate * SAMPLE_RATE_SCALE) / SAMPLE_RATE_SCALE)
+                    + 1 + SAMPLE_RATE_DIGITS;
+        }
+        return length;
+    }
+
+    /**
+     * Writes {@code key:value|type} and, for sample rates under 1, {@code |@0.500000}.
+     * The caller makes sure there is room using {@link #lineLength}.
+     */
+    static void writeLine(final ByteBuffer buffer, final byte[] key, final long value,
+                          final byte[] type, final double sampleRate) {
+        buffer.put(key);
+        buffer.put((byte) ':');
+        writeLong(buffer, value);
+        buffer.put(type);
+        if (sampleRate < 1.0) {
+            final long scaled = Math.round(sampleRate * SAMPLE_RATE_SCALE);
+            buffer.put((byte) '|');
+            buffer.put((byte) '@');
+            writeLong(buffer, scaled / SAMPLE_RATE_SCALE);
+            buffer.put((byte) '.');
+            long fraction = scaled % SAMPLE_RATE_SCALE;
+            for (long divisor = SAMPLE_RATE_SCALE / 10; divisor > 0; divisor /= 10) {
+                buffer.put((byte) ('0' + fraction / divisor));
+                fraction %= divisor;
+            }
+        }
+    }
+
+    static int longLength(final long value) {
+        if (value == Long.MIN_VALUE) {
+            return 20;
+        }
+        int length = value < 0 ? 2 : 1;
+        long remaining = Math.abs(value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    static void writeLong(final ByteBuffer buffer, final long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put((byte) '-');
+            buffer.put((byte) '9');
+            writeLong(buffer, -(value + 9_000_000_000_000_000_000L));
+            return;
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            buffer.put((byte) '-');
+            remaining = -remaining;
+        }
+        final int end = buffer.position() + longLength(remaining);
+        int position = end;
+        do {
+            buffer.put(--position, (byte) ('0' + remaining % 10));
+            remaining /= 10;
+        } while (remaining > 0);
+        buffer.position(end);
+    }
+}
@@ -2,6 +2,7 @@ package io.advantageous.qbit.metrics.support;
 
 import io.advantageous.qbit.metrics.StatReplicator;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
 import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +17,8 @@ import java.util.Locale;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static io.advantageous.qbit.metrics.support.StatsDEncoder.*;
+
 
 /**
  * created by rhightower on 5/22/15.
@@ -31,6 +34,7 @@ public class StatsDReplicator implements StatReplicator, QueueCallBackHandler {
     private final InetSocketAddress address;
     private final int bufferSize;
     private final ConcurrentHashMap<String, Metric> countMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, byte[]> keyBytesMap = new ConcurrentHashMap<>();
     int resetDatagramEvery = 0;
     private DatagramChannel channel;
     private long lastFlush;
@@ -59,7 +63,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
 
         this.multiMetrics = multiMetrics;
         this.flushRateIntervalMS = flushRateIntervalMS;
-        sendBuffer = ByteBuffer.allocate(bufferSize + 100);
+        sendBuffer = ByteBuffer.allocateDirect(bufferSize);
 
     }
 
@@ -100,7 +104,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean timingWithSampleRate(String key, long value, double sampleRate) {
-        return send(sampleRate, String.format(Locale.ENGLISH, "%s:%d|ms", key, value));
+        return send(cachedKeyBytes(key), value, TIMING, sampleRate);
     }
 
     public boolean increment(String key) {
@@ -112,8 +116,7 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean incrementWithMagnitudeAndSampleRate(String key, long magnitude, double sampleRate) {
-        String stat = String.format(Locale.ENGLISH, "%s:%s|c", key, magnitude);
-        return send(sampleRate, stat);
+        return send(cachedKeyBytes(key), magnitude, COUNT, sampleRate);
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -123,65 +126,66 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
     }
 
     public boolean gaugeWithSampleRate(String key, double magnitude, double sampleRate) {
-        final String stat = String.format(Locale.ENGLISH, "%s:%s|g", key, magnitude);
-        return send(sampleRate, stat);
+        final long wholeMagnitude = (long) magnitude;
+        if (wholeMagnitude == magnitude) {
+            return send(cachedKeyBytes(key), wholeMagnitude, GAUGE, sampleRate);
+        }
+        /* Fractional gauges are rare, so they still go through String.format. */
+        final String stat = sampleRate < 1.0
+                ? String.format(Locale.ENGLISH, "%s:%s|g|@%f", key, magnitude, sampleRate)
+                : String.format(Locale.ENGLISH, "%s:%s|g", key, magnitude);
+        return send(StatsDEncoder.keyBytes(stat), 0, null, sampleRate);
     }
 
-    private boolean send(double sampleRate, String... stats) {
-
-        boolean sentSomething = false; // didn't send anything
-        if (sampleRate < 1.0) {
-            for (String stat : stats) {
-                if (random.nextDouble() <= sampleRate) {
-                    stat = String.format(Locale.ENGLISH, "%s|@%f", stat, sampleRate);
-                    if (doSend(stat)) {
-                        sentSomething = true;
-                    }
-                }
-            }
-        } else {
-            for (String stat : stats) {
-                if (doSend(stat)) {
-                    sentSomething = true;
-                }
-            }
+    private byte[] cachedKeyBytes(final String key) {
+        byte[] bytes = keyBytesMap.get(key);
+        if (bytes == null) {
+            bytes = keyBytes(key);
+            keyBytesMap.put(key, bytes);
         }
-
-        return sentSomething;
+        return bytes;
     }
 
-    private boolean doSend(String stat) {
-        try {
-            final byte[] data = stat.getBytes("utf-8");
-
-            // If we're going to go past the threshold of the buffer then flush.
-            // the +1 is for the potential '\n' in multi_metrics below
-            if (sendBuffer.remaining() < (data.length + 1)) {
-                if (!flushStatSend()) {
-                    logger.error("Buffer overflow, connection might be down");
-                    return false;
-                }
-            }
+    /**
+     * Writes one metric line into the send buffer.
+     * A null type means the key bytes already hold the whole line.
+     */
+    private boolean send(final byte[] key, final long value, final byte[] type, final double sampleRate) {
 
-            if (sendBuffer.position() > 0) {         // multiple metrics are separated by '\n'
-                sendBuffer.put((byte) '\n');
-            }
+        if (sampleRate < 1.0 && random.nextDouble() > sampleRate) {
+            return false;
+        }
 
-            sendBuffer.put(data);   // append the data
+        final int length = type == null ? key.length : lineLength(key, value, type, sampleRate);
 
-            if (!multiMetrics) {
-                flushStatSend();
+        /* Lines are packed up to bufferSize, the +1 is for the '\n' between lines. */
+        if (sendBuffer.position() > 0 && sendBuffer.remaining() < length + 1) {
+            if (!flushStatSend()) {
+                logger.error("Buffer overflow, connection might be down");
+                return false;
             }
+        }
 
-            return true;
-
-        } catch (IOException e) {
-            logger.error(
-                    String.format("Could not send stat %s to host %s:%d",
-                            sendBuffer.toString(), address.getHostName(),
-                            address.getPort()), e);
+        if (sendBuffer.remaining() < length) {
+            logger.error("StatsD line of {} bytes does not fit in buffer of {} bytes", length, bufferSize);
             return false;
         }
+
+        if (sendBuffer.position() > 0) {         // multiple metrics are separated by '\n'
+            sendBuffer.put((byte) '\n');
+        }
+
+        if (type == null) {
+            sendBuffer.put(key);
+        } else {
+            writeLine(sendBuffer, key, value, type, sampleRate);
+        }
+
+        if (!multiMetrics) {
+            flushStatSend();
+        }
+
+        return true;
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -230,6 +234,9 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
             return sentByteCount;
         } catch (IOException ex) {
 
+            /* Drop the datagram so the buffer is ready for the next one. */
+            sendBuffer.clear();
+
             DatagramChannel oldChannel = channel;
             channel = null;
 
@@ -306,6 +313,16 @@ If the count at flush is 0 then you can opt to send no metric at all for this se
 
     }
 
+    /**
+     * StatsD timers take single values, so a histogram goes out as its max.
+     * Overridden rather than inherited because calls come in through a service
+     * queue and the method lookup there does not see interface default methods.
+     */
+    @Override
+    public void replicateTimingHistogram(String name, long[] histogram, long time) {
+        replicateTiming(name, LatencyHistogram.encodedMax(histogram), time);
+    }
+
 
     private void flushIfNeeded() {
         long delta = time - lastFlush;
@@ -0,0 +1,418 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.StatList;
+import io.advantageous.qbit.service.stats.Stats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Fixed memory time series for every stat the stat service sees.
+ * <p>
+ * Each stat name gets an id, and the id indexes rows in flat primitive arrays. There are
+ * two rings per row. One has a slot per second and one has a slot per minute, which is
+ * downsampled as readings are written. A slot is cleared lazily when the ring wraps
+ * onto it, so nothing is allocated per second or per minute. New arrays are only
+ * allocated when the number of stat names outgrows the capacity.
+ * </p>
+ * <p>
+ * Each row also keeps a count total for the current and the last minute. These roll over
+ * on {@link #rollMinute()}, which keeps the minute counts of the old MinuteStat maps.
+ * </p>
+ * <p>
+ * Not thread safe. It is owned by the stat service queue thread.
+ * </p>
+ */
+public class TimeSeriesStore {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * The stat service rolls the minute once more than 60 seconds have passed, which can be
+     * up to 62 whole seconds after the second the minute started in. The per second ring has to
+     * reach back that far so {@link #minuteStats(long, long)} still sees the first seconds of the minute.
+     */
+    static final int MIN_SECOND_HORIZON = 64;
+
+    private final int secondHorizon;
+    private final int minuteHorizon;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private int size;
+    private int capacity;
+    private String[] names;
+
+    /* Per second ring, secondHorizon slots per row. */
+    private long[] seconds;
+    private long[] newestSecond;
+
+    /* Per minute ring, minuteHorizon slots per row. */
+    private long[] minuteSums;
+    private int[] minuteReadings;
+    private long[] newestMinute;
+
+    private long[] currentMinuteTotals;
+    private long[] lastMinuteTotals;
+    private boolean[] touched;
+
+    public TimeSeriesStore(final int secondHorizon, final int minuteHorizon, final int initialCapacity) {
+        this.secondHorizon = Math.max(MIN_SECOND_HORIZON, secondHorizon);
+        this.minuteHorizon = Math.max(1, minuteHorizon);
+        this.capacity = Math.max(16, initialCapacity);
+        this.names = new String[capacity];
+        this.seconds = new long[capacity * this.secondHorizon];
+        this.newestSecond = new long[capacity];
+        this.minuteSums = new long[capacity * this.minuteHorizon];
+        this.minuteReadings = new int[capacity * this.minuteHorizon];
+        this.newestMinute = new long[capacity];
+        this.currentMinuteTotals = new long[capacity];
+        this.lastMinuteTotals = new long[capacity];
+        this.touched = new boolean[capacity];
+    }
+
+    public int getSecondHorizon() {
+        return secondHorizon;
+    }
+
+    public int getMinuteHorizon() {
+        return minuteHorizon;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Id for a stat name, registering the name if it is new.
+     *
+     * @param name stat name
+     * @return id
+     */
+    public int id(final String name) {
+        final Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (size == capacity) {
+            grow();
+        }
+        final int newId = size++;
+        names[newId] = name;
+        Arrays.fill(seconds, newId * secondHorizon, (newId + 1) * secondHorizon, EMPTY);
+        newestSecond[newId] = Long.MIN_VALUE;
+        newestMinute[newId] = Long.MIN_VALUE;
+        ids.put(name, newId);
+        return newId;
+    }
+
+    /**
+     * Id for a stat name without registering it.
+     *
+     * @param name stat name
+     * @return id or -1 if the name has not been recorded
+     */
+    public int idOf(final String name) {
+        final Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    private void grow() {
+        capacity = capacity * 2;
+        names = Arrays.copyOf(names, capacity);
+        seconds = Arrays.copyOf(seconds, capacity * secondHorizon);
+        newestSecond = Arrays.copyOf(newestSecond, capacity);
+        minuteSums = Arrays.copyOf(minuteSums, capacity * minuteHorizon);
+        minuteReadings = Arrays.copyOf(minuteReadings, capacity * minuteHorizon);
+        newestMinute = Arrays.copyOf(newestMinute, capacity);
+        currentMinuteTotals = Arrays.copyOf(currentMinuteTotals, capacity);
+        lastMinuteTotals = Arrays.copyOf(lastMinuteTotals, capacity);
+        touched = Arrays.copyOf(touched, capacity);
+    }
+
+    public void changeBy(final String name, final long count, final long now) {
+        final int id = id(name);
+        currentMinuteTotals[id] += count;
+        touched[id] = true;
+
+        final int slot = secondSlot(id, now / 1000);
+        if (slot >= 0) {
+            final long value = seconds[slot];
+            seconds[slot] = value == EMPTY ? count : value + count;
+        }
+        addToMinute(id, count, now);
+    }
+
+    public void recordLevel(final String name, final long level, final long now) {
+        final int id = id(name);
+        touched[id] = true;
+
+        final int slot = secondSlot(id, now / 1000);
+        if (slot >= 0) {
+            seconds[slot] = level;
+        }
+        addToMinute(id, level, now);
+    }
+
+    /* Slot to write the given second to, clearing slots the ring wrapped onto, or -1 if it is too old. */
+    private int secondSlot(final int id, final long second) {
+        final long newest = newestSecond[id];
+        if (second > newest) {
+            final long clearFrom = Math.max(newest + 1, second - secondHorizon + 1);
+            for (long clear = clearFrom; clear <= second; clear++) {
+                seconds[id * secondHorizon + (int) (clear % secondHorizon)] = EMPTY;
+            }
+            newestSecond[id] = second;
+        } else if (second <= newest - secondHorizon) {
+            return -1;
+        }
+        return id * secondHorizon + (int) (second % secondHorizon);
+    }
+
+    private void addToMinute(final int id, final long value, final long now) {
+        final long minute = now / 60_000;
+        final long newest = newestMinute[id];
+        if (minute > newest) {
+            final long clearFrom = Math.max(newest + 1, minute - minuteHorizon + 1);
+            for (long clear = clearFrom; clear <= minute; clear++) {
+                final int slot = id * minuteHorizon + (int) (clear % minuteHorizon);
+                minuteSums[slot] = 0;
+                minuteReadings[slot] = 0;
+            }
+            newestMinute[id] = minute;
+        } else if (minute <= newest - minuteHorizon) {
+            return;
+        }
+        final int slot = id * minuteHorizon + (int) (minute % minuteHorizon);
+        minuteSums[slot] += value;
+        minuteReadings[slot]++;
+    }
+
+    /* Value held for a second, or EMPTY if there is no reading or it fell out of the ring. */
+    private long valueAt(final int id, final long second) {
+        final long newest = newestSecond[id];
+        if (second > newest || second <= newest - secondHorizon || second < 0) {
+            return EMPTY;
+        }
+        return seconds[id * secondHorizon + (int) (second % secondHorizon)];
+    }
+
+    /**
+     * Sum of the last n seconds, counting the current second.
+     *
+     * @param name        stat name
+     * @param now         now in ms
+     * @param secondCount n
+     * @return sum
+     */
+    public long countLastSeconds(final String name, final long now, final int secondCount) {
+        final int id = idOf(name);
+        if (id == -1) {
+            return 0;
+        }
+        final long nowSecond = now / 1000;
+        final int count = Math.min(secondCount, secondHorizon);
+        long sum = 0;
+        for (long second = nowSecond - count + 1; second <= nowSecond; second++) {
+            final long value = valueAt(id, second);
+            if (value != EMPTY) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    public long countThisSecond(final String name, final long now) {
+        return countAt(name, now / 1000);
+    }
+
+    public long countLastSecond(final String name, final long now) {
+        return countAt(name, now / 1000 - 1);
+    }
+
+    private long countAt(final String name, final long second) {
+        final int id = idOf(name);
+        if (id == -1) {
+            return 0;
+        }
+        final long value = valueAt(id, second);
+        return value == EMPTY ? 0 : value;
+    }
+
+    /**
+     * Stats over the readings in the last n seconds.
+     *
+     * @param name        stat name
+     * @param now         now in ms
+     * @param secondCount n
+     * @return stats
+     */
+    public Stats statsForLastSeconds(final String name, final long now, final int secondCount) {
+        final int count = Math.min(secondCount, secondHorizon);
+        final StatList list = new StatList(count);
+        final int id = idOf(name);
+        if (id != -1) {
+            final long nowSecond = now / 1000;
+            for (long second = nowSecond; second > nowSecond - count; second--) {
+                final long value = valueAt(id, second);
+                if (value != EMPTY) {
+                    list.add(value);
+                }
+            }
+        }
+        return new Stats(list);
+    }
+
+    /**
+     * Average of the level readings in the last n seconds.
+     *
+     * @param name        stat name
+     * @param now         now in ms
+     * @param secondCount n
+     * @return average or -1 if there were no readings
+     */
+    public long averageLastLevel(final String name, final long now, final int secondCount) {
+        final int id = idOf(name);
+        if (id == -1) {
+            return -1;
+        }
+        final long nowSecond = now / 1000;
+        final int count = Math.min(secondCount, secondHorizon);
+        long sum = 0;
+        int readingCount = 0;
+        for (long second = nowSecond - count + 1; second <= nowSecond; second++) {
+            final long value = valueAt(id, second);
+            if (value != EMPTY) {
+                sum += value;
+                readingCount++;
+            }
+        }
+        return readingCount != 0 ? sum / readingCount : -1;
+    }
+
+    /**
+     * Sum of the last n minutes, counting the current minute, from the downsampled ring.
+     *
+     * @param name        stat name
+     * @param now         now in ms
+     * @param minuteCount n
+     * @return sum
+     */
+    public long countLastMinutes(final String name, final long now, final int minuteCount) {
+        final int id = idOf(name);
+        if (id == -1) {
+            return 0;
+        }
+        long sum = 0;
+        final long nowMinute = now / 60_000;
+        final int count = Math.min(minuteCount, minuteHorizon);
+        for (long minute = nowMinute - count + 1; minute <= nowMinute; minute++) {
+            final int slot = minuteSlot(id, minute);
+            if (slot != -1) {
+                sum += minuteSums[slot];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Average of the level readings in the last n minutes, from the downsampled ring.
+     *
+     * @param name        stat name
+     * @param now         now in ms
+     * @param minuteCount n
+     * @return average or -1 if there were no readings
+     */
+    public long averageLevelLastMinutes(final String name, final long now, final int minuteCount) {
+        final int id = idOf(name);
+        if (id == -1) {
+            return -1;
+        }
+        long sum = 0;
+        long readingCount = 0;
+        final long nowMinute = now / 60_000;
+        final int count = Math.min(minuteCount, minuteHorizon);
+        for (long minute = nowMinute - count + 1; minute <= nowMinute; minute++) {
+            final int slot = minuteSlot(id, minute);
+            if (slot != -1) {
+                sum += minuteSums[slot];
+                readingCount += minuteReadings[slot];
+            }
+        }
+        return readingCount != 0 ? sum / readingCount : -1;
+    }
+
+    private int minuteSlot(final int id, final long minute) {
+        final long newest = newestMinute[id];
+        if (minute > newest || minute <= newest - minuteHorizon || minute < 0) {
+            return -1;
+        }
+        return id * minuteHorizon + (int) (minute % minuteHorizon);
+    }
+
+    public long currentMinuteCount(final String name) {
+        final int id = idOf(name);
+        return id == -1 ? 0 : currentMinuteTotals[id];
+    }
+
+    public long lastMinuteCount(final String name) {
+        final int id = idOf(name);
+        return id == -1 ? 0 : lastMinuteTotals[id];
+    }
+
+    /**
+     * Copies the stats touched since the last roll into MinuteStats for a StatRecorder.
+     * Only called when the recorder wants minute records.
+     *
+     * @param startTime start of the minute in ms
+     * @param endTime   end of the minute in ms
+     * @return minute stats
+     */
+    public List<MinuteStat> minuteStats(final long startTime, final long endTime) {
+        final List<MinuteStat> minuteStats = new ArrayList<>();
+        final long startSecond = startTime / 1000;
+        for (int id = 0; id < size; id++) {
+            if (!touched[id]) {
+                continue;
+            }
+            final long[] secondCounts = new long[60];
+            for (int index = 0; index < 60; index++) {
+                final long value = valueAt(id, startSecond + index);
+                secondCounts[index] = value == EMPTY ? -1 : value;
+            }
+            minuteStats.add(new MinuteStat(names[id], startTime, endTime, secondCounts,
+                    (int) currentMinuteTotals[id]));
+        }
+        return minuteStats;
+    }
+
+    /**
+     * Moves the current minute totals to the last minute and starts a new minute.
+     */
+    public void rollMinute() {
+        System.arraycopy(currentMinuteTotals, 0, lastMinuteTotals, 0, size);
+        Arrays.fill(currentMinuteTotals, 0, size, 0);
+        Arrays.fill(touched, 0, size, false);
+    }
+}
@@ -0,0 +1,75 @@
+package io.advantageous.qbit.admin;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.http.client.HttpClient;
+import io.advantageous.qbit.http.client.HttpClientBuilder;
+import io.advantageous.qbit.http.request.HttpTextResponse;
+import io.advantageous.qbit.metrics.StatService;
+import io.advantageous.qbit.metrics.support.DebugRecorder;
+import io.advantageous.qbit.metrics.support.NoOpReplicator;
+import io.advantageous.qbit.metrics.support.StatServiceBuilder;
+import io.advantageous.qbit.server.ServiceEndpointServer;
+import io.advantageous.qbit.service.ServiceQueue;
+import io.advantageous.qbit.util.PortUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdminMetricsTest {
+
+    ServiceEndpointServer serviceEndpointServer;
+    ServiceQueue statServiceQueue;
+    HttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        statServiceQueue = new StatServiceBuilder()
+                .setRecorder(new DebugRecorder())
+                .setReplicator(new NoOpReplicator())
+                .buildServiceQueueWithCallbackHandler().startAll();
+
+        final StatService statService = statServiceQueue.createProxyWithAutoFlush(StatService.class,
+                50, TimeUnit.MILLISECONDS);
+        statService.recordCount("my.app.requests", 3);
+        statService.recordLevel("my.app.queue", 7);
+        statService.recordTiming("my.app.latency", 12);
+        statService.clientProxyFlush();
+
+        final AdminBuilder adminBuilder = AdminBuilder.adminBuilder();
+        adminBuilder.setPort(PortUtils.findOpenPortStartAt(adminBuilder.getPort()));
+        adminBuilder.setStatService(statService);
+        serviceEndpointServer = adminBuilder.build().startServer();
+
+        httpClient = HttpClientBuilder.httpClientBuilder().setPort(adminBuilder.getPort()).build().startClient();
+        Sys.sleep(500);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        serviceEndpointServer.stop();
+        statServiceQueue.stop();
+        httpClient.stop();
+        Sys.sleep(1000);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+
+        final HttpTextResponse httpResponse = httpClient.get("/__admin/metrics");
+
+        assertEquals(200, httpResponse.code());
+        assertTrue(httpResponse.contentType().startsWith("application/openmetrics-text"));
+
+        final String body = httpResponse.body();
+        assertTrue(body, body.contains("# TYPE my_app_requests counter\nmy_app_requests_total 3\n"));
+        assertTrue(body, body.contains("# TYPE my_app_queue gauge\nmy_app_queue 7\n"));
+        assertTrue(body, body.contains("my_app_latency{quantile=\"0.99\"} 12\n"));
+        assertTrue(body, body.contains("my_app_latency_count 1\n"));
+        assertTrue(body, body.endsWith("# EOF\n"));
+    }
+}
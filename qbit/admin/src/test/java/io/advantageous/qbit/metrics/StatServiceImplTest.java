@@ -24,6 +24,8 @@ import io.advantageous.qbit.metrics.support.DebugRecorder;
 import io.advantageous.qbit.metrics.support.DebugReplicator;
 import io.advantageous.qbit.metrics.support.NoOpReplicator;
 import io.advantageous.qbit.metrics.support.StatServiceBuilder;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
+import io.advantageous.qbit.service.stats.LatencyPercentiles;
 import io.advantageous.qbit.util.Timer;
 import org.junit.After;
 import org.junit.Before;
@@ -31,6 +33,7 @@ import org.junit.Test;
 
 import static io.advantageous.boon.core.Exceptions.die;
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 
 
 public class StatServiceImplTest {
@@ -133,7 +136,24 @@ public class StatServiceImplTest {
 
         long count = statServiceImpl.lastNSecondsCount("mystat", 20);
 
-        assertEquals(10, count);
+        assertEquals(19, count);
+
+    }
+
+    @Test
+    public void lastSecondsAcrossMinute() throws Exception {
+
+        for (int index = 0; index < 70; index++) {
+            testTimer.seconds(1);
+            statServiceImpl.tick();
+            statServiceImpl.recordCount("mystat", 1);
+            statServiceImpl.process();
+        }
+
+        /* The per second ring is not cut off when the minute rolls over. */
+        long count = statServiceImpl.lastNSecondsCount("mystat", 20);
+
+        assertEquals(20, count);
 
     }
 
@@ -179,7 +199,7 @@ public class StatServiceImplTest {
         count = statServiceImpl.lastNSecondsCountExact("mystat", 20);
 
 
-        assertEquals(38, count);
+        assertEquals(40, count);
 
     }
 
@@ -265,4 +285,46 @@ public class StatServiceImplTest {
 
 
     }
-}
\ No newline at end of file
+
+
+    @Test
+    public void timingPercentilesTest() throws Exception {
+
+        final LatencyHistogram remote = new LatencyHistogram();
+        for (int index = 0; index < 98; index++) {
+            statServiceImpl.recordTiming("mytiming", 5);
+        }
+        remote.record(1_000);
+        remote.record(1_000);
+        statServiceImpl.replicateTimingHistogram("mytiming", remote.encode(), testTimer.now());
+
+        assertEquals(5, statServiceImpl.timingPercentile("mytiming", 50));
+        assertEquals(1_000, statServiceImpl.timingPercentile("mytiming", 99));
+
+        final LatencyPercentiles percentiles = statServiceImpl.timingPercentiles("mytiming");
+        assertEquals(100, percentiles.getCount());
+        assertEquals(5, percentiles.getP90());
+        assertEquals(1_000, percentiles.getP999());
+        assertEquals(1_000, percentiles.getMax());
+
+    }
+
+
+    @Test
+    public void openMetricsIsCachedBetweenScrapes() throws Exception {
+
+        statServiceImpl.recordCount("my.count", 2);
+        statServiceImpl.tick();
+
+        final String first = statServiceImpl.openMetrics();
+        assertTrue(first.contains("my_count_total 2\n"));
+
+        statServiceImpl.recordCount("my.count", 3);
+        assertEquals(first, statServiceImpl.openMetrics());
+
+        testTimer.seconds(2);
+        statServiceImpl.tick();
+        assertTrue(statServiceImpl.openMetrics().contains("my_count_total 5\n"));
+
+    }
+}
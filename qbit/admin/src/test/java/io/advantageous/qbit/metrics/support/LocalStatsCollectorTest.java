@@ -2,6 +2,7 @@ package io.advantageous.qbit.metrics.support;
 
 import io.advantageous.boon.core.Lists;
 import io.advantageous.qbit.service.ServiceProxyUtils;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
 import io.advantageous.qbit.util.Timer;
 import org.junit.Before;
 import org.junit.Test;
@@ -87,6 +88,39 @@ public class LocalStatsCollectorTest {
     }
 
 
+    @Test
+    public void testTimingHistogramAsync() throws Exception {
+
+        LocalStatsCollectorAsync collectorAsync = LocalStatsCollectorBuilder.localStatsCollectorBuilder().buildAndStart();
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2);
+        histogram.record(3);
+        histogram.record(40);
+        collectorAsync.replicateTimingHistogram("foo.bar.timing1", histogram.encode(), -1);
+
+        AtomicReference<Map<String, Map<String, ?>>> referenceMap = new AtomicReference<>();
+
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        collectorAsync.collect(collectMap -> {
+
+            referenceMap.set(collectMap);
+            latch.countDown();
+        });
+
+
+        ServiceProxyUtils.flushServiceProxy(collectorAsync);
+
+        latch.await();
+        final Map<String, ?> metricsMS = referenceMap.get().get("MetricsMS");
+
+
+        assertEquals(Lists.list(40L), metricsMS.get("foo.bar.timing1"));
+    }
+
+
     @Test
     public void testLevelCollectAll() throws Exception {
 
@@ -0,0 +1,96 @@
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.LatencyHistogram;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OpenMetricsExporterTest {
+
+    @Test
+    public void testMetricName() {
+        assertEquals("my_app_requests", OpenMetricsExporter.metricName("my.app.requests"));
+        assertEquals("_9lives", OpenMetricsExporter.metricName("9lives"));
+        assertEquals("a_b_c:d", OpenMetricsExporter.metricName("a-b c:d"));
+    }
+
+    @Test
+    public void testRender() {
+        final OpenMetricsExporter exporter = new OpenMetricsExporter();
+        exporter.count("jobs.total", 2);
+        exporter.count("jobs.total", 3);
+        exporter.level("queue.size", 9);
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 1; index <= 100; index++) {
+            histogram.record(index);
+            exporter.timing("latency", 1, index);
+        }
+
+        final String text = exporter.render(name -> "latency".equals(name) ? histogram : null);
+
+        assertTrue(text, text.contains("# TYPE jobs counter\njobs_total 5\n"));
+        assertTrue(text, text.contains("# TYPE queue_size gauge\nqueue_size 9\n"));
+        assertTrue(text, text.contains("# TYPE latency summary\n"));
+        assertTrue(text, text.contains("latency{quantile=\"0.5\"} 50\n"));
+        assertTrue(text, text.contains("latency{quantile=\"0.99\"} 99\n"));
+        assertTrue(text, text.contains("latency_sum 5050\nlatency_count 100\n"));
+        assertTrue(text, text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testTimingWithoutHistogram() {
+        final OpenMetricsExporter exporter = new OpenMetricsExporter();
+        exporter.timing("latency", 4, 40);
+
+        final String text = exporter.render(name -> null);
+
+        assertEquals("# TYPE latency summary\nlatency_sum 40\nlatency_count 4\n# EOF\n", text);
+    }
+
+    @Test
+    public void testCollidingNamesGetTheirOwnFamily() {
+        final OpenMetricsExporter exporter = new OpenMetricsExporter();
+        exporter.count("a.b", 1);
+        exporter.count("a_b", 2);
+        exporter.count("jobs.total", 3);
+        exporter.level("jobs", 4);
+        exporter.count("both", 5);
+        exporter.timing("both", 1, 10);
+        exporter.timing("x", 1, 10);
+        exporter.count("x.count", 6);
+
+        final String text = exporter.render(name -> null);
+
+        final Set<String> families = new HashSet<>();
+        final Set<String> samples = new HashSet<>();
+        for (String line : text.split("\n")) {
+            if (line.startsWith("# TYPE ")) {
+                assertTrue(text, families.add(line.split(" ")[2]));
+            } else if (!line.startsWith("#")) {
+                assertTrue(text, samples.add(line.split("[ {]")[0]));
+            }
+        }
+        assertEquals(text, 8, families.size());
+        assertTrue(text, text.contains("# TYPE a_b counter\na_b_total 1\n"));
+        assertTrue(text, text.contains("# TYPE a_b_2 counter\na_b_2_total 2\n"));
+        assertTrue(text, text.contains("# TYPE jobs_2 gauge\njobs_2 4\n"));
+        assertTrue(text, text.contains("x_count 1\n"));
+        assertTrue(text, text.contains("x_count_2_total 6\n"));
+    }
+
+    @Test
+    public void testCounterNeverGoesDown() {
+        final OpenMetricsExporter exporter = new OpenMetricsExporter();
+        exporter.count("jobs", 5);
+        exporter.count("jobs", -3);
+
+        final String text = exporter.render(name -> null);
+
+        assertTrue(text, text.contains("jobs_total 5\n"));
+    }
+}
@@ -0,0 +1,49 @@
+package io.advantageous.qbit.metrics.support;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatsDEncoderTest {
+
+    @Test
+    public void testMatchesStringFormat() {
+        final long[] values = {0, 1, 9, 10, 99, 1234567890L, -1, -42, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            assertLine(String.format(Locale.ENGLISH, "%s:%d|c", "foo.bar", value),
+                    "foo.bar", value, StatsDEncoder.COUNT, 1.0);
+            assertLine(String.format(Locale.ENGLISH, "%s:%d|ms", "foo.bar", value),
+                    "foo.bar", value, StatsDEncoder.TIMING, 1.0);
+        }
+    }
+
+    @Test
+    public void testSampleRate() {
+        assertLine(String.format(Locale.ENGLISH, "%s:%d|c|@%f", "foo", 5, 0.5),
+                "foo", 5, StatsDEncoder.COUNT, 0.5);
+        assertLine(String.format(Locale.ENGLISH, "%s:%d|ms|@%f", "foo", 12, 0.0125),
+                "foo", 12, StatsDEncoder.TIMING, 0.0125);
+    }
+
+    @Test
+    public void testUtf8Key() {
+        assertLine("caf\u00e9:3|g", "caf\u00e9", 3, StatsDEncoder.GAUGE, 1.0);
+    }
+
+    private static void assertLine(final String expected, final String key, final long value,
+                                   final byte[] type, final double sampleRate) {
+        final byte[] keyBytes = StatsDEncoder.keyBytes(key);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(128);
+        StatsDEncoder.writeLine(buffer, keyBytes, value, type, sampleRate);
+        assertEquals(StatsDEncoder.lineLength(keyBytes, value, type, sampleRate), buffer.position());
+
+        buffer.flip();
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertEquals(expected, new String(bytes, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.metrics.StatReplicator;
+import io.advantageous.qbit.service.ServiceProxyUtils;
+import io.advantageous.qbit.service.stats.LatencyHistogram;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StatsDReplicatorTest {
+
+    DatagramChannel server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = DatagramChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    public void testLinesArePackedUpToBufferSize() throws Exception {
+        final int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+        final StatsDReplicator replicator = new StatsDReplicator(InetAddress.getLoopbackAddress(),
+                port, true, 100, 1000);
+
+        for (int index = 0; index < 20; index++) {
+            replicator.incrementBy("test.count" + index, index + 1);
+        }
+        replicator.timing("test.timing", 42);
+        replicator.gauge("test.gauge", 7);
+        replicator.gauge("test.ratio", 0.5);
+        replicator.flushStatSend();
+
+        final List<String> lines = new ArrayList<>();
+        final ByteBuffer receive = ByteBuffer.allocate(2048);
+        int datagrams = 0;
+        while (lines.size() < 23) {
+            receive.clear();
+            server.receive(receive);
+            receive.flip();
+            assertTrue(receive.remaining() <= 100);
+            datagrams++;
+            final byte[] bytes = new byte[receive.remaining()];
+            receive.get(bytes);
+            for (String line : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                lines.add(line);
+            }
+        }
+
+        assertEquals("test.count0:1|c", lines.get(0));
+        assertEquals("test.count19:20|c", lines.get(19));
+        assertEquals("test.timing:42|ms", lines.get(20));
+        assertEquals("test.gauge:7|g", lines.get(21));
+        assertEquals("test.ratio:0.5|g", lines.get(22));
+
+        assertTrue(datagrams > 1);
+    }
+
+    @Test
+    public void testTimingHistogramThroughProxy() throws Exception {
+        final int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+        final StatReplicator replicator = StatsDReplicatorBuilder.statsDReplicatorBuilder()
+                .setHost("127.0.0.1").setPort(port).setFlushRateIntervalMS(10).buildAndStart();
+
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2);
+        histogram.record(3);
+        histogram.record(40);
+
+        replicator.replicateTimingHistogram("test.histogram", histogram.encode(), 0);
+        ServiceProxyUtils.flushServiceProxy(replicator);
+
+        server.configureBlocking(false);
+        final ByteBuffer receive = ByteBuffer.allocate(2048);
+        final long end = System.currentTimeMillis() + 5_000;
+        while (receive.position() == 0 && System.currentTimeMillis() < end) {
+            server.receive(receive);
+            Thread.sleep(10);
+        }
+        replicator.stop();
+
+        receive.flip();
+        final byte[] bytes = new byte[receive.remaining()];
+        receive.get(bytes);
+        assertEquals("test.histogram:40|ms", new String(bytes, StandardCharsets.UTF_8).split("\n")[0]);
+    }
+}
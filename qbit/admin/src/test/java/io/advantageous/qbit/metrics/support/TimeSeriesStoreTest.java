@@ -0,0 +1,117 @@
+package io.advantageous.qbit.metrics.support;
+
+import io.advantageous.qbit.service.stats.Stats;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimeSeriesStoreTest {
+
+    final long start = 1_000_000_000_000L;
+
+    @Test
+    public void testCountsSurviveTheMinute() {
+        final TimeSeriesStore store = new TimeSeriesStore(120, 60, 16);
+        for (int second = 0; second < 100; second++) {
+            store.changeBy("count", 1, start + second * 1000);
+        }
+        final long now = start + 99_000;
+        assertEquals(90, store.countLastSeconds("count", now, 90));
+        assertEquals(100, store.countLastSeconds("count", now, 500));
+        assertEquals(1, store.countThisSecond("count", now));
+        assertEquals(1, store.countLastSecond("count", now));
+        assertEquals(0, store.countLastSeconds("missing", now, 10));
+    }
+
+    @Test
+    public void testRingWrapsAndClearsOldSeconds() {
+        final TimeSeriesStore store = new TimeSeriesStore(60, 10, 16);
+        store.changeBy("count", 5, start);
+        store.changeBy("count", 7, start + 60_000);
+
+        assertEquals(7, store.countLastSeconds("count", start + 60_000, 60));
+        /* A reading older than the horizon does not land in the ring. */
+        store.changeBy("count", 9, start - 10_000);
+        assertEquals(7, store.countLastSeconds("count", start + 60_000, 60));
+        /* Nothing recorded for a while leaves nothing in range. */
+        assertEquals(0, store.countLastSeconds("count", start + 200_000, 60));
+    }
+
+    @Test
+    public void testMinuteStatsSeeTheWholeMinuteAtTheSmallestHorizon() {
+        final TimeSeriesStore store = new TimeSeriesStore(60, 10, 16);
+        final long minuteStart = start + 999;
+        store.changeBy("count", 3, minuteStart);
+        /* The stat service rolls once more than 60 seconds have passed. */
+        final long rollTime = minuteStart + 61_500;
+        store.changeBy("count", 4, rollTime);
+
+        final List<MinuteStat> minuteStats = store.minuteStats(minuteStart, rollTime);
+        assertEquals(1, minuteStats.size());
+        assertEquals(3, minuteStats.get(0).getSecondCounts()[0]);
+    }
+
+    @Test
+    public void testLevels() {
+        final TimeSeriesStore store = new TimeSeriesStore(120, 60, 16);
+        store.recordLevel("level", 10, start);
+        store.recordLevel("level", 20, start + 1000);
+        store.recordLevel("level", 30, start + 3000);
+
+        final long now = start + 3000;
+        assertEquals(20, store.averageLastLevel("level", now, 10));
+        assertEquals(-1, store.averageLastLevel("level", now + 20_000, 10));
+
+        final Stats stats = store.statsForLastSeconds("level", now, 10);
+        assertEquals(3, stats.getReadingCount());
+        assertEquals(30, stats.getMax());
+        assertEquals(10, stats.getMin());
+    }
+
+    @Test
+    public void testMinuteDownsampling() {
+        final TimeSeriesStore store = new TimeSeriesStore(60, 1440, 16);
+        final long minuteStart = start - start % 60_000;
+        for (int minute = 0; minute < 180; minute++) {
+            store.changeBy("count", 2, minuteStart + minute * 60_000L);
+            store.recordLevel("level", minute, minuteStart + minute * 60_000L);
+        }
+        final long now = minuteStart + 179 * 60_000L;
+        assertEquals(120, store.countLastMinutes("count", now, 60));
+        assertEquals(360, store.countLastMinutes("count", now, 1440));
+        assertEquals(178, store.averageLevelLastMinutes("level", now, 3));
+    }
+
+    @Test
+    public void testMinuteTotalsAndRoll() {
+        final TimeSeriesStore store = new TimeSeriesStore(120, 60, 16);
+        store.changeBy("a", 3, start);
+        store.changeBy("b", 4, start);
+        store.recordLevel("c", 9, start);
+
+        final List<MinuteStat> minuteStats = store.minuteStats(start, start + 60_000);
+        assertEquals(3, minuteStats.size());
+        assertEquals(3, minuteStats.get(0).getTotalCount());
+        assertEquals(3, minuteStats.get(0).getSecondCounts()[0]);
+        assertEquals(-1, minuteStats.get(0).getSecondCounts()[1]);
+
+        store.rollMinute();
+        assertEquals(0, store.currentMinuteCount("a"));
+        assertEquals(3, store.lastMinuteCount("a"));
+        assertEquals(0, store.minuteStats(start, start + 60_000).size());
+    }
+
+    @Test
+    public void testGrowKeepsData() {
+        final TimeSeriesStore store = new TimeSeriesStore(60, 10, 16);
+        for (int index = 0; index < 100; index++) {
+            store.changeBy("stat" + index, index, start);
+        }
+        assertEquals(100, store.size());
+        for (int index = 0; index < 100; index++) {
+            assertEquals(index, store.countLastSeconds("stat" + index, start, 1));
+        }
+    }
+}
@@ -176,6 +176,15 @@ public interface Factory {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create an encoder for the binary protocol.
+     *
+     * @return encoder.
+     */
+    default ProtocolEncoder createBinaryEncoder() {
+        throw new UnsupportedOperationException();
+    }
+
 
     /**
      * Create a local client proxy
@@ -221,6 +230,35 @@ public interface Factory {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Create a remote proxy that sends method calls with the binary protocol.
+     *
+     * @param serviceInterface client view of client
+     * @param uri              uri of client
+     * @param serviceName      name of the client that we are proxying method calls to.
+     * @param port             port
+     * @param host             host
+     * @param connected        connected
+     * @param returnAddressArg return address
+     * @param sender           how we are sending the binary frames over the wire
+     * @param beforeMethodCall before method call
+     * @param requestBatchSize request batch size
+     * @param <T>              type of proxy
+     * @param beforeMethodSent before method sent interceptor
+     * @return remote proxy
+     */
+    default <T> T createBinaryRemoteProxyWithReturnAddress(Class<T> serviceInterface, String uri, String serviceName,
+                                                           String host,
+                                                           int port,
+                                                           AtomicBoolean connected,
+                                                           String returnAddressArg,
+                                                           Sender<byte[]> sender,
+                                                           BeforeMethodCall beforeMethodCall,
+                                                           int requestBatchSize,
+                                                           BeforeMethodSent beforeMethodSent) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Parses a method call using an address prefix and a body.
      * Useful for Websocket calls and POST calls (if you don't care about request params).
@@ -332,11 +370,28 @@ public interface Factory {
     }
 
 
+    default Client createClient(String uri,
+                                HttpClient httpClient,
+                                int requestBatchSize,
+                                BeforeMethodSent beforeMethodSent,
+                                boolean binaryProtocol) {
+        if (!binaryProtocol) {
+            return createClient(uri, httpClient, requestBatchSize, beforeMethodSent);
+        }
+        throw new UnsupportedOperationException();
+    }
+
+
     default ProtocolParser createProtocolParser() {
         throw new UnsupportedOperationException();
     }
 
 
+    default ProtocolParser createBinaryProtocolParser() {
+        throw new UnsupportedOperationException();
+    }
+
+
     default EventManager eventManagerProxy() {
         return null;
     }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method that is called once for a run of calls from the same queue batch.
+ * <p>
+ * Every parameter is a List with one entry per call, in the order the calls arrived.
+ * A List&lt;Callback&lt;T&gt;&gt; parameter gets the callback of each call, so each caller still gets its own result.
+ * The method returns void (results go to the callbacks) or a List with one result per call.
+ * <pre>
+ * {@code
+ *     // Clients call addEmployee(callback, employee)
+ *     @BatchMethod
+ *     public void addEmployee(final List<Callback<Boolean>> callbacks, final List<Employee> employees) {
+ *         database.insertAll(employees);
+ *         callbacks.forEach(callback -> callback.accept(true));
+ *     }
+ * }
+ * </pre>
+ * Calls to the method are held until the batch ends or a call to another method arrives so calls are
+ * still handled in order.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BatchMethod {
+
+}
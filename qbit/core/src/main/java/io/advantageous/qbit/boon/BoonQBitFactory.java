@@ -23,6 +23,8 @@ import io.advantageous.qbit.boon.events.impl.BoonEventBusProxyCreator;
 import io.advantageous.qbit.boon.service.impl.BoonServiceMethodCallHandler;
 import io.advantageous.qbit.boon.service.impl.BoonServiceProxyFactory;
 import io.advantageous.qbit.boon.spi.BoonJsonMapper;
+import io.advantageous.qbit.boon.spi.BinaryProtocolEncoder;
+import io.advantageous.qbit.boon.spi.BinaryProtocolParser;
 import io.advantageous.qbit.boon.spi.BoonProtocolEncoder;
 import io.advantageous.qbit.boon.spi.BoonProtocolParser;
 import io.advantageous.qbit.client.BeforeMethodSent;
@@ -204,6 +206,27 @@ public class BoonQBitFactory implements Factory {
     }
 
 
+    @Override
+    public <T> T createBinaryRemoteProxyWithReturnAddress(final Class<T> serviceInterface,
+                                                          final String address,
+                                                          final String serviceName,
+                                                          final String host,
+                                                          final int port,
+                                                          final AtomicBoolean connected,
+                                                          final String returnAddressArg,
+                                                          final Sender<byte[]> sender,
+                                                          final BeforeMethodCall beforeMethodCall,
+                                                          final int requestBatchSize,
+                                                          final BeforeMethodSent beforeMethodSent) {
+        return remoteServiceProxyFactory.createProxyWithReturnAddress(
+                serviceInterface,
+                serviceName,
+                host, port, connected,
+                returnAddressArg, SenderEndPoint.binarySenderEndPoint(this.createBinaryEncoder(), address, sender,
+                        beforeMethodCall, requestBatchSize), beforeMethodSent);
+    }
+
+
     @Override
     public MethodCall<Object> createMethodCallFromHttpRequest(final Request<Object> request, Object args) {
 
@@ -232,11 +255,25 @@ public class BoonQBitFactory implements Factory {
         return FactorySPI.getClientFactory().create(uri, httpClient, requestBatchSize, beforeMethodSent);
     }
 
+    @Override
+    public Client createClient(final String uri,
+                               final HttpClient httpClient,
+                               final int requestBatchSize,
+                               final BeforeMethodSent beforeMethodSent,
+                               final boolean binaryProtocol) {
+        return FactorySPI.getClientFactory().create(uri, httpClient, requestBatchSize, beforeMethodSent, binaryProtocol);
+    }
+
     @Override
     public ProtocolParser createProtocolParser() {
         return new BoonProtocolParser();
     }
 
+    @Override
+    public ProtocolParser createBinaryProtocolParser() {
+        return new BinaryProtocolParser();
+    }
+
 
     @Override
     public MethodCall<Object> createMethodCallToBeParsedFromBody(String address,
@@ -308,6 +345,11 @@ public class BoonQBitFactory implements Factory {
         return new BoonProtocolEncoder();
     }
 
+    @Override
+    public ProtocolEncoder createBinaryEncoder() {
+        return new BinaryProtocolEncoder();
+    }
+
 
     public EventBusProxyCreator eventBusProxyCreator() {
 
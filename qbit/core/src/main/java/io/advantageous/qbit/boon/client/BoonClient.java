@@ -36,6 +36,7 @@ import io.advantageous.qbit.message.impl.MethodCallImpl;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.sender.Sender;
 import io.advantageous.qbit.service.BeforeMethodCall;
+import io.advantageous.qbit.util.CallbackRegistry;
 import io.advantageous.reakt.promise.Promise;
 import io.advantageous.reakt.promise.PromiseHandle;
 import org.slf4j.Logger;
@@ -46,9 +47,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.ConnectException;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -80,12 +79,16 @@ public class BoonClient implements Client {
      * Request batch size for queuing.
      */
     private final int requestBatchSize;
+    /**
+     * Send method calls and read responses with the binary protocol.
+     */
+    private final boolean binaryProtocol;
     private final boolean debug = logger.isDebugEnabled();
     private final BeforeMethodSent beforeMethodSent;
     /**
      * Map of handlers so we can do the whole async call back thing.
      */
-    private final Map<HandlerKey, Callback<Object>> handlers = new ConcurrentHashMap<>();
+    private final CallbackRegistry<Callback<Object>> handlers = new CallbackRegistry<>();
     /**
      * List of client proxies that we are managing for periodic flush.
      */
@@ -107,11 +110,27 @@ public class BoonClient implements Client {
                       final HttpClient httpClient,
                       final int requestBatchSize,
                       final BeforeMethodSent beforeMethodSent) {
+        this(uri, httpClient, requestBatchSize, beforeMethodSent, false);
+    }
+
+    /**
+     * @param httpClient       httpClient
+     * @param uri              uri
+     * @param requestBatchSize request batch size
+     * @param beforeMethodSent before method sent interceptor
+     * @param binaryProtocol   use the binary protocol and binary WebSocket frames
+     */
+    public BoonClient(final String uri,
+                      final HttpClient httpClient,
+                      final int requestBatchSize,
+                      final BeforeMethodSent beforeMethodSent,
+                      final boolean binaryProtocol) {
 
         this.httpServerProxy = httpClient;
         this.uri = uri;
         this.requestBatchSize = requestBatchSize;
         this.beforeMethodSent = beforeMethodSent;
+        this.binaryProtocol = binaryProtocol;
     }
 
 
@@ -148,23 +167,63 @@ public class BoonClient implements Client {
 
         final List<Message<Object>> messages = QBit.factory().createProtocolParser().parse("", webSocketText);
 
+        handleResponses(messages);
+    }
+
+    /**
+     * Handles binary WebSocket messages and parses them into responses.
+     *
+     * @param webSocketBytes websocket binary message
+     */
+    private void handleWebSocketReplyMessage(final byte[] webSocketBytes) {
+
+        final List<Message<Object>> messages = QBit.factory().createBinaryProtocolParser().parse("", webSocketBytes);
+
+        handleResponses(messages);
+    }
+
+    private void handleResponses(final List<Message<Object>> messages) {
 
         //noinspection Convert2streamapi
         for (Message<Object> message : messages) {
             if (message instanceof Response) {
                 @SuppressWarnings("unchecked") final Response<Object> response = ((Response) message);
-                final String[] split = StringScanner.split(response.returnAddress(), (char) PROTOCOL_ARG_SEPARATOR);
-                final HandlerKey key = split.length == 2 ? new HandlerKey(split[1], response.id()) : new HandlerKey(split[0], response.id());
-                final Callback<Object> handler = handlers.get(key);
+                final Callback<Object> handler = removeHandler(response.id(), response.returnAddress());
 
                 if (handler != null) {
                     handleAsyncCallback(response, handler);
-                    handlers.remove(key);
                 } // else there was no handler, it was a one way method.
             }
         }
     }
 
+    /**
+     * Removes the handler for a response.
+     * The response's return address is "address" or "prefix" + separator + "address", the same parts that
+     * StringScanner.split gives, but the handler is found by region so no String[] is made per message.
+     */
+    private Callback<Object> removeHandler(final long id, final String returnAddress) {
+        if (returnAddress == null) {
+            return handlers.remove(id, null);
+        }
+        final char separator = (char) PROTOCOL_ARG_SEPARATOR;
+        int end = returnAddress.length();
+        /* split drops a trailing empty part. */
+        if (end > 0 && returnAddress.charAt(end - 1) == separator) {
+            end--;
+        }
+        final int first = returnAddress.indexOf(separator);
+        if (first == -1 || first >= end) {
+            return handlers.remove(id, returnAddress, 0, end);
+        }
+        final int second = returnAddress.indexOf(separator, first + 1);
+        if (second != -1 && second < end) {
+            /* More than two parts, split[0] was used. */
+            return handlers.remove(id, returnAddress, 0, first);
+        }
+        return handlers.remove(id, returnAddress, first + 1, end);
+    }
+
     /**
      * Handles an async callbackWithTimeout.
      */
@@ -194,7 +253,7 @@ public class BoonClient implements Client {
      * @param message     message to sendText over WebSocket
      * @param serviceName message to sendText over WebSocket
      */
-    private void send(final String serviceName, final String message, final Consumer<Exception> exceptionConsumer) {
+    private void send(final String serviceName, final Object message, final Consumer<Exception> exceptionConsumer) {
 
 
 
@@ -213,10 +272,10 @@ public class BoonClient implements Client {
             if (webSocket.isClosed() && connected()) {
                 this.webSocket.openAndNotify(netSocket -> {
                     connected.set(true);
-                    webSocket.sendText(message, exceptionConsumer);
+                    sendMessage(message, exceptionConsumer);
                 }, exceptionConsumer);
             } else {
-                webSocket.sendText(message);
+                sendMessage(message, WebSocket.noOpErrorHandler);
             }
         } catch (Exception ex) {
             this.connected.set(false);
@@ -224,7 +283,15 @@ public class BoonClient implements Client {
         }
     }
 
-    private void wireWebSocket(final String serviceName, final String message) {
+    private void sendMessage(final Object message, final Consumer<Exception> exceptionConsumer) {
+        if (message instanceof byte[]) {
+            webSocket.sendBinary((byte[]) message, exceptionConsumer);
+        } else {
+            webSocket.sendText((String) message, exceptionConsumer);
+        }
+    }
+
+    private void wireWebSocket(final String serviceName, final Object message) {
 
         this.webSocket.setErrorConsumer(error -> {
 
@@ -238,6 +305,8 @@ public class BoonClient implements Client {
 
         //noinspection Convert2MethodRef
         this.webSocket.setTextMessageConsumer(messageFromServer -> handleWebSocketReplyMessage(messageFromServer));
+        //noinspection Convert2MethodRef
+        this.webSocket.setBinaryMessageConsumer(messageFromServer -> handleWebSocketReplyMessage(messageFromServer));
     }
 
     /**
@@ -275,6 +344,10 @@ public class BoonClient implements Client {
         };
 
 
+        if (binaryProtocol) {
+            return createBinaryProxy(serviceInterface, serviceName, returnAddressArg, beforeMethodCall);
+        }
+
         final Sender<String> sender = new Sender<String>() {
 
             @Override
@@ -301,6 +374,35 @@ public class BoonClient implements Client {
         return proxy;
     }
 
+    private <T> T createBinaryProxy(final Class<T> serviceInterface, final String serviceName,
+                                    final String returnAddressArg, final BeforeMethodCall beforeMethodCall) {
+
+        final Sender<byte[]> sender = new Sender<byte[]>() {
+
+            @Override
+            public void send(String returnAddress, byte[] buffer, Consumer<Exception> exceptionConsumer) {
+                BoonClient.this.send(serviceName, buffer, exceptionConsumer);
+            }
+
+            @Override
+            public void stop() {
+                BoonClient.this.stop();
+            }
+        };
+
+        T proxy = QBit.factory().createBinaryRemoteProxyWithReturnAddress(serviceInterface, uri, serviceName,
+                httpServerProxy.getHost(),
+                httpServerProxy.getPort(),
+                connected,
+                returnAddressArg, sender, beforeMethodCall, requestBatchSize, beforeMethodSent);
+
+        if (proxy instanceof ClientProxy) {
+            clientProxies.add((ClientProxy) proxy);
+        }
+
+        return proxy;
+    }
+
     private void prepareBody(MethodCall call) {
         final Object body = call.body();
         if (body instanceof Object[]) {
@@ -330,7 +432,7 @@ public class BoonClient implements Client {
         final Callback callback = call.callback();
 
         if (callback != null) {
-            handlers.put(new HandlerKey(call.returnAddress(), call.id()),
+            handlers.put(call.id(), call.returnAddress(),
                     createHandler(serviceInterface, call, callback));
         }
     }
@@ -485,38 +587,4 @@ public class BoonClient implements Client {
         connected.set(true);
 
     }
-
-    /**
-     * Key to store callbackWithTimeout in call back map.
-     */
-    private class HandlerKey {
-        /**
-         * Return address
-         */
-        final String returnAddress;
-        /**
-         * Message id
-         */
-        final long messageId;
-
-        private HandlerKey(String returnAddress, long messageId) {
-            this.returnAddress = returnAddress;
-            this.messageId = messageId;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            HandlerKey that = (HandlerKey) o;
-            return messageId == that.messageId && !(returnAddress != null ? !returnAddress.equals(that.returnAddress) : that.returnAddress != null);
-        }
-
-        @Override
-        public int hashCode() {
-            int result = returnAddress != null ? returnAddress.hashCode() : 0;
-            result = 31 * result + (int) (messageId ^ (messageId >>> 32));
-            return result;
-        }
-    }
 }
@@ -39,4 +39,13 @@ public class BoonClientFactory implements ClientFactory {
                          final BeforeMethodSent beforeMethodSent) {
         return new BoonClient(uri, httpClient, requestBatchSize, beforeMethodSent);
     }
+
+    @Override
+    public Client create(final String uri,
+                         final HttpClient httpClient,
+                         final int requestBatchSize,
+                         final BeforeMethodSent beforeMethodSent,
+                         final boolean binaryProtocol) {
+        return new BoonClient(uri, httpClient, requestBatchSize, beforeMethodSent, binaryProtocol);
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.boon.core.Conversions;
+import io.advantageous.boon.core.Exceptions;
+import io.advantageous.boon.core.reflection.MethodAccess;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.impl.ResponseImpl;
+import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.service.impl.ServiceConstants;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calls a {@link io.advantageous.qbit.annotation.BatchMethod} with the arguments of many method calls.
+ * <p>
+ * Argument i of every call goes into the list passed as the i-th non callback parameter.
+ * List&lt;Callback&gt; parameters get a callback per call.
+ */
+class BatchMethodInvoker {
+
+    private final ServiceMethodInvoker invoker;
+    private final BoonServiceMethodCallHandler handler;
+    private final boolean invokeDynamic;
+    private final boolean[] callbackParam;
+    /**
+     * Item type of each List parameter, null if it is not known.
+     */
+    private final Class<?>[] itemTypes;
+    private final boolean returnsList;
+
+    BatchMethodInvoker(final ServiceMethodInvoker invoker,
+                       final BoonServiceMethodCallHandler handler,
+                       final boolean invokeDynamic) {
+        this.invoker = invoker;
+        this.handler = handler;
+        this.invokeDynamic = invokeDynamic;
+
+        final MethodAccess methodAccess = invoker.methodAccess();
+        final Class<?>[] parameterTypes = methodAccess.parameterTypes();
+        final Type[] genericTypes = methodAccess.method().getGenericParameterTypes();
+        this.callbackParam = new boolean[parameterTypes.length];
+        this.itemTypes = new Class<?>[parameterTypes.length];
+
+        for (int index = 0; index < parameterTypes.length; index++) {
+            if (parameterTypes[index] != List.class) {
+                throw new IllegalStateException("BatchMethod " + methodAccess.name()
+                        + " parameters must be lists but parameter " + index + " is " + parameterTypes[index]);
+            }
+            final Class<?> itemType = itemType(genericTypes[index]);
+            callbackParam[index] = itemType == Callback.class;
+            itemTypes[index] = itemType;
+        }
+
+        final Class<?> returnType = methodAccess.returnType();
+        this.returnsList = List.class.isAssignableFrom(returnType);
+        if (!returnsList && returnType != void.class && returnType != Void.class) {
+            throw new IllegalStateException("BatchMethod " + methodAccess.name()
+                    + " must return void or a List but returns " + returnType);
+        }
+    }
+
+    /**
+     * Both invoke paths wrap what the service threw, the method handle path in a SoftenedException
+     * and reflection in a SoftenedException around an InvocationTargetException. Dig out the original.
+     */
+    private static Throwable unwrap(final Throwable ex) {
+        Throwable error = ex;
+        if (error instanceof Exceptions.SoftenedException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof InvocationTargetException
+                && ((InvocationTargetException) error).getTargetException() != null) {
+            error = ((InvocationTargetException) error).getTargetException();
+        }
+        return error;
+    }
+
+    private static Class<?> itemType(final Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return null;
+        }
+        Type itemType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (itemType instanceof ParameterizedType) {
+            itemType = ((ParameterizedType) itemType).getRawType();
+        }
+        return itemType instanceof Class ? (Class<?>) itemType : null;
+    }
+
+    /**
+     * Calls the batch method once for all of the method calls.
+     *
+     * @param methodCalls method calls to the batch method
+     * @return a response per method call, ServiceConstants.VOID for calls answered through callbacks
+     */
+    List<Response<Object>> invoke(final List<MethodCall<Object>> methodCalls) {
+
+        final int size = methodCalls.size();
+        final Object[] args = new Object[callbackParam.length];
+        for (int index = 0; index < args.length; index++) {
+            args[index] = new ArrayList<>(size);
+        }
+
+        for (MethodCall<Object> methodCall : methodCalls) {
+            addArguments(methodCall, args);
+        }
+
+        final Object returnValue;
+        try {
+            returnValue = invoker.invoke(args);
+        } catch (Exception ex) {
+            final Throwable error = unwrap(ex);
+            final List<Response<Object>> responses = new ArrayList<>(size);
+            for (MethodCall<Object> methodCall : methodCalls) {
+                responses.add(new ResponseImpl<>(methodCall, error));
+            }
+            return responses;
+        }
+
+        if (!returnsList) {
+            return Collections.nCopies(size, ServiceConstants.VOID);
+        }
+
+        final List<?> results = (List<?>) returnValue;
+        final List<Response<Object>> responses = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            final MethodCall<Object> methodCall = methodCalls.get(index);
+            if (results == null || results.size() != size) {
+                responses.add(new ResponseImpl<>(methodCall, new IllegalStateException("BatchMethod "
+                        + methodCall.name() + " returned " + (results == null ? "null" : results.size() + " results")
+                        + " for " + size + " calls")));
+            } else {
+                responses.add(ResponseImpl.response(methodCall.id(), methodCall.timestamp(), methodCall.address(),
+                        methodCall.returnAddress(), results.get(index), methodCall));
+            }
+        }
+        return responses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addArguments(final MethodCall<Object> methodCall, final Object[] args) {
+        final Object body = methodCall.body();
+        final Object[] callArgs;
+        if (body instanceof Object[]) {
+            callArgs = (Object[]) body;
+        } else if (body instanceof List) {
+            callArgs = ((List) body).toArray();
+        } else if (body == null) {
+            callArgs = new Object[0];
+        } else {
+            callArgs = new Object[]{body};
+        }
+
+        int argIndex = 0;
+        for (int index = 0; index < args.length; index++) {
+            final List<Object> list = (List<Object>) args[index];
+            if (callbackParam[index]) {
+                list.add(handler.createCallBackHandler(methodCall));
+                continue;
+            }
+            /* The caller's callback may be in the body, it is handled by the callback parameter. */
+            while (argIndex < callArgs.length && callArgs[argIndex] instanceof Callback) {
+                argIndex++;
+            }
+            Object value = argIndex < callArgs.length ? callArgs[argIndex++] : null;
+            final Class<?> itemType = itemTypes[index];
+            if (invokeDynamic && value != null && itemType != null && !itemType.isInstance(value)) {
+                value = Conversions.coerce(itemType, value);
+            }
+            list.add(value);
+        }
+    }
+}
@@ -64,7 +64,12 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
      * Holds on to Boon cache so we don't have to recreate reflected gak.
      */
     private final Object context = Sys.contextToHold();
-    private final Map<String, MethodAccess> eventMap = new ConcurrentHashMap<>();
+    private final Map<String, ServiceMethodInvoker> eventMap = new ConcurrentHashMap<>();
+    /**
+     * Invokers by method name, created once in init so each call is a map lookup and a method handle call.
+     */
+    private final Map<String, ServiceMethodInvoker> invokerMap = new HashMap<>();
+    private final Map<String, BatchMethodInvoker> batchMethodMap = new HashMap<>();
     protected Object service;
     SendQueue<Response<Object>> responseSendQueue;
     private ClassMeta<Class<?>> classMeta;
@@ -86,6 +91,11 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
     @Override
     public Response<Object> receiveMethodCall(MethodCall<Object> methodCall) {
 
+        final BatchMethodInvoker batchMethodInvoker = batchMethodMap.get(methodCall.name());
+        if (batchMethodInvoker != null) {
+            return batchMethodInvoker.invoke(Collections.singletonList(methodCall)).get(0);
+        }
+
         try {
             return invokeByName(methodCall);
         } catch (Exception ex) {
@@ -99,8 +109,18 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
         }
     }
 
-    private Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> methodCall, MethodAccess serviceMethod) {
-        return this.mapAndInvoke.mapArgsAsyncHandlersAndInvoke(methodCall, serviceMethod);
+    @Override
+    public boolean isBatchMethod(final String name) {
+        return !batchMethodMap.isEmpty() && batchMethodMap.containsKey(name);
+    }
+
+    @Override
+    public List<Response<Object>> receiveMethodCallBatch(final List<MethodCall<Object>> methodCalls) {
+        return batchMethodMap.get(methodCalls.get(0).name()).invoke(methodCalls);
+    }
+
+    private Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> methodCall, ServiceMethodInvoker invoker) {
+        return this.mapAndInvoke.mapArgsAsyncHandlersAndInvoke(methodCall, invoker);
     }
 
     /**
@@ -335,10 +355,10 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
     }
 
     private Response<Object> invokeByName(MethodCall<Object> methodCall) {
-        final MethodAccess method = classMeta.method(methodCall.name());
+        final ServiceMethodInvoker invoker = invokerMap.get(methodCall.name());
 
-        if (method != null) {
-            return mapArgsAsyncHandlersAndInvoke(methodCall, method);
+        if (invoker != null) {
+            return mapArgsAsyncHandlersAndInvoke(methodCall, invoker);
         } else {
 
             if (methodCall.name().equals("toString")) {
@@ -424,7 +444,7 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
                 continue;
             }
             String channel = listen.getValues().get("value").toString();
-            eventMap.put(channel, methodAccess);
+            eventMap.put(channel, new ServiceMethodInvoker(methodAccess, service));
         }
 
         final Class<?>[] interfaces = classMeta.cls().getInterfaces();
@@ -456,7 +476,7 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
                 }
 
                 final String channelName = createChannelName(null, classEventBusName, methodEventBusName);
-                eventMap.put(channelName, methodAccess);
+                eventMap.put(channelName, new ServiceMethodInvoker(methodAccess, service));
 
             });
         }
@@ -490,8 +510,18 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
         for (MethodAccess methodAccess : methods) {
 
             registerMethod(methodAccess);
+
+            /* Same method that classMeta.method(name) picks for overloaded names. */
+            invokerMap.computeIfAbsent(methodAccess.name(),
+                    name -> new ServiceMethodInvoker(classMeta.method(name), service));
         }
 
+        invokerMap.forEach((name, invoker) -> {
+            if (invoker.methodAccess().hasAnnotation("BatchMethod")) {
+                batchMethodMap.put(name, new BatchMethodInvoker(invoker, this, invokeDynamic));
+            }
+        });
+
         addresses.addAll(methodMap.keySet());
     }
 
@@ -539,7 +569,7 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
     @Override
     public void handleEvent(Event<Object> event) {
 
-        MethodAccess methodAccess = eventMap.get(event.channel());
+        final ServiceMethodInvoker invoker = eventMap.get(event.channel());
 
 
         if (invokeDynamic) {
@@ -547,28 +577,28 @@ public class BoonServiceMethodCallHandler implements ServiceMethodHandler {
 
             if (body instanceof List) {
                 List list = ((List) body);
-                methodAccess.invokeDynamic(service, list.toArray(new Object[list.size()]));
+                invoker.invokeDynamic(list.toArray(new Object[list.size()]));
 
             } else if (body instanceof Object[]) {
                 final Object[] array = (Object[]) body;
-                methodAccess.invokeDynamic(service, array);
+                invoker.invokeDynamic(array);
 
             } else {
-                methodAccess.invokeDynamicObject(service, body);
+                invoker.invokeDynamicObject(body);
             }
         } else {
             final Object body = event.body();
 
             if (body instanceof List) {
                 List list = ((List) body);
-                methodAccess.invoke(service, list.toArray(new Object[list.size()]));
+                invoker.invoke(list.toArray(new Object[list.size()]));
 
             } else if (body instanceof Object[]) {
                 final Object[] array = (Object[]) body;
-                methodAccess.invoke(service, array);
+                invoker.invoke(array);
 
             } else {
-                methodAccess.invoke(service, body);
+                invoker.invoke(new Object[]{body});
             }
         }
     }
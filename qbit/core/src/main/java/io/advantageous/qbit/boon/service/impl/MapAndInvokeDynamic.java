@@ -21,12 +21,13 @@ class MapAndInvokeDynamic implements MapAndInvoke {
         this.boonServiceMethodCallHandler = boonServiceMethodCallHandler;
     }
 
-    public Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> serviceMethodCall, MethodAccess serviceMethod) {
+    public Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> serviceMethodCall, ServiceMethodInvoker invoker) {
+        final MethodAccess serviceMethod = invoker.methodAccess();
 
 
         if (serviceMethod.parameterTypes().length == 0 && !(PromiseHandle.class.isAssignableFrom(serviceMethod.returnType()))) {
 
-            Object returnValue = serviceMethod.invokeDynamicObject(boonServiceMethodCallHandler.service, null);
+            Object returnValue = invoker.invokeDynamicObject(null);
             return boonServiceMethodCallHandler.response(serviceMethod, serviceMethodCall, returnValue);
 
         }
@@ -46,7 +47,7 @@ class MapAndInvokeDynamic implements MapAndInvoke {
                     argsList.set(0, body);
                 }
             }
-            returnValue = serviceMethod.invokeDynamicObject(boonServiceMethodCallHandler.service, argsList);
+            returnValue = invoker.invokeDynamicObject(argsList);
 
             if (returnValue instanceof Promise) {
                 final Promise<Object> promise = ((Promise<Object>) returnValue);
@@ -65,12 +66,12 @@ class MapAndInvokeDynamic implements MapAndInvoke {
         } else {
             if (serviceMethodCall.body() instanceof List) {
                 final List argsList = (List) serviceMethodCall.body();
-                returnValue = serviceMethod.invokeDynamic(boonServiceMethodCallHandler.service, argsList.toArray(new Object[argsList.size()]));
+                returnValue = invoker.invokeDynamic(argsList.toArray(new Object[argsList.size()]));
             } else if (serviceMethodCall.body() instanceof Object[]) {
                 final Object[] argsList = (Object[]) serviceMethodCall.body();
-                returnValue = serviceMethod.invokeDynamic(boonServiceMethodCallHandler.service, argsList);
+                returnValue = invoker.invokeDynamic(argsList);
             } else {
-                returnValue = serviceMethod.invokeDynamic(boonServiceMethodCallHandler.service, serviceMethodCall.body());
+                returnValue = invoker.invokeDynamic(new Object[]{serviceMethodCall.body()});
             }
         }
 
@@ -19,14 +19,15 @@ class MapAndInvokeImpl implements MapAndInvoke {
         this.boonServiceMethodCallHandler = boonServiceMethodCallHandler;
     }
 
-    public Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> methodCall, MethodAccess serviceMethod) {
+    public Response<Object> mapArgsAsyncHandlersAndInvoke(MethodCall<Object> methodCall, ServiceMethodInvoker invoker) {
+        final MethodAccess serviceMethod = invoker.methodAccess();
         boolean hasHandlers = boonServiceMethodCallHandler.hasHandlers(methodCall, serviceMethod);
         Object returnValue;
         if (hasHandlers) {
             Object[] args = (Object[]) methodCall.body();
             Object[] argsList = prepareArgumentList(methodCall, serviceMethod.parameterTypes());
             extractHandlersFromArgumentList(serviceMethod, args, argsList);
-            returnValue = serviceMethod.invoke(boonServiceMethodCallHandler.service, argsList);
+            returnValue = invoker.invoke(argsList);
             if (returnValue instanceof Promise) {
                 final Promise<Object> promise = ((Promise<Object>) returnValue);
                 promise
@@ -42,7 +43,7 @@ class MapAndInvokeImpl implements MapAndInvoke {
             }
         } else {
             final Object[] argsList = (Object[]) methodCall.body();
-            returnValue = serviceMethod.invoke(boonServiceMethodCallHandler.service, argsList);
+            returnValue = invoker.invoke(argsList);
         }
         return boonServiceMethodCallHandler.response(serviceMethod, methodCall, returnValue);
 
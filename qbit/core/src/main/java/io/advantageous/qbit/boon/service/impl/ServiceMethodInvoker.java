@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.boon.core.Exceptions;
+import io.advantageous.boon.core.Sys;
+import io.advantageous.boon.core.reflection.MethodAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invokes one service method through a MethodHandle that is created once when the service is added.
+ * <p>
+ * The handle is bound to the service and spread over an Object[] so a call is a single
+ * invokeExact instead of Method.invoke.
+ * invokeDynamic only takes the fast path when every argument is already an instance of its parameter type;
+ * anything that needs coercion (JSON maps, strings to enums, collections of generic types, nulls for primitives)
+ * goes through Boon's MethodAccess.invokeDynamic like before.
+ * <p>
+ * Set QBIT_METHOD_HANDLE_INVOKERS=false to always use MethodAccess.
+ */
+class ServiceMethodInvoker {
+
+    static final boolean ENABLED = Sys.sysProp("QBIT_METHOD_HANDLE_INVOKERS", true);
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceMethodInvoker.class);
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final MethodAccess methodAccess;
+    private final Object service;
+    private final MethodHandle handle;
+    /**
+     * Boxed parameter types used to check that arguments need no coercion, null if the fast path is never taken.
+     */
+    private final Class<?>[] argumentTypes;
+    private final boolean[] primitive;
+
+    ServiceMethodInvoker(final MethodAccess methodAccess, final Object service) {
+        this.methodAccess = methodAccess;
+        this.service = service;
+        this.handle = ENABLED ? createHandle(methodAccess.method(), service) : null;
+
+        final Class<?>[] parameterTypes = methodAccess.parameterTypes();
+        Class<?>[] argumentTypes = new Class<?>[parameterTypes.length];
+        this.primitive = new boolean[parameterTypes.length];
+        for (int index = 0; index < parameterTypes.length; index++) {
+            final Class<?> type = parameterTypes[index];
+            if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray()) {
+                /* Boon converts the items to the generic type of the parameter. */
+                argumentTypes = null;
+                break;
+            }
+            primitive[index] = type.isPrimitive();
+            argumentTypes[index] = type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+        }
+        this.argumentTypes = methodAccess.method().isVarArgs() ? null : argumentTypes;
+    }
+
+    private static MethodHandle createHandle(final Method method, final Object service) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(service);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount()).asType(SPREAD_TYPE);
+        } catch (Exception ex) {
+            logger.debug("Unable to create method handle for {}, using reflection", method, ex);
+            return null;
+        }
+    }
+
+    MethodAccess methodAccess() {
+        return methodAccess;
+    }
+
+    /**
+     * Invokes the method with arguments that already match the parameter types.
+     *
+     * @param args arguments
+     * @return return value, null for void methods
+     */
+    Object invoke(final Object[] args) {
+        if (handle == null) {
+            return methodAccess.invoke(service, args);
+        }
+        return invokeHandle(args == null ? NO_ARGS : args);
+    }
+
+    /**
+     * Invokes the method, coercing the arguments to the parameter types if needed.
+     *
+     * @param args arguments
+     * @return return value, null for void methods
+     */
+    Object invokeDynamic(final Object[] args) {
+        if (handle != null) {
+            if (argumentTypes != null && argumentTypes.length == 0) {
+                return invokeHandle(NO_ARGS);
+            }
+            if (matches(args)) {
+                return invokeHandle(args);
+            }
+        }
+        return methodAccess.invokeDynamic(service, args);
+    }
+
+    /**
+     * Same as MethodAccess.invokeDynamicObject, a list is the argument list and anything else is the only argument.
+     *
+     * @param body list of arguments or single argument
+     * @return return value, null for void methods
+     */
+    Object invokeDynamicObject(final Object body) {
+        if (body instanceof List) {
+            return invokeDynamic(((List<?>) body).toArray());
+        }
+        return invokeDynamic(new Object[]{body});
+    }
+
+    private boolean matches(final Object[] args) {
+        final Class<?>[] argumentTypes = this.argumentTypes;
+        if (argumentTypes == null || args == null || args.length != argumentTypes.length) {
+            return false;
+        }
+        for (int index = 0; index < args.length; index++) {
+            final Object arg = args[index];
+            if (arg == null) {
+                if (primitive[index]) {
+                    return false;
+                }
+            } else if (!argumentTypes[index].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object invokeHandle(final Object[] args) {
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (Throwable ex) {
+            /* Same wrapping as MethodAccess.invoke so callers see the same errors. */
+            return Exceptions.handle(Object.class, ex, "unable to invoke method", methodAccess.method(),
+                    " on object ", service, "with arguments", args,
+                    "\nparameter types", methodAccess.parameterTypes(), "\nargument types are", args);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceMethodInvoker{" +
+                "method=" + methodAccess.method() +
+                ", methodHandle=" + (handle != null) +
+                '}';
+    }
+}
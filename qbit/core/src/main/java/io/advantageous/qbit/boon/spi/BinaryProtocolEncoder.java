@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.boon.json.JsonSerializer;
+import io.advantageous.boon.json.JsonSerializerFactory;
+import io.advantageous.boon.primitive.CharBuf;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.spi.ProtocolEncoder;
+import io.advantageous.qbit.util.MultiMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static io.advantageous.qbit.service.Protocol.*;
+
+/**
+ * Binary protocol encoder.
+ * <p>
+ * Addresses, object names, method names, headers and params go into a string table at the start of the frame
+ * and the messages refer to them by index, so a batch of calls to the same service sends each name once.
+ * Ids and timestamps are varints. Arguments and response bodies made of strings, numbers, booleans, lists and maps
+ * are written as typed binary values, anything else is written as JSON.
+ * <p>
+ * The String methods use the text protocol.
+ */
+public class BinaryProtocolEncoder implements ProtocolEncoder {
+
+    private final BoonProtocolEncoder textEncoder = new BoonProtocolEncoder();
+
+    private final ThreadLocal<JsonSerializer> jsonSerializer = new ThreadLocal<JsonSerializer>() {
+        @Override
+        protected JsonSerializer initialValue() {
+            return new JsonSerializerFactory().addFilter((parent, fieldAccess) -> !fieldAccess.name().equals("metaClass")).create();
+        }
+    };
+
+    private final ThreadLocal<Frame> frameRef = new ThreadLocal<Frame>() {
+        @Override
+        protected Frame initialValue() {
+            return new Frame();
+        }
+    };
+
+
+    @Override
+    public String encodeResponses(String returnAddress, Collection<Response<Object>> responses) {
+        return textEncoder.encodeResponses(returnAddress, responses);
+    }
+
+    @Override
+    public String encodeMethodCalls(String returnAddress, Collection<MethodCall<Object>> methodCalls) {
+        return textEncoder.encodeMethodCalls(returnAddress, methodCalls);
+    }
+
+    @Override
+    public byte[] encodeResponsesAsBytes(String returnAddress, Collection<Response<Object>> responses) {
+        final Frame frame = frameRef.get();
+        frame.start(returnAddress, responses.size());
+        for (Response<Object> response : responses) {
+            encodeResponse(frame, response);
+        }
+        return frame.finish();
+    }
+
+    @Override
+    public byte[] encodeMethodCallsAsBytes(String returnAddress, Collection<MethodCall<Object>> methodCalls) {
+        final Frame frame = frameRef.get();
+        frame.start(returnAddress, methodCalls.size());
+        for (MethodCall<Object> methodCall : methodCalls) {
+            encodeMethodCall(frame, methodCall);
+        }
+        return frame.finish();
+    }
+
+    private void encodeMethodCall(final Frame frame, final MethodCall<Object> methodCall) {
+        final Output out = frame.body;
+        out.writeByte(PROTOCOL_MESSAGE_TYPE_METHOD);
+        out.writeVarLong(zigZag(methodCall.id()));
+        out.writeVarInt(frame.ref(methodCall.address()));
+        encodeHeadersAndParams(frame, methodCall.headers());
+        encodeHeadersAndParams(frame, methodCall.params());
+        out.writeVarInt(frame.ref(methodCall.objectName()));
+        out.writeVarInt(frame.ref(methodCall.name()));
+        out.writeVarLong(zigZag(methodCall.timestamp()));
+
+        final Object body = methodCall.body();
+        if (body instanceof Collection) {
+            final Collection<?> args = (Collection<?>) body;
+            out.writeVarInt(args.size());
+            for (Object arg : args) {
+                encodeValue(out, arg);
+            }
+        } else if (body instanceof Object[]) {
+            final Object[] args = (Object[]) body;
+            out.writeVarInt(args.length);
+            //noinspection ForLoopReplaceableByForEach
+            for (int index = 0; index < args.length; index++) {
+                encodeValue(out, args[index]);
+            }
+        } else if (body != null) {
+            out.writeVarInt(1);
+            encodeValue(out, body);
+        } else {
+            out.writeVarInt(0);
+        }
+    }
+
+    private void encodeResponse(final Frame frame, final Response<Object> response) {
+        final Output out = frame.body;
+        out.writeByte(PROTOCOL_MESSAGE_TYPE_RESPONSE);
+        out.writeVarLong(zigZag(response.id()));
+        out.writeVarInt(frame.ref(response.address()));
+        out.writeVarLong(zigZag(response.timestamp()));
+        out.writeByte(response.wasErrors() ? 1 : 0);
+        encodeValue(out, response.body());
+    }
+
+    private void encodeHeadersAndParams(final Frame frame, final MultiMap<String, String> headerOrParams) {
+        final Output out = frame.body;
+        if (headerOrParams == null || headerOrParams.size() == 0) {
+            out.writeVarInt(0);
+            return;
+        }
+
+        final Map<? extends String, ? extends Collection<String>> map = headerOrParams.baseMap();
+        int count = 0;
+        for (Collection<String> values : map.values()) {
+            if (values.size() > 0) {
+                count++;
+            }
+        }
+        out.writeVarInt(count);
+        for (Map.Entry<? extends String, ? extends Collection<String>> entry : map.entrySet()) {
+            final Collection<String> values = entry.getValue();
+            if (values.size() == 0) {
+                continue;
+            }
+            out.writeVarInt(frame.ref(entry.getKey()));
+            out.writeVarInt(values.size());
+            for (String value : values) {
+                out.writeVarInt(frame.ref(value));
+            }
+        }
+    }
+
+    private void encodeValue(final Output out, final Object value) {
+        if (value == null) {
+            out.writeByte(BINARY_TYPE_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(BINARY_TYPE_STRING);
+            out.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? BINARY_TYPE_TRUE : BINARY_TYPE_FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(BINARY_TYPE_INT);
+            out.writeVarLong(zigZag(((Number) value).intValue()));
+        } else if (value instanceof Long) {
+            out.writeByte(BINARY_TYPE_LONG);
+            out.writeVarLong(zigZag((Long) value));
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(BINARY_TYPE_DOUBLE);
+            out.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof Enum) {
+            out.writeByte(BINARY_TYPE_STRING);
+            out.writeString(((Enum) value).name());
+        } else if (value instanceof Character) {
+            out.writeByte(BINARY_TYPE_STRING);
+            out.writeString(value.toString());
+        } else if (value instanceof Collection) {
+            final Collection<?> list = (Collection<?>) value;
+            out.writeByte(BINARY_TYPE_LIST);
+            out.writeVarInt(list.size());
+            for (Object item : list) {
+                encodeValue(out, item);
+            }
+        } else if (value instanceof Object[]) {
+            final Object[] array = (Object[]) value;
+            out.writeByte(BINARY_TYPE_LIST);
+            out.writeVarInt(array.length);
+            //noinspection ForLoopReplaceableByForEach
+            for (int index = 0; index < array.length; index++) {
+                encodeValue(out, array[index]);
+            }
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(BINARY_TYPE_MAP);
+            out.writeVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeString(String.valueOf(entry.getKey()));
+                encodeValue(out, entry.getValue());
+            }
+        } else {
+            /* Beans and anything else Boon knows how to serialize. */
+            final CharBuf json = CharBuf.create(64);
+            jsonSerializer.get().serialize(json, value);
+            out.writeByte(BINARY_TYPE_JSON);
+            out.writeString(json.toString());
+        }
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Frame being encoded, the string table is only known once the messages are written so they go into body first.
+     */
+    private static final class Frame {
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Output header = new Output();
+        private final Output body = new Output();
+        private String returnAddress;
+        private int messageCount;
+
+        void start(final String returnAddress, final int messageCount) {
+            stringIndex.clear();
+            strings.clear();
+            header.reset();
+            body.reset();
+            this.returnAddress = returnAddress;
+            this.messageCount = messageCount;
+        }
+
+        /**
+         * @return index in the string table plus one, zero for null
+         */
+        int ref(final String string) {
+            if (string == null) {
+                return 0;
+            }
+            Integer index = stringIndex.get(string);
+            if (index == null) {
+                strings.add(string);
+                index = strings.size();
+                stringIndex.put(string, index);
+            }
+            return index;
+        }
+
+        byte[] finish() {
+            final int returnAddressRef = ref(returnAddress);
+            header.writeByte(BINARY_PROTOCOL_MARKER);
+            header.writeByte(BINARY_PROTOCOL_VERSION);
+            header.writeVarInt(strings.size());
+            for (String string : strings) {
+                header.writeString(string);
+            }
+            header.writeVarInt(returnAddressRef);
+            header.writeVarInt(messageCount);
+
+            final byte[] bytes = Arrays.copyOf(header.buffer, header.length + body.length);
+            System.arraycopy(body.buffer, 0, bytes, header.length, body.length);
+            return bytes;
+        }
+    }
+
+    private static final class Output {
+        /**
+         * Buffers that grew past this are not kept for the next frame.
+         */
+        private static final int MAX_RETAINED = 1024 * 1024;
+
+        private byte[] buffer = new byte[1024];
+        private int length;
+
+        void reset() {
+            length = 0;
+            if (buffer.length > MAX_RETAINED) {
+                buffer = new byte[1024];
+            }
+        }
+
+        private void ensure(final int size) {
+            if (length + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + size));
+            }
+        }
+
+        void writeByte(final int value) {
+            ensure(1);
+            buffer[length++] = (byte) value;
+        }
+
+        void writeVarInt(final int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        void writeLong(final long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeString(final String string) {
+            final int size = string.length();
+            for (int index = 0; index < size; index++) {
+                if (string.charAt(index) >= 0x80) {
+                    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(bytes.length);
+                    ensure(bytes.length);
+                    System.arraycopy(bytes, 0, buffer, length, bytes.length);
+                    length += bytes.length;
+                    return;
+                }
+            }
+            /* ASCII, one byte per char. */
+            writeVarInt(size);
+            ensure(size);
+            for (int index = 0; index < size; index++) {
+                buffer[length++] = (byte) string.charAt(index);
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.boon.json.JsonParserAndMapper;
+import io.advantageous.boon.json.JsonParserFactory;
+import io.advantageous.qbit.message.Message;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.impl.ResponseImpl;
+import io.advantageous.qbit.spi.ProtocolParser;
+import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.MultiMapImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static io.advantageous.boon.core.Exceptions.die;
+import static io.advantageous.qbit.service.Protocol.*;
+
+/**
+ * Parses frames written by BinaryProtocolEncoder.
+ * Text frames are handed to BoonProtocolParser so one parser can serve clients that use either protocol.
+ * <p>
+ * This parser is thread safe.
+ */
+public class BinaryProtocolParser implements ProtocolParser {
+
+    /**
+     * Upper bound for any element count read from a frame, and for how deep lists and maps may nest.
+     * Counts are also checked against the bytes left in the frame since every element takes at least one byte.
+     */
+    private static final int MAX_COUNT = 1 << 20;
+    private static final int MAX_DEPTH = 64;
+
+    private final ThreadLocal<BoonProtocolParser> textParser = new ThreadLocal<BoonProtocolParser>() {
+        @Override
+        protected BoonProtocolParser initialValue() {
+            return new BoonProtocolParser();
+        }
+    };
+
+    private final ThreadLocal<JsonParserAndMapper> jsonParser = new ThreadLocal<JsonParserAndMapper>() {
+        @Override
+        protected JsonParserAndMapper initialValue() {
+            return new JsonParserFactory().create();
+        }
+    };
+
+    /**
+     * Checks the frame marker.
+     *
+     * @param body frame bytes
+     * @return true if the bytes are a binary protocol frame
+     */
+    public static boolean isBinaryFrame(final byte[] body) {
+        return body != null && body.length > 1 && body[0] == BINARY_PROTOCOL_MARKER;
+    }
+
+    @Override
+    public List<Message<Object>> parse(String address, String body) {
+        return textParser.get().parse(address, body);
+    }
+
+    @Override
+    public List<MethodCall<Object>> parseMethodCalls(String addressPrefix, String body) {
+        return textParser.get().parseMethodCalls(addressPrefix, body);
+    }
+
+    @Override
+    public List<Response<Object>> parseResponses(String addressPrefix, String body) {
+        return textParser.get().parseResponses(addressPrefix, body);
+    }
+
+    @Override
+    public List<Message<Object>> parse(final String address, final byte[] body) {
+        if (!isBinaryFrame(body)) {
+            return ProtocolParser.super.parse(address, body);
+        }
+
+        final Input in = new Input(body);
+        in.position = 1;
+        final int version = in.readByte();
+        if (version != BINARY_PROTOCOL_VERSION) {
+            die("Unsupported binary protocol version", version);
+        }
+
+        try {
+            final String[] strings = new String[in.readCount()];
+            for (int index = 0; index < strings.length; index++) {
+                strings[index] = in.readString();
+            }
+            final String returnAddress = string(strings, in.readVarInt());
+
+            final int count = in.readCount();
+            final List<Message<Object>> messages = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                final int messageType = in.readByte();
+                if (messageType == PROTOCOL_MESSAGE_TYPE_METHOD) {
+                    messages.add(parseMethodCall(in, strings, returnAddress));
+                } else if (messageType == PROTOCOL_MESSAGE_TYPE_RESPONSE) {
+                    messages.add(parseResponse(in, strings, returnAddress));
+                } else {
+                    die("Unsupported message type", messageType);
+                }
+            }
+            return messages;
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException ex) {
+            return die(List.class, "Binary protocol frame is truncated or corrupt", ex);
+        }
+    }
+
+    private MethodCall<Object> parseMethodCall(final Input in, final String[] strings, final String returnAddress) {
+        final long id = unZigZag(in.readVarLong());
+        final String address = string(strings, in.readVarInt());
+        final MultiMap<String, String> headers = parseHeadersAndParams(in, strings);
+        final MultiMap<String, String> params = parseHeadersAndParams(in, strings);
+        final String objectName = string(strings, in.readVarInt());
+        final String methodName = string(strings, in.readVarInt());
+        final long timestamp = unZigZag(in.readVarLong());
+
+        final Object[] args = new Object[in.readCount()];
+        for (int index = 0; index < args.length; index++) {
+            args[index] = parseValue(in, 0);
+        }
+
+        return new MethodCallBuilder().setId(id).setAddress(address).setReturnAddress(returnAddress)
+                .setHeaders(headers).setObjectName(objectName).setName(methodName).setTimestamp(timestamp)
+                .setBody(args).setParams(params).build();
+    }
+
+    private Response<Object> parseResponse(final Input in, final String[] strings, final String returnAddress) {
+        final long id = unZigZag(in.readVarLong());
+        final String address = string(strings, in.readVarInt());
+        final long timestamp = unZigZag(in.readVarLong());
+        final boolean wasErrors = in.readByte() == 1;
+        final Object body = parseValue(in, 0);
+        return new ResponseImpl<>(id, timestamp, address, returnAddress, null, body, null, wasErrors);
+    }
+
+    private MultiMap<String, String> parseHeadersAndParams(final Input in, final String[] strings) {
+        final int count = in.readCount();
+        if (count == 0) {
+            return null;
+        }
+        final MultiMap<String, String> multiMap = new MultiMapImpl<>();
+        for (int index = 0; index < count; index++) {
+            final String key = string(strings, in.readVarInt());
+            final int valueCount = in.readCount();
+            for (int valueIndex = 0; valueIndex < valueCount; valueIndex++) {
+                multiMap.add(key, string(strings, in.readVarInt()));
+            }
+        }
+        return multiMap;
+    }
+
+    private Object parseValue(final Input in, final int depth) {
+        final int type = in.readByte();
+        switch (type) {
+            case BINARY_TYPE_NULL:
+                return null;
+            case BINARY_TYPE_TRUE:
+                return Boolean.TRUE;
+            case BINARY_TYPE_FALSE:
+                return Boolean.FALSE;
+            case BINARY_TYPE_INT:
+                return (int) unZigZag(in.readVarLong());
+            case BINARY_TYPE_LONG:
+                return unZigZag(in.readVarLong());
+            case BINARY_TYPE_DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case BINARY_TYPE_STRING:
+                return in.readString();
+            case BINARY_TYPE_LIST: {
+                final int size = in.readCount();
+                final List<Object> list = new ArrayList<>(size);
+                for (int index = 0; index < size; index++) {
+                    list.add(parseValue(in, nested(depth)));
+                }
+                return list;
+            }
+            case BINARY_TYPE_MAP: {
+                final int size = in.readCount();
+                final Map<String, Object> map = new LinkedHashMap<>(size * 2);
+                for (int index = 0; index < size; index++) {
+                    final String key = in.readString();
+                    map.put(key, parseValue(in, nested(depth)));
+                }
+                return map;
+            }
+            case BINARY_TYPE_JSON:
+                return jsonParser.get().parse(in.readString());
+            default:
+                return die(Object.class, "Unknown binary protocol value type", type);
+        }
+    }
+
+    private static int nested(final int depth) {
+        if (depth >= MAX_DEPTH) {
+            throw new IndexOutOfBoundsException("values nested deeper than " + MAX_DEPTH);
+        }
+        return depth + 1;
+    }
+
+    private static String string(final String[] strings, final int ref) {
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        Input(final byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            return buffer[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        /**
+         * Reads an element count and rejects it before anything gets sized from it.
+         */
+        int readCount() {
+            final long count = readVarLong();
+            if (count < 0 || count > MAX_COUNT || count > buffer.length - position) {
+                throw new IndexOutOfBoundsException("element count " + count);
+            }
+            return (int) count;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0 && shift < 64);
+            return value;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int index = 0; index < 8; index++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String readString() {
+            final int length = readVarInt();
+            if (length < 0 || position + length > buffer.length) {
+                throw new IndexOutOfBoundsException("string length " + length);
+            }
+            final String string = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return string;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import io.advantageous.boon.json.JsonParserAndMapper;
 import io.advantageous.boon.json.JsonParserFactory;
 import io.advantageous.boon.json.JsonSerializer;
 import io.advantageous.boon.json.JsonSerializerFactory;
+import io.advantageous.boon.primitive.CharBuf;
 import io.advantageous.qbit.json.JsonMapper;
 
 import java.util.*;
@@ -69,6 +70,22 @@ public class BoonJsonMapper implements JsonMapper {
     };
 
 
+    /**
+     * Largest buffer kept for the next toJsonBytes call, bigger ones are dropped after use.
+     */
+    private static final int MAX_RECYCLED_BUFFER = 1024 * 1024;
+
+    /**
+     * Holds the CharBuf that toJsonBytes serializes into, reused between calls.
+     */
+    private final ThreadLocal<CharBuf> jsonBuffer = new ThreadLocal<CharBuf>() {
+        @Override
+        protected CharBuf initialValue() {
+            return CharBuf.create(1024);
+        }
+    };
+
+
     /**
      * Holds the Mapper to convert Maps into Java objects.
      */
@@ -145,6 +162,73 @@ public class BoonJsonMapper implements JsonMapper {
     }
 
 
+    /**
+     * Converts from Object into UTF-8 JSON bytes.
+     * The object is serialized into a per thread buffer and encoded from there, no String is made.
+     *
+     * @param object object to convert to JSON.
+     * @return json bytes
+     */
+    @Override
+    public byte[] toJsonBytes(Object object) {
+        final CharBuf buffer = jsonBuffer.get();
+        buffer.recycle();
+        serializer.get().serialize(buffer, object);
+        final int length = buffer.length();
+        final char[] chars = buffer.readForRecycle();
+        try {
+            return encodeUTF8(chars, length);
+        } finally {
+            if (chars.length > MAX_RECYCLED_BUFFER) {
+                jsonBuffer.remove();
+            }
+        }
+    }
+
+    private static byte[] encodeUTF8(final char[] chars, final int length) {
+        int size = 0;
+        for (int index = 0; index < length; index++) {
+            final char c = chars[index];
+            if (c < 0x80) {
+                size++;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(chars[index + 1])) {
+                size += 4;
+                index++;
+            } else {
+                size += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+
+        final byte[] bytes = new byte[size];
+        int position = 0;
+        for (int index = 0; index < length; index++) {
+            final char c = chars[index];
+            if (c < 0x80) {
+                bytes[position++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (c >> 6));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(chars[index + 1])) {
+                final int codePoint = Character.toCodePoint(c, chars[++index]);
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                /* Unpaired surrogate, same replacement as String.getBytes. */
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | (c >> 12));
+                bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return bytes;
+    }
+
+
     /**
      * Converts from a json string using componentClassKey and componentClassValue as a guide to a Map.
      *
@@ -49,6 +49,7 @@ public class ClientBuilder {
     private String serviceName;
 
     private BeforeMethodSent beforeMethodSent;
+    private boolean binaryProtocol;
 
     public ClientBuilder(PropertyResolver propertyResolver) {
 
@@ -63,6 +64,7 @@ public class ClientBuilder {
         this.protocolBatchSize = propertyResolver.getIntegerProperty("protocolBatchSize", protocolBatchSize);
         httpClientBuilder.setTimeOutInMilliseconds(propertyResolver.getIntegerProperty("flushInterval", 500));
         this.uri = propertyResolver.getStringProperty("uri", "/services");
+        this.binaryProtocol = propertyResolver.getBooleanProperty("binaryProtocol", false);
         httpClientBuilder.setTimeOutInMilliseconds(propertyResolver.getIntegerProperty("timeoutSeconds", 30) * 1000);
 
     }
@@ -238,6 +240,22 @@ public class ClientBuilder {
     }
 
 
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
+    }
+
+    /**
+     * Send method calls over the WebSocket as binary protocol frames instead of text.
+     *
+     * @param binaryProtocol use the binary protocol
+     * @return this builder
+     */
+    public ClientBuilder setBinaryProtocol(boolean binaryProtocol) {
+        this.binaryProtocol = binaryProtocol;
+        return this;
+    }
+
+
     public HttpClientBuilder getHttpClientBuilder() {
         if (httpClientBuilder == null) {
             httpClientBuilder = HttpClientBuilder.httpClientBuilder();
@@ -298,7 +316,8 @@ public class ClientBuilder {
 
         //noinspection UnnecessaryLocalVariable
         @SuppressWarnings("UnnecessaryLocalVariable")
-        Client client = getFactory().createClient(getUri(), httpClientBuilder.build(), getProtocolBatchSize(), getBeforeMethodSent());
+        Client client = getFactory().createClient(getUri(), httpClientBuilder.build(), getProtocolBatchSize(),
+                getBeforeMethodSent(), isBinaryProtocol());
         return client;
 
     }
@@ -34,6 +34,7 @@ public class ScheduledExecutorBuilder {
     private Runnable runnable;
     private int priority = Thread.NORM_PRIORITY;
     private boolean daemon;
+    private boolean virtualThreads = VirtualThreads.ENABLED;
 
     public static ScheduledExecutorBuilder scheduledExecutorBuilder() {
         return new ScheduledExecutorBuilder();
@@ -48,6 +49,22 @@ public class ScheduledExecutorBuilder {
         return this;
     }
 
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Run on a virtual thread if the JVM supports them.
+     * Virtual threads are always daemon threads and ignore priority.
+     *
+     * @param virtualThreads true to use a virtual thread
+     * @return this
+     */
+    public ScheduledExecutorBuilder setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
     public int getPriority() {
         return priority;
     }
@@ -114,7 +131,8 @@ public class ScheduledExecutorBuilder {
 
     public ExecutorContext build() {
         return new ScheduledThreadContext(this.getRunnable(), this.getInitialDelay(),
-                this.getPeriod(), this.getUnit(), this.getThreadName(), this.getDescription(), priority, daemon
+                this.getPeriod(), this.getUnit(), this.getThreadName(), this.getDescription(), priority, daemon,
+                virtualThreads
         );
     }
 }
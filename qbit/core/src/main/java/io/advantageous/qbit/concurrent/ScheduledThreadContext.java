@@ -37,6 +37,7 @@ public class ScheduledThreadContext implements ExecutorContext {
     private final boolean debug = GlobalConstants.DEBUG || logger.isDebugEnabled();
     private final int priority;
     private final boolean daemon;
+    private final boolean virtualThreads;
     private final Runnable runnable;
     private final int initialDelay;
     private final int period;
@@ -55,6 +56,18 @@ public class ScheduledThreadContext implements ExecutorContext {
                                   final String description,
                                   int priority,
                                   boolean daemon) {
+        this(runnable, initialDelay, period, unit, threadName, description, priority, daemon, false);
+    }
+
+    public ScheduledThreadContext(final Runnable runnable,
+                                  final int initialDelay,
+                                  final int period,
+                                  final TimeUnit unit,
+                                  final String threadName,
+                                  final String description,
+                                  int priority,
+                                  boolean daemon,
+                                  boolean virtualThreads) {
         this.initialDelay = initialDelay;
         this.period = period;
         this.unit = unit;
@@ -63,6 +76,7 @@ public class ScheduledThreadContext implements ExecutorContext {
         this.description = description;
         this.priority = priority;
         this.daemon = daemon;
+        this.virtualThreads = virtualThreads;
     }
 
     @Override
@@ -75,15 +89,19 @@ public class ScheduledThreadContext implements ExecutorContext {
         if (monitor != null) {
             throw new IllegalStateException(description + " Must be stopped before it can be started");
         }
-        monitor = Executors.newScheduledThreadPool(1,
-                runnable -> {
-                    Thread thread = new Thread(runnable);
-                    thread.setName(threadName);
-                    thread.setPriority(priority);
-                    thread.setDaemon(daemon);
-                    return thread;
-                }
-        );
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            monitor = Executors.newScheduledThreadPool(1, VirtualThreads.threadFactory(threadName));
+        } else {
+            monitor = Executors.newScheduledThreadPool(1,
+                    runnable -> {
+                        Thread thread = new Thread(runnable);
+                        thread.setName(threadName);
+                        thread.setPriority(priority);
+                        thread.setDaemon(daemon);
+                        return thread;
+                    }
+            );
+        }
         future = monitor.scheduleAtFixedRate(() -> {
             try {
                 runnable.run();
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.concurrent;
+
+import io.advantageous.boon.core.Sys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads when the JVM has them (Java 21+), and platform threads when it does not.
+ * <p>
+ * QBit is built for Java 8 so the virtual thread API is looked up reflectively once.
+ * Set the system property QBIT_VIRTUAL_THREADS=true to make virtual threads the default
+ * for queue listeners and service discovery.
+ */
+public final class VirtualThreads {
+
+    /**
+     * Default for builders that can use virtual threads.
+     */
+    public static final boolean ENABLED = Sys.sysProp("QBIT_VIRTUAL_THREADS", false);
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final boolean SUPPORTED;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        boolean supported;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            /* On 19 and 20 this throws unless preview features are enabled. */
+            builderFactory.invoke(ofVirtual.invoke(null));
+            supported = true;
+        } catch (Exception | LinkageError ex) {
+            supported = false;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        SUPPORTED = supported;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if this JVM can create virtual threads
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Thread factory for virtual threads named name-0, name-1, ...
+     * Falls back to platform threads if virtual threads are not supported.
+     *
+     * @param name thread name prefix
+     * @return thread factory
+     */
+    public static ThreadFactory threadFactory(final String name) {
+        if (SUPPORTED) {
+            try {
+                final Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (Exception ex) {
+                logger.warn("Unable to create virtual thread factory, using platform threads for " + name, ex);
+            }
+        }
+        return runnable -> new Thread(runnable, name);
+    }
+
+    /**
+     * Executor that starts a new virtual thread for every task.
+     * Falls back to a cached thread pool if virtual threads are not supported.
+     *
+     * @param name thread name prefix
+     * @return executor service
+     */
+    public static ExecutorService newExecutorService(final String name) {
+        if (SUPPORTED) {
+            try {
+                return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory(name));
+            } catch (Exception ex) {
+                logger.warn("Unable to create virtual thread executor, using platform threads for " + name, ex);
+            }
+        }
+        return Executors.newCachedThreadPool(runnable -> new Thread(runnable, name));
+    }
+}
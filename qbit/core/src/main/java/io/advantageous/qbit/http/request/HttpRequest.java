@@ -21,6 +21,9 @@ package io.advantageous.qbit.http.request;
 import io.advantageous.qbit.message.Request;
 import io.advantageous.qbit.util.MultiMap;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -51,6 +54,11 @@ public class HttpRequest implements Request<Object> {
     private MultiMap<String, String> formParams;
     private volatile boolean handled;
     private Object body;
+    /**
+     * What the body supplier returned. Transports can supply a ByteBuffer view over their own buffer.
+     */
+    private Object rawBody;
+    private boolean rawBodyLoaded;
 
     public HttpRequest(final long id,
                        final String uri,
@@ -143,14 +151,70 @@ public class HttpRequest implements Request<Object> {
         return messageId;
     }
 
+    /**
+     * The body as byte[] or String.
+     * A ByteBuffer from the transport is copied into a byte[] the first time this is called.
+     *
+     * @return body
+     */
     @Override
     public Object body() {
         if (body == null) {
-            body = bodySupplier.get();
+            final Object raw = rawBody();
+            body = raw instanceof ByteBuffer ? toBytes((ByteBuffer) raw) : raw;
         }
         return body;
     }
 
+    private Object rawBody() {
+        if (!rawBodyLoaded) {
+            rawBody = bodySupplier.get();
+            rawBodyLoaded = true;
+        }
+        return rawBody;
+    }
+
+    private static byte[] toBytes(final ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * A view of the body that shares memory with the transport's buffer when the transport supplies one,
+     * so the body can be read or forwarded without copying it. Do not write to the buffer.
+     *
+     * @return body bytes, or null if there is no body
+     */
+    public ByteBuffer getBodyAsByteBuffer() {
+        final Object raw = rawBody();
+        if (raw == null) {
+            return null;
+        }
+        if (raw instanceof ByteBuffer) {
+            return ((ByteBuffer) raw).duplicate();
+        }
+        return ByteBuffer.wrap(getBody());
+    }
+
+    /**
+     * @return stream over the body, empty if there is no body
+     */
+    public InputStream getBodyAsStream() {
+        final ByteBuffer buffer = getBodyAsByteBuffer();
+        if (buffer == null) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (buffer.hasArray()) {
+            return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return new ByteArrayInputStream(toBytes(buffer));
+    }
+
     @Override
     public boolean isSingleton() {
         return false;
@@ -173,6 +237,12 @@ public class HttpRequest implements Request<Object> {
     }
 
     public String getBodyAsString() {
+        final Object raw = rawBody();
+        if (raw instanceof ByteBuffer && ((ByteBuffer) raw).hasArray()) {
+            final ByteBuffer buffer = (ByteBuffer) raw;
+            return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                    StandardCharsets.UTF_8);
+        }
         final Object body = body();
         if (body == null) {
             return null;
@@ -527,8 +527,8 @@ public class HttpRequestBuilder {
             });
         }
 
-        final byte[] body = request.getBody();
-        this.setBodyBytes(body);
+        /* Share the body instead of copying it. */
+        this.setBodySupplier(request::getBodyAsByteBuffer);
         this.setParams(request.getParams());
         this.setUri(request.getUri());
 
@@ -18,6 +18,7 @@
 
 package io.advantageous.qbit.json;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -66,6 +67,17 @@ public interface JsonMapper {
      */
     String toJson(Object object);
 
+    /**
+     * Converts from Object into UTF-8 encoded JSON bytes.
+     * Implementations can override this to skip building the JSON String.
+     *
+     * @param object object to convert to JSON.
+     * @return json bytes
+     */
+    default byte[] toJsonBytes(Object object) {
+        return toJson(object).getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Converts from a json string using componentClassKey and componentClassValue as a guide to a Map.
      *
@@ -18,6 +18,7 @@
 
 package io.advantageous.qbit.message;
 
+import io.advantageous.qbit.message.impl.MessagePool;
 import io.advantageous.qbit.message.impl.MethodCallImpl;
 import io.advantageous.qbit.message.impl.MethodCallLocal;
 import io.advantageous.qbit.reactive.Callback;
@@ -210,8 +211,11 @@ public class MethodCallBuilder {
         if (isLocal()) {
             return new MethodCallLocal(getName(), getReturnAddress(), getTimestamp(), getId(), getBodyArgs(), getCallback(), getOriginatingRequest());
         } else {
-            return new MethodCallImpl(getTimestamp(), getId(), getName(), getAddress(), getParams(), getHeaders(),
-                    getBody(), getObjectName(), getReturnAddress(), getOriginatingRequest(), callback);
+            return MessagePool.ENABLED ?
+                    MessagePool.methodCall(getTimestamp(), getId(), getName(), getAddress(), getParams(), getHeaders(),
+                            getBody(), getObjectName(), getReturnAddress(), getOriginatingRequest(), callback) :
+                    new MethodCallImpl(getTimestamp(), getId(), getName(), getAddress(), getParams(), getHeaders(),
+                            getBody(), getObjectName(), getReturnAddress(), getOriginatingRequest(), callback);
         }
 
     }
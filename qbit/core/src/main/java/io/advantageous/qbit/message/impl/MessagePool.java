@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.message.impl;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.GlobalConstants;
+import io.advantageous.qbit.message.Request;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.util.MultiMap;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per thread pools of MethodCallImpl and ResponseImpl for in-process calls.
+ * <p>
+ * This is off by default. Turn it on with the system property QBIT_RECYCLE_MESSAGES=true.
+ * When it is on, MethodCallBuilder and ResponseImpl.response/error take messages from the pool of the calling thread.
+ * The CallbackManager gives the response and its method call back once the callback has fired.
+ * Only turn this on if your services do not hold on to a MethodCall or Response after the call returns.
+ * <p>
+ * Messages are usually released on a different thread than the one that took them.
+ * Each message remembers the pool it came from and goes back to that pool. A release from another thread
+ * pushes onto the pool's lock free return stack, and the owning thread drains that stack when its own free list is empty.
+ * <p>
+ * Set QBIT_DEBUG=true or QBIT_RECYCLE_MESSAGES_CHECK=true to throw an IllegalStateException
+ * when a message is used after it was released or is released twice.
+ */
+public final class MessagePool {
+
+    public static final boolean ENABLED = Sys.sysProp("QBIT_RECYCLE_MESSAGES", false);
+
+    static final boolean CHECK_RELEASED = GlobalConstants.DEBUG || Sys.sysProp("QBIT_RECYCLE_MESSAGES_CHECK", false);
+
+    /**
+     * Caps how many free messages of one type a single pool holds.
+     */
+    private static final int MAX_POOL_SIZE = Sys.sysProp("QBIT_RECYCLE_MESSAGES_POOL_SIZE", 1024);
+
+    private static final ThreadLocal<MethodCallPool> methodCalls = ThreadLocal.withInitial(MethodCallPool::new);
+
+    private static final ThreadLocal<ResponsePool> responses = ThreadLocal.withInitial(ResponsePool::new);
+
+    private MessagePool() {
+    }
+
+    /**
+     * @return a method call from the pool of this thread
+     */
+    public static MethodCallImpl methodCall(long timestamp, long id, String name, String address,
+                                            MultiMap<String, String> params, MultiMap<String, String> headers,
+                                            Object body, String objectName, String returnAddress,
+                                            Request<Object> originatingRequest, Callback<Object> callback) {
+        final MethodCallPool pool = methodCalls.get();
+        MethodCallImpl methodCall = pool.poll();
+        if (methodCall == null) {
+            methodCall = new MethodCallImpl();
+            methodCall.pool = pool;
+        }
+        methodCall.init(timestamp, id, name, address, params, headers, body, objectName, returnAddress,
+                originatingRequest, callback);
+        return methodCall;
+    }
+
+    /**
+     * @return a response from the pool of this thread
+     */
+    public static ResponseImpl<Object> response(long id, long timestamp, String address, String returnAddress,
+                                                Object body, Request<Object> request, boolean errors) {
+        final ResponsePool pool = responses.get();
+        ResponseImpl<Object> response = pool.poll();
+        if (response == null) {
+            response = new ResponseImpl<>();
+            response.pool = pool;
+        }
+        response.init(id, timestamp, address, returnAddress, null, body, request, errors);
+        return response;
+    }
+
+    /**
+     * Give a response and the method call it answers back to the pools they were taken from.
+     * Messages that did not come from a pool are left alone.
+     *
+     * @param response response whose callback has fired
+     */
+    public static void release(final Response<Object> response) {
+        if (!(response instanceof ResponseImpl)) {
+            return;
+        }
+        @SuppressWarnings("unchecked") final ResponseImpl<Object> responseImpl = (ResponseImpl<Object>) response;
+        final Request<Object> request = responseImpl.request();
+
+        if (responseImpl.release()) {
+            responseImpl.pool.giveBack(responseImpl);
+        }
+
+        if (request instanceof MethodCallImpl) {
+            final MethodCallImpl methodCall = (MethodCallImpl) request;
+            if (methodCall.release()) {
+                methodCall.pool.giveBack(methodCall);
+            }
+        }
+    }
+
+    /**
+     * Free list owned by one thread plus a stack that any thread can push returned messages onto.
+     * The stack is linked through the messages themselves so giving a message back does not allocate.
+     */
+    abstract static class Pool<T> {
+
+        private final Thread owner = Thread.currentThread();
+        private final ArrayDeque<T> free = new ArrayDeque<>();
+        private final AtomicReference<T> returned = new AtomicReference<>();
+        private final AtomicInteger returnedCount = new AtomicInteger();
+
+        abstract T next(T item);
+
+        abstract void next(T item, T next);
+
+        /* Only called by the owning thread. */
+        T poll() {
+            final T item = free.poll();
+            if (item != null || returned.get() == null) {
+                return item;
+            }
+            T head = returned.getAndSet(null);
+            int drained = 0;
+            while (head != null) {
+                final T next = next(head);
+                next(head, null);
+                free.push(head);
+                head = next;
+                drained++;
+            }
+            returnedCount.addAndGet(-drained);
+            return free.poll();
+        }
+
+        void giveBack(final T item) {
+            if (Thread.currentThread() == owner) {
+                if (free.size() < MAX_POOL_SIZE) {
+                    free.push(item);
+                }
+                return;
+            }
+            if (returnedCount.incrementAndGet() > MAX_POOL_SIZE) {
+                returnedCount.decrementAndGet();
+                return;
+            }
+            T head;
+            do {
+                head = returned.get();
+                next(item, head);
+            } while (!returned.compareAndSet(head, item));
+        }
+    }
+
+    static final class MethodCallPool extends Pool<MethodCallImpl> {
+
+        @Override
+        MethodCallImpl next(final MethodCallImpl item) {
+            return item.poolNext;
+        }
+
+        @Override
+        void next(final MethodCallImpl item, final MethodCallImpl next) {
+            item.poolNext = next;
+        }
+    }
+
+    static final class ResponsePool extends Pool<ResponseImpl<Object>> {
+
+        @Override
+        ResponseImpl<Object> next(final ResponseImpl<Object> item) {
+            return item.poolNext;
+        }
+
+        @Override
+        void next(final ResponseImpl<Object> item, final ResponseImpl<Object> next) {
+            item.poolNext = next;
+        }
+    }
+}
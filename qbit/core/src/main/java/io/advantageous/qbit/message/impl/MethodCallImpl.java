@@ -31,21 +31,37 @@ import io.advantageous.qbit.util.MultiMap;
 public class MethodCallImpl implements MethodCall<Object> {
 
 
-    private final long timestamp;
-    private final long id;
-    private final String name;
-    private final String address;
-    private final MultiMap<String, String> params;
-    private final MultiMap<String, String> headers;
-    private final Object body;
-    private final String objectName;
-    private final String returnAddress;
-    private final Callback<Object> callback;
+    /* Not final so pooled instances can be reused, see MessagePool. */
+    private long timestamp;
+    private long id;
+    private String name;
+    private String address;
+    private MultiMap<String, String> params;
+    private MultiMap<String, String> headers;
+    private Object body;
+    private String objectName;
+    private String returnAddress;
+    private Callback<Object> callback;
     private Object transformedBody;
     private Request<Object> originatingRequest;
+    private boolean pooled;
+    private boolean released;
+    /* Pool this call came from and the link used while it sits on that pool's return stack. */
+    transient MessagePool.MethodCallPool pool;
+    transient MethodCallImpl poolNext;
 
 
     public MethodCallImpl(long timestamp, long id, String name, String address, MultiMap<String, String> params, MultiMap<String, String> headers, Object body, String objectName, String returnAddress, Request<Object> originatingRequest, Callback<Object> callback) {
+        init(timestamp, id, name, address, params, headers, body, objectName, returnAddress, originatingRequest, callback);
+    }
+
+    MethodCallImpl() {
+        this.pooled = true;
+    }
+
+    void init(long timestamp, long id, String name, String address, MultiMap<String, String> params, MultiMap<String, String> headers, Object body, String objectName, String returnAddress, Request<Object> originatingRequest, Callback<Object> callback) {
+        this.released = false;
+        this.transformedBody = null;
         this.timestamp = timestamp;
         this.id = id;
         this.name = name;
@@ -59,6 +75,41 @@ public class MethodCallImpl implements MethodCall<Object> {
         this.callback = findCallback(callback);
     }
 
+    /**
+     * Clears the call so it can go back to the pool.
+     *
+     * @return true if this came from the pool and was not already released
+     */
+    boolean release() {
+        if (!pooled) {
+            return false;
+        }
+        if (released) {
+            if (MessagePool.CHECK_RELEASED) {
+                throw new IllegalStateException("MethodCall released twice " + id);
+            }
+            return false;
+        }
+        released = true;
+        name = null;
+        address = null;
+        params = null;
+        headers = null;
+        body = null;
+        transformedBody = null;
+        objectName = null;
+        returnAddress = null;
+        callback = null;
+        originatingRequest = null;
+        return true;
+    }
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("MethodCall used after it was released back to the pool");
+        }
+    }
+
     @Override
     public boolean hasCallback() {
         return callback != null;
@@ -66,6 +117,7 @@ public class MethodCallImpl implements MethodCall<Object> {
 
     @Override
     public Callback<Object> callback() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return callback;
     }
 
@@ -85,6 +137,7 @@ public class MethodCallImpl implements MethodCall<Object> {
 
     @Override
     public String name() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return name;
     }
 
@@ -110,21 +163,25 @@ public class MethodCallImpl implements MethodCall<Object> {
 
     @Override
     public Request<Object> originatingRequest() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return originatingRequest;
     }
 
     @Override
     public long id() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return id;
     }
 
     @Override
     public String address() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return address;
     }
 
     @Override
     public String returnAddress() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return returnAddress;
     }
 
@@ -140,6 +197,7 @@ public class MethodCallImpl implements MethodCall<Object> {
 
     @Override
     public Object body() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return transformedBody == null ? body : transformedBody;
     }
 
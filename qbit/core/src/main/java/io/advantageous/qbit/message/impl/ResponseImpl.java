@@ -32,18 +32,28 @@ import java.util.Map;
  */
 public class ResponseImpl<T> implements Response<T> {
 
-    private final Request<Object> request;
-    private final String address;
+    /* Not final so pooled instances can be reused, see MessagePool. */
+    private Request<Object> request;
+    private String address;
 
-    private final String returnAddress;
-    private final Map<String, Object> params;
-    private final Object body;
-    private final long id;
-    private final long timestamp;
+    private String returnAddress;
+    private Map<String, Object> params;
+    private Object body;
+    private long id;
+    private long timestamp;
 
     @JsonIgnore
     private transient Object transformedBody;
     private boolean errors;
+    @JsonIgnore
+    private transient boolean pooled;
+    @JsonIgnore
+    private transient boolean released;
+    /* Pool this response came from and the link used while it sits on that pool's return stack. */
+    @JsonIgnore
+    transient MessagePool.ResponsePool pool;
+    @JsonIgnore
+    transient ResponseImpl<Object> poolNext;
 
 
     public ResponseImpl(MethodCall<Object> methodCall, T returnValue) {
@@ -81,6 +91,17 @@ public class ResponseImpl<T> implements Response<T> {
 
     public ResponseImpl(long id, long timestamp, String address, String returnAddress, Map<String, Object> params,
                         Object body, Request<Object> request, boolean errors) {
+        init(id, timestamp, address, returnAddress, params, body, request, errors);
+    }
+
+    ResponseImpl() {
+        this.pooled = true;
+    }
+
+    void init(long id, long timestamp, String address, String returnAddress, Map<String, Object> params,
+              Object body, Request<Object> request, boolean errors) {
+        this.released = false;
+        this.transformedBody = null;
         this.address = address;
         this.params = params;
         this.body = body;
@@ -93,18 +114,29 @@ public class ResponseImpl<T> implements Response<T> {
 
     public static Response<Object> response(long id, long timestamp, String address, String returnAddress, Object body, Request<Object> requestForResponse, boolean errors) {
 
+        if (MessagePool.ENABLED) {
+            return MessagePool.response(id, timestamp, address, returnAddress, body, requestForResponse, errors);
+        }
         return new ResponseImpl<>(id, timestamp, address, returnAddress, null, body, requestForResponse, errors);
 
     }
 
     public static Response<Object> response(long id, long timestamp, String address, String returnAddress, Object body, Request<Object> requestForResponse) {
 
+        if (MessagePool.ENABLED) {
+            return MessagePool.response(id, timestamp, address, returnAddress, body, requestForResponse, false);
+        }
         return new ResponseImpl<>(id, timestamp, address, returnAddress, null, body, requestForResponse, false);
 
     }
 
     public static Response<Object> response(MethodCall<Object> methodCall, Object returnValue) {
 
+        if (MessagePool.ENABLED) {
+            return MessagePool.response(methodCall.id(), methodCall.timestamp(), methodCall.address(),
+                    methodCall.returnAddress(), returnValue, methodCall, false);
+        }
+
         //noinspection UnnecessaryLocalVariable
         @SuppressWarnings("UnnecessaryLocalVariable") ResponseImpl<Object> response = new ResponseImpl<>(methodCall, returnValue);
 
@@ -112,16 +144,54 @@ public class ResponseImpl<T> implements Response<T> {
     }
 
     public static Response<Object> error(MethodCall<Object> methodCall, Throwable error) {
+        if (MessagePool.ENABLED) {
+            return MessagePool.response(methodCall.id(), methodCall.timestamp(), methodCall.address(),
+                    methodCall.returnAddress(),
+                    error instanceof Exceptions.SoftenedException ? error.getCause() : error, methodCall, true);
+        }
         return new ResponseImpl<>(methodCall, error);
     }
 
+    /**
+     * Clears the response so it can go back to the pool.
+     *
+     * @return true if this came from the pool and was not already released
+     */
+    boolean release() {
+        if (!pooled) {
+            return false;
+        }
+        if (released) {
+            if (MessagePool.CHECK_RELEASED) {
+                throw new IllegalStateException("Response released twice " + id);
+            }
+            return false;
+        }
+        released = true;
+        request = null;
+        address = null;
+        returnAddress = null;
+        params = null;
+        body = null;
+        transformedBody = null;
+        return true;
+    }
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Response used after it was released back to the pool");
+        }
+    }
+
     @Override
     public long id() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return id;
     }
 
     @Override
     public T body() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         if (transformedBody == null) {
             //noinspection unchecked
             return (T) body;
@@ -138,6 +208,7 @@ public class ResponseImpl<T> implements Response<T> {
 
     @Override
     public boolean wasErrors() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return errors;
     }
 
@@ -149,11 +220,13 @@ public class ResponseImpl<T> implements Response<T> {
 
     @Override
     public String returnAddress() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return returnAddress;
     }
 
     @Override
     public String address() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
         return address;
     }
 
@@ -164,6 +237,7 @@ public class ResponseImpl<T> implements Response<T> {
 
     @Override
     public Request<Object> request() {
+        if (MessagePool.CHECK_RELEASED) checkNotReleased();
 
         return this.request;
     }
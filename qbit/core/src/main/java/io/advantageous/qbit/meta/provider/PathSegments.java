@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.provider;
+
+import java.util.Arrays;
+
+/**
+ * Offsets of the '/' separated segments of a request path.
+ * <p>
+ * The path is scanned once and the router and all of the path param extractors use the offsets,
+ * so the path is not split again per param. Instances are reused per thread with {@link #reset(String)}.
+ * <p>
+ * Indexes are the same as Str.split(path, '/'), i.e., a leading slash gives an empty first segment
+ * and one trailing slash is ignored.
+ */
+public final class PathSegments {
+
+    private String path = "";
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    /**
+     * All segments including the empty one after a trailing slash.
+     */
+    private int count;
+
+    public static PathSegments pathSegments(final String path) {
+        return new PathSegments().reset(path);
+    }
+
+    /**
+     * Scans a new path.
+     *
+     * @param path request path
+     * @return this
+     */
+    public PathSegments reset(final String path) {
+        this.path = path;
+        count = 0;
+        int start = 0;
+        final int length = path.length();
+        for (int index = 0; index < length; index++) {
+            if (path.charAt(index) == '/') {
+                add(start, index);
+                start = index + 1;
+            }
+        }
+        add(start, length);
+        return this;
+    }
+
+    private void add(final int start, final int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return number of segments, same as Str.split(path, '/').length
+     */
+    public int size() {
+        return hasTrailingSlash() ? count - 1 : count;
+    }
+
+    public boolean hasTrailingSlash() {
+        return count > 1 && starts[count - 1] == ends[count - 1];
+    }
+
+    /**
+     * @param index segment index
+     * @return the segment
+     */
+    public String get(final int index) {
+        if (index >= size()) {
+            throw new IndexOutOfBoundsException("Path " + path + " has " + size() + " segments, no segment " + index);
+        }
+        return path.substring(starts[index], ends[index]);
+    }
+
+    int count() {
+        return count;
+    }
+
+    int start(final int index) {
+        return starts[index];
+    }
+
+    int end(final int index) {
+        return ends[index];
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.provider;
+
+import io.advantageous.qbit.meta.CallType;
+import io.advantageous.qbit.meta.RequestMetaData;
+
+import java.util.Arrays;
+
+/**
+ * Segment trie of request paths.
+ * <p>
+ * Paths are split on '/' and each segment is a literal or a {param}.
+ * Literals match ignoring case and win over params, with backtracking when a literal branch does not match.
+ * Finding a path walks the segment offsets of {@link PathSegments} so it does not split, copy or lowercase the path.
+ */
+final class RequestPathTrie {
+
+    private final Node root = new Node();
+
+    private static boolean isParam(final String segment) {
+        return segment.length() > 1 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}';
+    }
+
+    private static int hash(final CharSequence chars, final int start, final int end) {
+        int hash = 0;
+        for (int index = start; index < end; index++) {
+            hash = 31 * hash + Character.toLowerCase(chars.charAt(index));
+        }
+        return hash;
+    }
+
+    /**
+     * Adds a request path, e.g., /services/employee/{id}/phones
+     *
+     * @param path     request path with {param} segments
+     * @param metaData request meta data returned when the path matches
+     */
+    void add(final String path, final RequestMetaData metaData) {
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+            final String segment = path.substring(start, end);
+            node = isParam(segment) ? node.param() : node.literal(segment.toLowerCase());
+            if (end == path.length()) {
+                break;
+            }
+            start = end + 1;
+        }
+        node.metaData = metaData;
+    }
+
+    /**
+     * Finds the request for a path.
+     *
+     * @param path request path
+     * @return request meta data or null
+     */
+    RequestMetaData find(final String path) {
+        return find(PathSegments.pathSegments(path));
+    }
+
+    /**
+     * Finds the request for a path that has already been scanned.
+     *
+     * @param segments request path segments
+     * @return request meta data or null
+     */
+    RequestMetaData find(final PathSegments segments) {
+        RequestMetaData metaData = match(root, segments, 0, segments.count());
+
+        /* Requests with path params were always found with a trailing slash. */
+        if (metaData == null && segments.hasTrailingSlash()) {
+            metaData = match(root, segments, 0, segments.count() - 1);
+            if (metaData != null && metaData.getRequest().getCallType() != CallType.ADDRESS_WITH_PATH_PARAMS) {
+                metaData = null;
+            }
+        }
+        return metaData;
+    }
+
+    private RequestMetaData match(final Node node, final PathSegments segments, final int index, final int count) {
+        final int start = segments.start(index);
+        final int end = segments.end(index);
+        final boolean last = index == count - 1;
+
+        final Node literal = node.findLiteral(segments.path(), start, end);
+        if (literal != null) {
+            final RequestMetaData metaData = last ? literal.metaData : match(literal, segments, index + 1, count);
+            if (metaData != null) {
+                return metaData;
+            }
+        }
+
+        final Node param = node.param;
+        if (param != null && end > start) {
+            return last ? param.metaData : match(param, segments, index + 1, count);
+        }
+        return null;
+    }
+
+    private static final class Node {
+
+        private String[] literals = new String[0];
+        private int[] hashes = new int[0];
+        private Node[] children = new Node[0];
+        private Node param;
+        private RequestMetaData metaData;
+
+        Node param() {
+            if (param == null) {
+                param = new Node();
+            }
+            return param;
+        }
+
+        Node literal(final String literal) {
+            for (int index = 0; index < literals.length; index++) {
+                if (literals[index].equals(literal)) {
+                    return children[index];
+                }
+            }
+            final int size = literals.length;
+            literals = Arrays.copyOf(literals, size + 1);
+            hashes = Arrays.copyOf(hashes, size + 1);
+            children = Arrays.copyOf(children, size + 1);
+            literals[size] = literal;
+            hashes[size] = hash(literal, 0, literal.length());
+            children[size] = new Node();
+            return children[size];
+        }
+
+        Node findLiteral(final String path, final int start, final int end) {
+            if (literals.length == 0) {
+                return null;
+            }
+            final int hash = hash(path, start, end);
+            final int length = end - start;
+            for (int index = 0; index < hashes.length; index++) {
+                if (hashes[index] == hash) {
+                    final String literal = literals[index];
+                    if (literal.length() == length && path.regionMatches(true, start, literal, 0, length)) {
+                        return children[index];
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -35,17 +35,18 @@ public class StandardMetaDataProvider implements MetaDataProvider {
 
 
     private final Map<String, RequestMetaData> metaDataMap = new ConcurrentHashMap<>(100);
-    private final NavigableMap<String, NavigableMap<Integer, RequestMetaData>> treeMap = new TreeMap<>();
+    /**
+     * All requests, built once here and only read after that.
+     */
+    private final RequestPathTrie pathTrie = new RequestPathTrie();
     private final RequestMethod httpRequestMethod;
 
     private final Logger logger = LoggerFactory.getLogger(StandardMetaDataProvider.class);
     private final boolean debug = logger.isDebugEnabled();
-    private final String rootURI;
 
 
     public StandardMetaDataProvider(final ContextMeta context, final RequestMethod method) {
         this.httpRequestMethod = method;
-        this.rootURI = context.getRootURI();
         context.getServices().forEach(service -> addService(context, service));
     }
 
@@ -88,8 +89,7 @@ public class StandardMetaDataProvider implements MetaDataProvider {
 
             final String path = Str.join('/', context.getRootURI(), servicePath, requestPath).replaceAll("//*", "/");
 
-            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(),
-                    requestMeta.getRequestURI(), servicePath);
+            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(), path);
 
         } else if (requestMeta.getCallType() == CallType.ADDRESS_WITH_PATH_PARAMS) {
 
@@ -99,8 +99,15 @@ public class StandardMetaDataProvider implements MetaDataProvider {
 
             final String path = Str.join('/', context.getRootURI(), servicePath, requestPath).replaceAll("//*", "/");
 
-            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(), requestMeta.getRequestURI(),
-                    servicePath);
+            String pathWithParams = Str.join('/', context.getRootURI(), servicePath, requestMeta.getRequestURI())
+                    .replaceAll("//*", "/");
+
+            /* A trailing slash does not matter for requests with path params. */
+            if (pathWithParams.length() > 1 && pathWithParams.endsWith("/")) {
+                pathWithParams = Str.slc(pathWithParams, 0, -1);
+            }
+
+            addRequestEndPointUsingPath(context, service, method, requestMeta, path.toLowerCase(), pathWithParams);
 
         }
 
@@ -111,68 +118,35 @@ public class StandardMetaDataProvider implements MetaDataProvider {
                                              final ServiceMethodMeta method,
                                              final RequestMeta requestMeta,
                                              final String path,
-                                             final String requestURI,
-                                             final String servicePath) {
+                                             final String pathWithParams) {
         RequestMetaData metaData = new RequestMetaData(path, context, requestMeta, method, service);
 
         if (requestMeta.getCallType() == CallType.ADDRESS) {
             metaDataMap.put(path, metaData);
-        } else {
-            NavigableMap<Integer, RequestMetaData> map = treeMap.get(path);
-
-            if (map == null) {
-                map = new TreeMap<>();
-                treeMap.put(path, map);
-            }
-
-
-            int count = Str.split(servicePath + requestURI, '/').length - 1;
-
-            map.put(count, metaData);
-
         }
+        pathTrie.add(pathWithParams, metaData);
     }
 
 
-    private RequestMetaData doGet(final String path) {
-
-        RequestMetaData requestMetaData = metaDataMap.get(path);
-
-        if (requestMetaData == null) {
-            Map.Entry<String, NavigableMap<Integer, RequestMetaData>> uriParamNumMapEntry = treeMap.lowerEntry(path);
-
-            if (uriParamNumMapEntry == null) {
-                return null;
-            }
-
-            final String requestURI = Str.isEmpty(rootURI) ? path : StringScanner.substringAfter(path, rootURI);
-
-            int count = Str.split(requestURI, '/').length - 1;
-            NavigableMap<Integer, RequestMetaData> uriParamMap = uriParamNumMapEntry.getValue();
-
-            requestMetaData = uriParamMap.get(count);
-
-            if (requestMetaData != null && path.startsWith(requestMetaData.getPath())) {
-                return requestMetaData;
-            } else {
-                return null;
-            }
-        } else {
-            return requestMetaData;
-        }
-    }
-
     @Override
     public RequestMetaData get(final String path) {
-        RequestMetaData requestMetaData = doGet(path);
-        if (requestMetaData == null) {
-            requestMetaData = doGet(path.toLowerCase());
-        }
+        return get(PathSegments.pathSegments(path));
+    }
+
+    /**
+     * Finds the request for a path that has already been scanned, so the caller can use the
+     * same segments to read path params.
+     *
+     * @param segments request path segments
+     * @return request meta data or null
+     */
+    public RequestMetaData get(final PathSegments segments) {
+        final RequestMetaData requestMetaData = pathTrie.find(segments);
 
         if (debug && requestMetaData == null) {
 
 
-            this.metaDataMap.keySet().forEach(mappedPath -> logger.debug("Path not found path {}, mapped path {}", path, mappedPath));
+            this.metaDataMap.keySet().forEach(mappedPath -> logger.debug("Path not found path {}, mapped path {}", segments.path(), mappedPath));
         }
         return requestMetaData;
     }
@@ -33,6 +33,7 @@ import io.advantageous.qbit.message.MethodCallBuilder;
 import io.advantageous.qbit.meta.ParameterMeta;
 import io.advantageous.qbit.meta.RequestMetaData;
 import io.advantageous.qbit.meta.params.*;
+import io.advantageous.qbit.meta.provider.PathSegments;
 import io.advantageous.qbit.meta.provider.StandardMetaDataProvider;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.service.CaptureRequestInterceptor;
@@ -71,6 +72,10 @@ public class StandardRequestTransformer implements RequestTransformer {
             return factory.createJsonMapper();
         }
     };
+    /**
+     * Path segments of the request being transformed, shared by the router and the path param extractors.
+     */
+    private final ThreadLocal<PathSegments> pathSegments = ThreadLocal.withInitial(PathSegments::new);
     private final Optional<Consumer<Throwable>> errorHandler;
 
 
@@ -81,6 +86,10 @@ public class StandardRequestTransformer implements RequestTransformer {
     }
 
     private final String decodeURLEncoding(String value) {
+        /* Most values have nothing to decode. */
+        if (value.indexOf('%') == -1 && value.indexOf('+') == -1) {
+            return value;
+        }
         try {
             return URLDecoder.decode(value, "UTF-8");
         } catch (UnsupportedEncodingException e) {
@@ -104,7 +113,8 @@ public class StandardRequestTransformer implements RequestTransformer {
 
         final StandardMetaDataProvider standardMetaDataProvider = metaDataProviderMap
                 .get(RequestMethod.valueOf(request.getMethod()));
-        final RequestMetaData metaData = standardMetaDataProvider.get(request.address());
+        final PathSegments pathSegments = this.pathSegments.get().reset(request.address());
+        final RequestMetaData metaData = standardMetaDataProvider.get(pathSegments);
 
 
         final MethodCallBuilder methodCallBuilder = new MethodCallBuilder();
@@ -181,14 +191,15 @@ public class StandardRequestTransformer implements RequestTransformer {
                     break;
                 case PATH_BY_NAME:
                     URINamedParam uriNamedParam = ((URINamedParam) parameterMeta.getParam());
-                    final String[] split = Str.split(request.address(), '/');
-                    if (uriNamedParam.getIndexIntoURI() >= split.length) {
+                    value = null;
+                    if (uriNamedParam.getIndexIntoURI() >= pathSegments.size()) {
                         if (uriNamedParam.isRequired()) {
                             errorsList.add(sputs("Unable to find required path param", uriNamedParam.getName()));
                             break loop;
                         }
+                    } else {
+                        value = pathSegments.get(uriNamedParam.getIndexIntoURI());
                     }
-                    value = split[uriNamedParam.getIndexIntoURI()];
                     if (uriNamedParam.isRequired() && Str.isEmpty(value)) {
                         errorsList.add(sputs("Unable to find required path param", uriNamedParam.getName()));
                         break loop;
@@ -200,16 +211,15 @@ public class StandardRequestTransformer implements RequestTransformer {
                     break;
                 case PATH_BY_POSITION:
                     URIPositionalParam positionalParam = ((URIPositionalParam) parameterMeta.getParam());
-                    final String[] pathSplit = Str.split(request.address(), '/');
                     value = null;
-                    if (positionalParam.getIndexIntoURI() >= pathSplit.length) {
+                    if (positionalParam.getIndexIntoURI() >= pathSegments.size()) {
                         if (positionalParam.isRequired()) {
                             errorsList.add(sputs("Unable to find required path param",
                                     positionalParam.getIndexIntoURI()));
                             break loop;
                         }
                     } else {
-                        value = pathSplit[positionalParam.getIndexIntoURI()];
+                        value = pathSegments.get(positionalParam.getIndexIntoURI());
                         if (positionalParam.isRequired() && Str.isEmpty(value)) {
                             errorsList.add(sputs("Unable to find required path param",
                                     positionalParam.getIndexIntoURI()));
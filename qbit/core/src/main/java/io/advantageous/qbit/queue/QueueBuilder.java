@@ -18,10 +18,13 @@
 
 package io.advantageous.qbit.queue;
 
+import io.advantageous.qbit.concurrent.VirtualThreads;
 import io.advantageous.qbit.config.PropertyResolver;
 import io.advantageous.qbit.queue.impl.AddTimeoutUnableToEnqueueHandler;
 import io.advantageous.qbit.queue.impl.BasicQueue;
 import io.advantageous.qbit.queue.impl.DefaultUnableToEnqueueHandler;
+import io.advantageous.qbit.queue.impl.QueueListenerPool;
+import io.advantageous.qbit.queue.impl.RingBufferBlockingQueue;
 
 import java.util.Properties;
 import java.util.concurrent.*;
@@ -51,6 +54,14 @@ public class QueueBuilder implements Cloneable {
 
     private UnableToEnqueueHandler unableToEnqueueHandler;
 
+    private WaitStrategy waitStrategy;
+
+    private QueueListenerPool listenerPool;
+
+    private boolean virtualThreads;
+
+    private boolean adaptiveBatching;
+
     public QueueBuilder(PropertyResolver propertyResolver) {
         this.pollWait = propertyResolver
                 .getIntegerProperty("pollWaitMS", 15);
@@ -66,6 +77,10 @@ public class QueueBuilder implements Cloneable {
                 .getBooleanProperty("checkIfBusy", false);
         this.tryTransfer = propertyResolver
                 .getBooleanProperty("tryTransfer", false);
+        this.virtualThreads = propertyResolver
+                .getBooleanProperty("virtualThreads", VirtualThreads.ENABLED);
+        this.adaptiveBatching = propertyResolver
+                .getBooleanProperty("adaptiveBatching", false);
 
         this.queueClass = propertyResolver
                 .getGenericPropertyWithDefault("queueClass", ArrayBlockingQueue.class);
@@ -120,6 +135,74 @@ public class QueueBuilder implements Cloneable {
         return this;
     }
 
+    public WaitStrategy getWaitStrategy() {
+        if (waitStrategy == null) {
+            waitStrategy = WaitStrategy.blocking();
+        }
+        return waitStrategy;
+    }
+
+    /**
+     * Sets how the queue listener waits for items when the queue is empty.
+     * The pollWait is how long the strategy waits before the listener goes idle.
+     *
+     * @param waitStrategy wait strategy
+     * @return this
+     */
+    public QueueBuilder setWaitStrategy(final WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    public QueueListenerPool getListenerPool() {
+        return listenerPool;
+    }
+
+    /**
+     * Runs the queue listener on a shared pool of threads instead of a thread of its own.
+     * The wait strategy is not used when there is a listener pool.
+     *
+     * @param listenerPool shared listener pool
+     * @return this
+     */
+    public QueueBuilder setListenerPool(final QueueListenerPool listenerPool) {
+        this.listenerPool = listenerPool;
+        return this;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Runs the queue listener on a virtual thread if the JVM supports them.
+     * Blocking calls made from the listener then park the virtual thread instead of tying up a platform thread.
+     *
+     * @param virtualThreads true to use a virtual thread
+     * @return this
+     */
+    public QueueBuilder setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    /**
+     * Lets each send queue size its batches from what the consumer is doing instead of always using batchSize.
+     * Batches start at one item, shrink when the consumer is idle or items trickle in, and grow up to batchSize
+     * while the consumer has a backlog.
+     *
+     * @param adaptiveBatching true to adapt the batch size
+     * @return this
+     */
+    public QueueBuilder setAdaptiveBatching(final boolean adaptiveBatching) {
+        this.adaptiveBatching = adaptiveBatching;
+        return this;
+    }
+
     public TimeUnit getEnqueueTimeoutTimeUnit() {
         return enqueueTimeoutTimeUnit;
     }
@@ -201,6 +284,21 @@ public class QueueBuilder implements Cloneable {
         return this;
     }
 
+    /**
+     * Use a pre-allocated lock free ring buffer (many producers, one consumer).
+     * Size is rounded up to the next power of two.
+     *
+     * @return this
+     */
+    public QueueBuilder setRingBufferQueue() {
+        if (size == -1) {
+            size = 100_000;
+        }
+
+        queueClass = RingBufferBlockingQueue.class;
+        return this;
+    }
+
 
     public int getSize() {
         return size;
@@ -266,7 +364,11 @@ public class QueueBuilder implements Cloneable {
                 this.getCheckEvery(),
                 this.isTryTransfer(),
                 this.getUnableToEnqueueHandler(),
-                this.getLimit());
+                this.getLimit(),
+                this.getWaitStrategy(),
+                this.getListenerPool(),
+                this.isVirtualThreads(),
+                this.isAdaptiveBatching());
     }
 
 }
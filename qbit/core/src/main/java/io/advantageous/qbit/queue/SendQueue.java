@@ -69,6 +69,16 @@ public interface SendQueue<T> extends Output, Startable, Stoppable {
 
     }
 
+    /**
+     * True when the queue being sent to is close to full.
+     * Callers can check this to shed or reject work before sends start to fail.
+     *
+     * @return true if the consumer is falling behind
+     */
+    default boolean isUnderPressure() {
+        return false;
+    }
+
     default int size() {
         return 0;
     }
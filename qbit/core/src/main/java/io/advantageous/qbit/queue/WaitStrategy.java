@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue;
+
+import io.advantageous.qbit.queue.impl.wait.BlockingWaitStrategy;
+import io.advantageous.qbit.queue.impl.wait.BusySpinWaitStrategy;
+import io.advantageous.qbit.queue.impl.wait.SpinThenParkWaitStrategy;
+import io.advantageous.qbit.queue.impl.wait.SpinThenYieldWaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how a queue listener waits for the next item once its receive queue is empty.
+ * <p>
+ * Implementations must return null once idleWaitNanos have passed without an item so the
+ * queue manager can call idle and check for stop.
+ * Strategies hold no per-queue state so one instance can be shared by many queues.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits for the next item.
+     *
+     * @param queue         receive queue owned by the calling thread
+     * @param idleWaitNanos how long to wait before giving up and returning null
+     * @param <T>           type of item
+     * @return next item or null if nothing arrived in time
+     */
+    <T> T waitForItem(ReceiveQueue<T> queue, long idleWaitNanos);
+
+    /**
+     * Waits by blocking on the queue with the configured poll wait (the default).
+     *
+     * @return blocking strategy
+     */
+    static WaitStrategy blocking() {
+        return BlockingWaitStrategy.INSTANCE;
+    }
+
+    /**
+     * Polls in a tight loop. Lowest latency, but burns a core while the queue is empty.
+     *
+     * @return busy spin strategy
+     */
+    static WaitStrategy busySpin() {
+        return BusySpinWaitStrategy.INSTANCE;
+    }
+
+    /**
+     * Polls spinTries times then yields the thread between polls.
+     *
+     * @param spinTries number of polls before yielding
+     * @return spin then yield strategy
+     */
+    static WaitStrategy spinThenYield(final int spinTries) {
+        return new SpinThenYieldWaitStrategy(spinTries);
+    }
+
+    /**
+     * Spins, yields and then parks with an exponential backoff up to maxPark.
+     *
+     * @param spinTries  number of polls before yielding
+     * @param yieldTries number of yields before parking
+     * @param maxPark    max time to park between polls
+     * @param timeUnit   time unit of maxPark
+     * @return spin then park strategy
+     */
+    static WaitStrategy spinThenPark(final int spinTries, final int yieldTries,
+                                     final long maxPark, final TimeUnit timeUnit) {
+        return new SpinThenParkWaitStrategy(spinTries, yieldTries, timeUnit.toNanos(maxPark));
+    }
+}
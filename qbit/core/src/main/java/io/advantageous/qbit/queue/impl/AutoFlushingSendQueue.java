@@ -130,6 +130,11 @@ public class AutoFlushingSendQueue<T> implements SendQueue<T> {
         return sendQueue.shouldBatch();
     }
 
+    @Override
+    public boolean isUnderPressure() {
+        return sendQueue.isUnderPressure();
+    }
+
     @Override
     public void flushSends() {
 
@@ -20,6 +20,7 @@ package io.advantageous.qbit.queue.impl;
 
 import io.advantageous.boon.core.reflection.ClassMeta;
 import io.advantageous.boon.core.reflection.ConstructorAccess;
+import io.advantageous.qbit.concurrent.VirtualThreads;
 import io.advantageous.qbit.queue.*;
 import io.advantageous.qbit.queue.impl.sender.BasicBlockingQueueSender;
 import io.advantageous.qbit.queue.impl.sender.BasicSendQueueWithTransferQueue;
@@ -55,6 +56,9 @@ public class BasicQueue<T> implements Queue<T> {
     private final TimeUnit pollTimeTimeUnit;
     private final AtomicBoolean stop = new AtomicBoolean(true);
     private final Supplier<SendQueue<T>> sendQueueSupplier;
+    private final WaitStrategy waitStrategy;
+    private final QueueListenerPool listenerPool;
+    private final boolean virtualThreads;
     private ReceiveQueueManager<T> receiveQueueManager;
 
 
@@ -69,6 +73,43 @@ public class BasicQueue<T> implements Queue<T> {
                       final boolean tryTransfer,
                       final UnableToEnqueueHandler unableToEnqueueHandler,
                       final int limit) {
+        this(name, waitTime, timeUnit, batchSize, queueClass, checkIfBusy, size, checkEvery, tryTransfer,
+                unableToEnqueueHandler, limit, WaitStrategy.blocking(), null, VirtualThreads.ENABLED);
+    }
+
+    public BasicQueue(final String name,
+                      final int waitTime,
+                      @SuppressWarnings("SameParameterValue") final TimeUnit timeUnit,
+                      final int batchSize,
+                      final Class<? extends BlockingQueue> queueClass,
+                      final boolean checkIfBusy,
+                      final int size,
+                      final int checkEvery,
+                      final boolean tryTransfer,
+                      final UnableToEnqueueHandler unableToEnqueueHandler,
+                      final int limit,
+                      final WaitStrategy waitStrategy,
+                      final QueueListenerPool listenerPool,
+                      final boolean virtualThreads) {
+        this(name, waitTime, timeUnit, batchSize, queueClass, checkIfBusy, size, checkEvery, tryTransfer,
+                unableToEnqueueHandler, limit, waitStrategy, listenerPool, virtualThreads, false);
+    }
+
+    public BasicQueue(final String name,
+                      final int waitTime,
+                      @SuppressWarnings("SameParameterValue") final TimeUnit timeUnit,
+                      final int batchSize,
+                      final Class<? extends BlockingQueue> queueClass,
+                      final boolean checkIfBusy,
+                      final int size,
+                      final int checkEvery,
+                      final boolean tryTransfer,
+                      final UnableToEnqueueHandler unableToEnqueueHandler,
+                      final int limit,
+                      final WaitStrategy waitStrategy,
+                      final QueueListenerPool listenerPool,
+                      final boolean virtualThreads,
+                      final boolean adaptiveBatching) {
 
         logger.debug("Queue created {} {} limit {} size {} checkEvery {} tryTransfer {} waitTime {} limit {}",
                 name, queueClass, batchSize, size, checkEvery, tryTransfer, waitTime, limit);
@@ -79,6 +120,9 @@ public class BasicQueue<T> implements Queue<T> {
         this.pollTimeTimeUnit = timeUnit;
         this.batchSize = batchSize;
         this.limit = limit;
+        this.waitStrategy = waitStrategy;
+        this.listenerPool = listenerPool;
+        this.virtualThreads = virtualThreads;
 
         if (size == -1) {
 
@@ -108,21 +152,21 @@ public class BasicQueue<T> implements Queue<T> {
 
             if (tryTransfer) {
                 sendQueueSupplier = () -> new BasicSendQueueWithTryTransfer<>(name, batchSize, (TransferQueue<Object>) queue,
-                        checkEvery, BasicQueue.this);
+                        checkEvery, BasicQueue.this, adaptiveBatching);
             } else {
                 sendQueueSupplier = () -> new BasicSendQueueWithTransferQueue<>(name, batchSize, ((TransferQueue<Object>) queue),
-                        checkEvery, BasicQueue.this);
+                        checkEvery, BasicQueue.this, adaptiveBatching);
             }
         } else {
             sendQueueSupplier = () -> new BasicBlockingQueueSender<>(name, batchSize, queue,
-                    checkIfBusy, unableToEnqueueHandler, BasicQueue.this);
+                    checkIfBusy, unableToEnqueueHandler, BasicQueue.this, adaptiveBatching);
         }
 
 
         logger.info("Queue done creating {} limit {} checkEvery {} tryTransfer {}" +
-                        "pollTimeWait/polltime {}",
+                        "pollTimeWait/polltime {} waitStrategy {} adaptiveBatching {}",
                 this.name, this.batchSize, checkEvery, tryTransfer,
-                this.pollTimeWait);
+                this.pollTimeWait, waitStrategy, adaptiveBatching);
 
 
     }
@@ -155,7 +199,12 @@ public class BasicQueue<T> implements Queue<T> {
 
     @Override
     public void startListener(final ReceiveQueueListener<T> listener) {
-        this.receiveQueueManager = new BasicReceiveQueueManager<>(name);
+        if (listenerPool == null) {
+            this.receiveQueueManager = new BasicReceiveQueueManager<>(name, waitStrategy,
+                    pollTimeWait, pollTimeTimeUnit, virtualThreads);
+        } else {
+            this.receiveQueueManager = listenerPool.receiveQueueManager(name, pollTimeWait, pollTimeTimeUnit);
+        }
         stop.set(false);
         logger.info("Starting queue listener for  {} {}", name, listener);
         this.receiveQueueManager.addQueueToManage(name, this.receiveQueue(), listener, limit);
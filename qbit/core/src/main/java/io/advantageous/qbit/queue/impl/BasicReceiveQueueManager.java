@@ -19,12 +19,15 @@
 package io.advantageous.qbit.queue.impl;
 
 import io.advantageous.qbit.concurrent.ExecutorContext;
+import io.advantageous.qbit.concurrent.VirtualThreads;
 import io.advantageous.qbit.queue.ReceiveQueue;
 import io.advantageous.qbit.queue.ReceiveQueueListener;
 import io.advantageous.qbit.queue.ReceiveQueueManager;
+import io.advantageous.qbit.queue.WaitStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.advantageous.qbit.concurrent.ScheduledExecutorBuilder.scheduledExecutorBuilder;
@@ -42,11 +45,32 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
     private final boolean debug = logger.isDebugEnabled();
     private final String name;
     private final AtomicBoolean stop = new AtomicBoolean();
+    private final WaitStrategy waitStrategy;
+    private final long idleWaitNanos;
+    private final boolean virtualThreads;
     private ExecutorContext executorContext;
     private QueueInfo<T> queueInfo;
 
     public BasicReceiveQueueManager(final String name) {
+        this(name, WaitStrategy.blocking(), 0, VirtualThreads.ENABLED);
+    }
+
+    public BasicReceiveQueueManager(final String name,
+                                    final WaitStrategy waitStrategy,
+                                    final long idleWaitNanos,
+                                    final boolean virtualThreads) {
         this.name = name;
+        this.waitStrategy = waitStrategy;
+        this.idleWaitNanos = idleWaitNanos;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public BasicReceiveQueueManager(final String name,
+                                    final WaitStrategy waitStrategy,
+                                    final long idleWait,
+                                    final TimeUnit timeUnit,
+                                    final boolean virtualThreads) {
+        this(name, waitStrategy, timeUnit.toNanos(idleWait), virtualThreads);
     }
 
     @Override
@@ -57,6 +81,7 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
                 .setThreadName("QueueListener|" + name)
                 .setInitialDelay(50)
                 .setPeriod(50).setRunnable(this::manageQueue)
+                .setVirtualThreads(virtualThreads)
                 .build();
 
         executorContext.start();
@@ -118,9 +143,9 @@ public class BasicReceiveQueueManager<T> implements ReceiveQueueManager<T> {
 
 
             /* Get the next item, but wait this time since the queue was empty.
-            * This pauses the queue handling so we don't eat up all of the CPU.
+            * How we wait (block, spin, yield, park) is up to the wait strategy.
             * */
-            item = inputQueue.pollWait();
+            item = waitStrategy.waitForItem(inputQueue, idleWaitNanos);
 
             if (item == null) {
                 if (stop.get()) {
@@ -0,0 +1,64 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.QueueException;
+import io.advantageous.qbit.queue.UnableToEnqueueHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * When the queue is full, drops the oldest batch on the queue to make room for the new one.
+ * Use for work where fresh items matter more than old ones, like stats or status updates.
+ * The oldest batch is polled on the sending thread, so the queue must allow a poll while its
+ * consumer is reading. The JDK queues and RingBufferBlockingQueue do.
+ */
+public class DropOldestUnableToEnqueueHandler implements UnableToEnqueueHandler {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final Consumer<Object> onDropped;
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public DropOldestUnableToEnqueueHandler() {
+        this(item -> {
+        });
+    }
+
+    /**
+     * @param onDropped called for each item that was dropped
+     */
+    public DropOldestUnableToEnqueueHandler(final Consumer<Object> onDropped) {
+        this.onDropped = onDropped;
+    }
+
+    public boolean unableToEnqueue(BlockingQueue<Object> queue, String name, Object item) {
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            QueueItems.forEach(queue.poll(), this::drop);
+            if (queue.offer(item)) {
+                return true;
+            }
+        }
+        throw new QueueException("QUEUE FULL: Unable to make room in queue " + name);
+    }
+
+    private void drop(final Object item) {
+        droppedCount.incrementAndGet();
+        onDropped.accept(item);
+    }
+
+    /**
+     * @return number of items dropped so far
+     */
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DropOldestUnableToEnqueueHandler{" +
+                "droppedCount=" + droppedCount +
+                '}';
+    }
+}
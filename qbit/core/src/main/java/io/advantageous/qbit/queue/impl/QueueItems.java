@@ -0,0 +1,22 @@
+package io.advantageous.qbit.queue.impl;
+
+import java.util.function.Consumer;
+
+/**
+ * Send queues put batches of items on the queue as Object arrays. This hands each item in a batch to a consumer.
+ */
+final class QueueItems {
+
+    private QueueItems() {
+    }
+
+    static void forEach(final Object queueItem, final Consumer<Object> consumer) {
+        if (queueItem instanceof Object[]) {
+            for (Object item : (Object[]) queueItem) {
+                consumer.accept(item);
+            }
+        } else if (queueItem != null) {
+            consumer.accept(queueItem);
+        }
+    }
+}
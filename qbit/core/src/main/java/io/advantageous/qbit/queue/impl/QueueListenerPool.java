@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.ReceiveQueueManager;
+import io.advantageous.qbit.service.Startable;
+import io.advantageous.qbit.service.Stoppable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many queue listeners on a small, fixed number of threads.
+ * <p>
+ * Normally every BasicQueue.startListener gets its own thread. When a QueueBuilder has a listener pool,
+ * the queue is pinned to one of the pool threads instead. Each pool thread round robins over its queues,
+ * processing up to the queue limit before moving to the next queue, and parks with a backoff when none
+ * of its queues have work. A queue is only ever touched by the one thread it is pinned to, so a service
+ * is still single threaded, and init, startBatch, limit, empty, idle and shutdown are still called.
+ * Each turn a queue gets starts with startBatch since other queues may have run on the thread in between.
+ * <p>
+ * The pool is started the first time a queue is added. Whoever creates the pool stops it.
+ */
+public class QueueListenerPool implements Startable, Stoppable {
+
+    private static final long MIN_PARK_NANOS = 1_000;
+
+    private final Logger logger = LoggerFactory.getLogger(QueueListenerPool.class);
+    private final String name;
+    private final long maxParkNanos;
+    private final Worker[] workers;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    public QueueListenerPool(final String name, final int numberOfThreads) {
+        this(name, numberOfThreads, 1, TimeUnit.MILLISECONDS);
+    }
+
+    public QueueListenerPool(final String name, final int numberOfThreads,
+                             final long maxPark, final TimeUnit timeUnit) {
+        if (numberOfThreads < 1) {
+            throw new IllegalArgumentException("numberOfThreads must be at least 1 but was " + numberOfThreads);
+        }
+        this.name = name;
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, timeUnit.toNanos(maxPark));
+        this.workers = new Worker[numberOfThreads];
+        for (int index = 0; index < numberOfThreads; index++) {
+            workers[index] = new Worker("QueueListenerPool|" + name + "|" + index);
+        }
+    }
+
+    /**
+     * Creates a receive queue manager that runs its queue on this pool.
+     *
+     * @param queueName     name of the queue
+     * @param idleWait      how long a queue has to be empty before listener idle is called
+     * @param idleTimeUnit  time unit of idleWait
+     * @param <T>           type of item
+     * @return receive queue manager
+     */
+    public <T> ReceiveQueueManager<T> receiveQueueManager(final String queueName,
+                                                          final long idleWait,
+                                                          final TimeUnit idleTimeUnit) {
+        return new PooledReceiveQueueManager<>(queueName, idleTimeUnit.toNanos(idleWait));
+    }
+
+    @Override
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            logger.info("Starting queue listener pool {} with {} threads", name, workers.length);
+            for (Worker worker : workers) {
+                worker.thread.start();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        logger.info("Stopping queue listener pool {}", name);
+        for (Worker worker : workers) {
+            worker.stop.set(true);
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    public int numberOfThreads() {
+        return workers.length;
+    }
+
+    /**
+     * @return number of queues currently pinned to pool threads
+     */
+    public int numberOfQueues() {
+        int count = 0;
+        for (Worker worker : workers) {
+            count += worker.queueCount.get();
+        }
+        return count;
+    }
+
+    private Worker leastLoadedWorker() {
+        Worker selected = workers[0];
+        for (Worker worker : workers) {
+            if (worker.queueCount.get() < selected.queueCount.get()) {
+                selected = worker;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueListenerPool{" +
+                "name='" + name + '\'' +
+                ", threads=" + workers.length +
+                '}';
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Thread thread;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final AtomicInteger queueCount = new AtomicInteger();
+        private final ConcurrentLinkedQueue<QueueSlot<?>> added = new ConcurrentLinkedQueue<>();
+        private final List<QueueSlot<?>> slots = new ArrayList<>();
+
+        private Worker(final String threadName) {
+            this.thread = new Thread(this, threadName);
+        }
+
+        private void add(final QueueSlot<?> slot) {
+            queueCount.incrementAndGet();
+            added.add(slot);
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            long parkNanos = MIN_PARK_NANOS;
+
+            while (!stop.get()) {
+
+                QueueSlot<?> slot;
+                while ((slot = added.poll()) != null) {
+                    slots.add(slot);
+                }
+
+                boolean didWork = false;
+                final long now = System.nanoTime();
+
+                for (int index = 0; index < slots.size(); index++) {
+                    slot = slots.get(index);
+                    if (slot.stop) {
+                        slot.shutdown();
+                        slots.remove(index);
+                        index--;
+                        queueCount.decrementAndGet();
+                        continue;
+                    }
+                    didWork |= slot.process(now);
+                }
+
+                if (didWork) {
+                    parkNanos = MIN_PARK_NANOS;
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+                }
+            }
+
+            for (QueueSlot<?> slot : slots) {
+                slot.shutdown();
+            }
+            slots.clear();
+            queueCount.set(0);
+        }
+    }
+
+    /**
+     * Queue pinned to a worker. Only the worker thread calls process and shutdown.
+     */
+    private final class QueueSlot<T> {
+
+        private final String name;
+        private final ReceiveQueue<T> queue;
+        private final ReceiveQueueListener<T> listener;
+        private final int limit;
+        private final long idleWaitNanos;
+        private volatile boolean stop;
+        private boolean initialized;
+        private long lastActive;
+
+        private QueueSlot(final String name, final ReceiveQueue<T> queue,
+                          final ReceiveQueueListener<T> listener, final int limit,
+                          final long idleWaitNanos) {
+            this.name = name;
+            this.queue = queue;
+            this.listener = listener;
+            this.limit = limit;
+            this.idleWaitNanos = idleWaitNanos;
+        }
+
+        /**
+         * Processes up to limit items.
+         *
+         * @param now current nano time
+         * @return true if there was work
+         */
+        private boolean process(final long now) {
+            try {
+                if (!initialized) {
+                    initialized = true;
+                    lastActive = now;
+                    listener.init();
+                }
+
+                T item = queue.poll();
+
+                if (item == null) {
+                    /* Same as BasicReceiveQueueManager, idle then empty every idle wait. */
+                    if (now - lastActive >= idleWaitNanos) {
+                        lastActive = now;
+                        listener.idle();
+                        listener.empty();
+                    }
+                    return false;
+                }
+
+                /* Other queues may have run on this thread since our last turn, so every turn is a batch. */
+                listener.startBatch();
+
+                int count = 0;
+                while (item != null) {
+                    listener.receive(item);
+                    count++;
+
+                    /* Give the other queues on this thread a turn once we hit the limit. */
+                    if (count >= limit) {
+                        listener.limit();
+                        lastActive = now;
+                        return true;
+                    }
+                    item = queue.poll();
+                }
+
+                lastActive = now;
+                listener.empty();
+                return true;
+            } catch (Exception ex) {
+                logger.error("Problem running queue listener for " + name, ex);
+                return true;
+            }
+        }
+
+        private void shutdown() {
+            try {
+                listener.shutdown();
+            } catch (Exception ex) {
+                logger.error("Problem shutting down queue listener for " + name, ex);
+            }
+        }
+    }
+
+    private final class PooledReceiveQueueManager<T> implements ReceiveQueueManager<T> {
+
+        private final String name;
+        private final long idleWaitNanos;
+        private QueueSlot<T> slot;
+
+        private PooledReceiveQueueManager(final String name, final long idleWaitNanos) {
+            this.name = name;
+            this.idleWaitNanos = idleWaitNanos;
+        }
+
+        @Override
+        public void addQueueToManage(final String name,
+                                     final ReceiveQueue<T> queue,
+                                     final ReceiveQueueListener<T> listener,
+                                     final int batchSize) {
+            this.slot = new QueueSlot<>(name, queue, listener, batchSize, idleWaitNanos);
+        }
+
+        @Override
+        public void start() {
+            if (slot == null) {
+                return;
+            }
+            QueueListenerPool.this.start();
+            logger.info("Pinning queue {} to pool {}", name, QueueListenerPool.this.name);
+            leastLoadedWorker().add(slot);
+        }
+
+        @Override
+        public void stop() {
+            if (slot != null) {
+                slot.stop = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.UnableToEnqueueHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * When the queue is full, rejects the new items right away instead of blocking or throwing.
+ * Each rejected item goes to a consumer, which can fail the caller. For example, it can send
+ * ResponseImpl.error for a rejected method call so the caller's Callback gets onError.
+ * The send returns false.
+ */
+public class RejectUnableToEnqueueHandler implements UnableToEnqueueHandler {
+
+    private final Consumer<Object> onRejected;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * @param onRejected called for each item that was rejected
+     */
+    public RejectUnableToEnqueueHandler(final Consumer<Object> onRejected) {
+        this.onRejected = onRejected;
+    }
+
+    public boolean unableToEnqueue(BlockingQueue<Object> queue, String name, Object item) {
+        QueueItems.forEach(item, this::reject);
+        return false;
+    }
+
+    private void reject(final Object item) {
+        rejectedCount.incrementAndGet();
+        onRejected.accept(item);
+    }
+
+    /**
+     * @return number of items rejected so far
+     */
+    public long rejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RejectUnableToEnqueueHandler{" +
+                "rejectedCount=" + rejectedCount +
+                '}';
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue.impl;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pre-allocated, bounded ring buffer for many producers and a single blocking consumer.
+ * <p>
+ * Producers claim a slot with a CAS on the tail sequence and publish it by advancing the
+ * slot sequence, so sending never takes a lock and never allocates a node.
+ * Poll claims the head the same way, so a producer may poll to make room
+ * (see DropOldestUnableToEnqueueHandler) while the consumer is reading.
+ * Only one thread may block in take or poll with a timeout at a time.
+ * This is the case for BasicQueue since the receive queue is owned by the listener thread.
+ * <p>
+ * The capacity is rounded up to the next power of two.
+ *
+ * @param <T> type
+ */
+public class RingBufferBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+    private static final int DEFAULT_CAPACITY = 100_000;
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 1_000;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int capacity;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private volatile Thread waitingConsumer;
+
+    public RingBufferBlockingQueue(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than 0 but was " + size);
+        }
+        this.capacity = roundToPowerOfTwo(size);
+        this.mask = capacity - 1;
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++) {
+            sequences.lazySet(index, index);
+        }
+    }
+
+    public RingBufferBlockingQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int roundToPowerOfTwo(final int size) {
+        if (size > 1 << 30) {
+            throw new IllegalArgumentException("size is too large " + size);
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(size - 1));
+    }
+
+    @Override
+    public boolean offer(final T item) {
+        if (item == null) {
+            throw new NullPointerException("item can't be null");
+        }
+
+        while (true) {
+            final long current = tail.get();
+            final int slot = (int) current & mask;
+            final long sequence = sequences.get(slot);
+
+            if (sequence == current) {
+                if (tail.compareAndSet(current, current + 1)) {
+                    buffer[slot] = item;
+                    sequences.set(slot, current + 1);
+                    wakeConsumer();
+                    return true;
+                }
+            } else if (sequence < current) {
+                /* The consumer has not freed this slot yet, so we are full. */
+                return false;
+            }
+        }
+    }
+
+    private void wakeConsumer() {
+        final Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public T poll() {
+        while (true) {
+            final long current = head.get();
+            final int slot = (int) current & mask;
+            final long sequence = sequences.get(slot);
+
+            if (sequence == current + 1) {
+                if (head.compareAndSet(current, current + 1)) {
+                    @SuppressWarnings("unchecked") final T item = (T) buffer[slot];
+                    buffer[slot] = null;
+                    sequences.lazySet(slot, current + capacity);
+                    return item;
+                }
+            } else if (sequence < current + 1) {
+                /* Nothing has been published in this slot yet, so we are empty. */
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public T peek() {
+        final long current = head.get();
+        final int slot = (int) current & mask;
+        if (sequences.get(slot) != current + 1) {
+            return null;
+        }
+        //noinspection unchecked
+        return (T) buffer[slot];
+    }
+
+    @Override
+    public void put(final T item) throws InterruptedException {
+        int tries = 0;
+        while (!offer(item)) {
+            tries = backOff(tries);
+        }
+    }
+
+    @Override
+    public boolean offer(final T item, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        while (!offer(item)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            tries = backOff(tries);
+        }
+        return true;
+    }
+
+    private int backOff(final int tries) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (tries < SPIN_TRIES) {
+            return tries + 1;
+        }
+        if (tries == SPIN_TRIES) {
+            Thread.yield();
+            return tries + 1;
+        }
+        LockSupport.parkNanos(PARK_NANOS);
+        return tries;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        T item = poll();
+        if (item != null) {
+            return item;
+        }
+
+        waitingConsumer = Thread.currentThread();
+        try {
+            while ((item = poll()) == null) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return item;
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    @Override
+    public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        T item = poll();
+        if (item != null) {
+            return item;
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        waitingConsumer = Thread.currentThread();
+        try {
+            while ((item = poll()) == null) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return item;
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int size() {
+        /* Read head first so a concurrent poll can never make size go negative. */
+        final long currentHead = head.get();
+        final long currentTail = tail.get();
+        final long size = currentTail - currentHead;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super T> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super T> collection, final int maxElements) {
+        int count = 0;
+        T item;
+        while (count < maxElements && (item = poll()) != null) {
+            collection.add(item);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Weakly consistent iterator over the published items, mostly here for debugging and toString.
+     * It does not support remove.
+     *
+     * @return iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+
+        return new Iterator<T>() {
+            private final long end = tail.get();
+            private long position = head.get();
+            private Object next = advance();
+
+            private Object advance() {
+                while (position < end) {
+                    final int slot = (int) position & mask;
+                    final Object item = buffer[slot];
+                    final boolean published = sequences.get(slot) == position + 1;
+                    position++;
+                    if (published && item != null) {
+                        return item;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                //noinspection unchecked
+                final T item = (T) next;
+                next = advance();
+                return item;
+            }
+        };
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+}
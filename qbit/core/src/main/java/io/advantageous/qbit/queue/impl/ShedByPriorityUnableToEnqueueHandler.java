@@ -0,0 +1,101 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.UnableToEnqueueHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * When the queue is full, sheds the items in the new batch whose priority is below a minimum.
+ * The rest are offered again, and if there is still no room they go to a fallback handler.
+ * The send returns false if anything was shed.
+ */
+public class ShedByPriorityUnableToEnqueueHandler implements UnableToEnqueueHandler {
+
+    private final ToIntFunction<Object> priority;
+    private final int minimumPriority;
+    private final Consumer<Object> onShed;
+    private final UnableToEnqueueHandler fallback;
+    private final AtomicLong shedCount = new AtomicLong();
+
+    /**
+     * @param priority        priority of an item
+     * @param minimumPriority items below this priority are shed
+     */
+    public ShedByPriorityUnableToEnqueueHandler(final ToIntFunction<Object> priority, final int minimumPriority) {
+        this(priority, minimumPriority, item -> {
+        }, new DefaultUnableToEnqueueHandler());
+    }
+
+    /**
+     * @param priority        priority of an item
+     * @param minimumPriority items below this priority are shed
+     * @param onShed          called for each item that was shed
+     * @param fallback        handles the items that are kept if there is still no room for them
+     */
+    public ShedByPriorityUnableToEnqueueHandler(final ToIntFunction<Object> priority,
+                                                final int minimumPriority,
+                                                final Consumer<Object> onShed,
+                                                final UnableToEnqueueHandler fallback) {
+        this.priority = priority;
+        this.minimumPriority = minimumPriority;
+        this.onShed = onShed;
+        this.fallback = fallback;
+    }
+
+    public boolean unableToEnqueue(BlockingQueue<Object> queue, String name, Object item) {
+
+        if (!(item instanceof Object[])) {
+            if (priority.applyAsInt(item) < minimumPriority) {
+                shed(item);
+                return false;
+            }
+            return fallback.unableToEnqueue(queue, name, item);
+        }
+
+        final Object[] batch = (Object[]) item;
+        final Object[] kept = new Object[batch.length];
+        int keptCount = 0;
+        for (Object batchItem : batch) {
+            if (priority.applyAsInt(batchItem) < minimumPriority) {
+                shed(batchItem);
+            } else {
+                kept[keptCount++] = batchItem;
+            }
+        }
+
+        if (keptCount == batch.length) {
+            return fallback.unableToEnqueue(queue, name, item);
+        }
+        if (keptCount > 0) {
+            final Object[] keptBatch = new Object[keptCount];
+            System.arraycopy(kept, 0, keptBatch, 0, keptCount);
+            if (!queue.offer(keptBatch)) {
+                fallback.unableToEnqueue(queue, name, keptBatch);
+            }
+        }
+        return false;
+    }
+
+    private void shed(final Object item) {
+        shedCount.incrementAndGet();
+        onShed.accept(item);
+    }
+
+    /**
+     * @return number of items shed so far
+     */
+    public long shedCount() {
+        return shedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ShedByPriorityUnableToEnqueueHandler{" +
+                "minimumPriority=" + minimumPriority +
+                ", shedCount=" + shedCount +
+                '}';
+    }
+}
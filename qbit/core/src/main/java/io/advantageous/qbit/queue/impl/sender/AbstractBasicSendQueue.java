@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static io.advantageous.qbit.queue.impl.sender.SenderHelperMethods.*;
 
@@ -22,20 +23,55 @@ public abstract class AbstractBasicSendQueue<T> implements SendQueue<T> {
     private final int checkStartWarnEvery = Sys.sysProp("QBIT_CHECK_START_WARN_EVERY", 100);
     private final boolean checkQueueSize = Sys.sysProp("QBIT_CHECK_QUEUE_SIZE", false);
     private final int checkQueueSizeWarnIfOver = Sys.sysProp("QBIT_CHECK_QUEUE_SIZE_WARN_IF_OVER", 10);
+    /**
+     * With adaptive batching, a partial batch that waited longer than this before it was flushed shrinks the batch.
+     */
+    private final long adaptiveMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(
+            Sys.sysProp("QBIT_ADAPTIVE_BATCH_MAX_WAIT_MS", 5));
+    private final boolean adaptiveBatching;
+    /**
+     * How full the queue can get, in percent, before this reports it is under pressure.
+     */
+    private final int highWaterMarkPercent = Sys.sysProp("QBIT_QUEUE_HIGH_WATER_MARK_PERCENT", 80);
+    /**
+     * Remaining capacity at or below which the queue is under pressure, -1 for unbounded queues.
+     */
+    private final int pressureRemainingCapacity;
+    private volatile boolean underPressure;
+    private long lastFlushTime = System.nanoTime();
     protected int checkEveryStarted = 0;
     protected int index;
     protected Object[] queueLocal;
+    /**
+     * Batch size in effect. It is the batchSize unless adaptive batching is on,
+     * in which case it moves between 1 and batchSize.
+     */
+    protected int currentBatchSize;
 
     public AbstractBasicSendQueue(final BlockingQueue<Object> queue, Queue<T> owner,
                                   final int batchSize,
                                   final String name,
                                   final Logger logger) {
+        this(queue, owner, batchSize, name, logger, false);
+    }
+
+    public AbstractBasicSendQueue(final BlockingQueue<Object> queue, Queue<T> owner,
+                                  final int batchSize,
+                                  final String name,
+                                  final Logger logger,
+                                  final boolean adaptiveBatching) {
         this.queue = queue;
         this.owner = owner;
         this.batchSize = batchSize;
         this.name = name;
         this.queueLocal = new Object[batchSize];
         this.logger = logger;
+        this.adaptiveBatching = adaptiveBatching;
+        this.currentBatchSize = adaptiveBatching ? 1 : batchSize;
+
+        final int remainingCapacity = queue.remainingCapacity();
+        this.pressureRemainingCapacity = remainingCapacity == Integer.MAX_VALUE ? -1 :
+                (int) ((queue.size() + (long) remainingCapacity) * (100 - highWaterMarkPercent) / 100);
 
     }
 
@@ -54,6 +90,16 @@ public abstract class AbstractBasicSendQueue<T> implements SendQueue<T> {
         boolean ableToSend = flushIfOverBatch();
         queueLocal[index] = item;
         index++;
+        if (adaptiveBatching && index >= currentBatchSize) {
+            try {
+                return sendLocalQueue() && ableToSend;
+            } catch (RuntimeException ex) {
+                /* The caller is told this item failed, so it must not go out with a later flush. */
+                index--;
+                queueLocal[index] = null;
+                throw ex;
+            }
+        }
         return ableToSend;
     }
 
@@ -130,6 +176,15 @@ public abstract class AbstractBasicSendQueue<T> implements SendQueue<T> {
         return queue.size();
     }
 
+    @Override
+    public final boolean isUnderPressure() {
+        /* Look again once set, so a drained queue stops reporting pressure even when nothing is being sent. */
+        if (underPressure) {
+            underPressure = queue.remainingCapacity() <= pressureRemainingCapacity;
+        }
+        return underPressure;
+    }
+
     @Override
     public final void flushSends() {
         sendLocalQueue();
@@ -140,13 +195,36 @@ public abstract class AbstractBasicSendQueue<T> implements SendQueue<T> {
         if (index > 0) {
             boolean ableToSend;
 
+            if (adaptiveBatching) {
+                adaptBatchSize();
+            }
             final Object[] copy = fastObjectArraySlice(queueLocal, 0, index);
             ableToSend = sendArray(copy);
             Arrays.fill(queueLocal, null);
             index = 0;
+            if (pressureRemainingCapacity >= 0) {
+                underPressure = !ableToSend || queue.remainingCapacity() <= pressureRemainingCapacity;
+            }
             return ableToSend;
         } else {
             return true;
         }
     }
+
+    /**
+     * An idle consumer or slow arrivals halve the batch so items go out right away.
+     * A full batch while the consumer still has a backlog doubles it, up to batchSize.
+     */
+    private void adaptBatchSize() {
+        final long now = System.nanoTime();
+        final boolean filled = index >= currentBatchSize;
+        final boolean slowArrivals = !filled && now - lastFlushTime > adaptiveMaxWaitNanos;
+        lastFlushTime = now;
+
+        if (slowArrivals || queue.isEmpty()) {
+            currentBatchSize = Math.max(1, currentBatchSize >> 1);
+        } else if (filled) {
+            currentBatchSize = Math.min(batchSize, currentBatchSize << 1);
+        }
+    }
 }
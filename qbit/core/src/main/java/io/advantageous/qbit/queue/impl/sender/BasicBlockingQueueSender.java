@@ -21,8 +21,20 @@ public class BasicBlockingQueueSender<T> extends AbstractBasicSendQueue<T> {
             final boolean checkBusy,
             final UnableToEnqueueHandler unableToEnqueueHandler,
             final Queue<T> owner) {
+        this(name, batchSize, queue, checkBusy, unableToEnqueueHandler, owner, false);
+    }
+
+    public BasicBlockingQueueSender(
+            final String name,
+            final int batchSize,
+            final BlockingQueue<Object> queue,
+            final boolean checkBusy,
+            final UnableToEnqueueHandler unableToEnqueueHandler,
+            final Queue<T> owner,
+            final boolean adaptiveBatching) {
 
-        super(queue, owner, batchSize, name + "| BQ SEND QUEUE", LoggerFactory.getLogger(BasicBlockingQueueSender.class));
+        super(queue, owner, batchSize, name + "| BQ SEND QUEUE", LoggerFactory.getLogger(BasicBlockingQueueSender.class),
+                adaptiveBatching);
 
 
         this.unableToEnqueueHandler = unableToEnqueueHandler;
@@ -33,7 +45,7 @@ public class BasicBlockingQueueSender<T> extends AbstractBasicSendQueue<T> {
 
 
     protected final boolean flushIfOverBatch() {
-        return index < batchSize || sendLocalQueue();
+        return index < currentBatchSize || sendLocalQueue();
     }
 
 
@@ -44,8 +44,19 @@ public class BasicSendQueueWithTransferQueue<T> extends AbstractBasicSendQueue<T
             final TransferQueue<Object> queue,
             final int checkBusyEvery,
             final Queue<T> owner) {
+        this(name, batchSize, queue, checkBusyEvery, owner, false);
+    }
+
+    public BasicSendQueueWithTransferQueue(
+            final String name,
+            final int batchSize,
+            final TransferQueue<Object> queue,
+            final int checkBusyEvery,
+            final Queue<T> owner,
+            final boolean adaptiveBatching) {
 
-        super(queue, owner, batchSize, name + "| TQ SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTransferQueue.class));
+        super(queue, owner, batchSize, name + "| TQ SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTransferQueue.class),
+                adaptiveBatching);
 
 
         this.queue = queue;
@@ -59,7 +70,7 @@ public class BasicSendQueueWithTransferQueue<T> extends AbstractBasicSendQueue<T
 
     protected final boolean flushIfOverBatch() {
 
-        if (index >= batchSize) {
+        if (index >= currentBatchSize) {
             return sendLocalQueue();
         }
         checkEveryCount++;
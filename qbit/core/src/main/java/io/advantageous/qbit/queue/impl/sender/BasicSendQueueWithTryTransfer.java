@@ -45,8 +45,19 @@ public class BasicSendQueueWithTryTransfer<T> extends AbstractBasicSendQueue<T>
             final TransferQueue<Object> queue,
             final int checkBusyEvery,
             final Queue<T> owner) {
+        this(name, batchSize, queue, checkBusyEvery, owner, false);
+    }
+
+    public BasicSendQueueWithTryTransfer(
+            final String name,
+            final int batchSize,
+            final TransferQueue<Object> queue,
+            final int checkBusyEvery,
+            final Queue<T> owner,
+            final boolean adaptiveBatching) {
 
-        super(queue, owner, batchSize, name + "| TQT SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTryTransfer.class));
+        super(queue, owner, batchSize, name + "| TQT SEND QUEUE", LoggerFactory.getLogger(BasicSendQueueWithTryTransfer.class),
+                adaptiveBatching);
 
 
         this.queue = queue;
@@ -60,7 +71,7 @@ public class BasicSendQueueWithTryTransfer<T> extends AbstractBasicSendQueue<T>
 
     protected final boolean flushIfOverBatch() {
 
-        if (index >= batchSize) {
+        if (index >= currentBatchSize) {
             return sendLocalQueue();
         }
 
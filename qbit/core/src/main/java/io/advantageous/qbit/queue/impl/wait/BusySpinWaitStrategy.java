@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue.impl.wait;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+/**
+ * Polls in a tight loop until an item shows up or the idle wait is over.
+ * Use for latency critical queues only as it keeps a core busy.
+ */
+public final class BusySpinWaitStrategy implements WaitStrategy {
+
+    public static final BusySpinWaitStrategy INSTANCE = new BusySpinWaitStrategy();
+
+    private BusySpinWaitStrategy() {
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> queue, final long idleWaitNanos) {
+        final long deadline = System.nanoTime() + idleWaitNanos;
+        T item;
+        while ((item = queue.poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "BusySpinWaitStrategy";
+    }
+}
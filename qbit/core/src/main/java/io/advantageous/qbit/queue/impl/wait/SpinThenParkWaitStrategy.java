@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue.impl.wait;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins, then yields, then parks between polls.
+ * The park time starts at one microsecond and doubles up to maxParkNanos.
+ * Gives quick wake ups right after traffic and cheap waiting once the queue stays quiet.
+ */
+public final class SpinThenParkWaitStrategy implements WaitStrategy {
+
+    private static final long MIN_PARK_NANOS = 1_000;
+
+    private final int spinTries;
+    private final int yieldTries;
+    private final long maxParkNanos;
+
+    public SpinThenParkWaitStrategy(final int spinTries, final int yieldTries, final long maxParkNanos) {
+        this.spinTries = spinTries;
+        this.yieldTries = yieldTries;
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, maxParkNanos);
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> queue, final long idleWaitNanos) {
+        final long deadline = System.nanoTime() + idleWaitNanos;
+        int tries = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        T item;
+        while ((item = queue.poll()) == null) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            if (tries < spinTries) {
+                tries++;
+            } else if (tries < spinTries + yieldTries) {
+                tries++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(parkNanos, remaining));
+                parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "SpinThenParkWaitStrategy{" +
+                "spinTries=" + spinTries +
+                ", yieldTries=" + yieldTries +
+                ", maxParkNanos=" + maxParkNanos +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.queue.impl.wait;
+
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+
+/**
+ * Polls spinTries times and then yields between polls until an item shows up or the idle wait is over.
+ */
+public final class SpinThenYieldWaitStrategy implements WaitStrategy {
+
+    private final int spinTries;
+
+    public SpinThenYieldWaitStrategy(final int spinTries) {
+        this.spinTries = spinTries;
+    }
+
+    @Override
+    public <T> T waitForItem(final ReceiveQueue<T> queue, final long idleWaitNanos) {
+        final long deadline = System.nanoTime() + idleWaitNanos;
+        int tries = 0;
+        T item;
+        while ((item = queue.poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            if (tries < spinTries) {
+                tries++;
+            } else {
+                Thread.yield();
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return "SpinThenYieldWaitStrategy{" +
+                "spinTries=" + spinTries +
+                '}';
+    }
+}
@@ -5,19 +5,16 @@ import io.advantageous.qbit.reactive.async.AsyncFutureCallbackImpl;
 import io.advantageous.qbit.service.ServiceProxyUtils;
 import io.advantageous.qbit.time.Duration;
 import io.advantageous.qbit.util.Timer;
+import io.advantageous.qbit.util.TimingWheel;
 import org.slf4j.Logger;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * You could use a reactor per service.
@@ -38,6 +35,12 @@ public class Reactor {
     /* Future can come back on another thread so it has to be handled by thread safe queue. */
     private final BlockingQueue<AsyncFutureCallback<?>> removeFutureQueue = new LinkedTransferQueue<>();
 
+    /* Futures added with addCallback can come from any thread. */
+    private final BlockingQueue<AsyncFutureCallback<?>> polledFutureQueue = new LinkedTransferQueue<>();
+
+    /* Futures created by the reactor put themselves here when they are done. */
+    private final BlockingQueue<AsyncFutureCallback<?>> doneFutureQueue = new LinkedTransferQueue<>();
+
 
     /* Coordinator can come back on another thread so it has to be handled by thread safe queue. */
     private final BlockingQueue<CallbackCoordinator> coordinatorQueue = new LinkedTransferQueue<>();
@@ -48,15 +51,34 @@ public class Reactor {
 
 
     /**
-     * List of futures that we are managing.
+     * Futures created by the reactor that we are managing, with their timeouts.
+     * These tell us when they are done so we never have to look at them until then.
+     */
+    private final Map<AsyncFutureCallback<?>, TimingWheel.Timeout<Object>> futureList = new HashMap<>();
+
+
+    /**
+     * Futures added with addCallback. We can't tell when these are done so they get checked on each process.
+     */
+    private final Set<AsyncFutureCallback<?>> polledFutureList = new HashSet<>();
+
+
+    /**
+     * List of coordinators that we are managing, with their timeouts.
      */
-    private final Set<AsyncFutureCallback<?>> futureList = new HashSet<>();
+    private final Map<CallbackCoordinator, TimingWheel.Timeout<Object>> coordinatorList = new HashMap<>();
 
 
     /**
-     * List of coordinators that we are managing.
+     * Futures and coordinators by when they time out.
      */
-    private final Set<CallbackCoordinator> coordinatorList = new HashSet<>();
+    private final TimingWheel<Object> timeouts;
+
+
+    /**
+     * Futures that are done, reused each process.
+     */
+    private final List<AsyncFutureCallback<?>> doneFutures = new ArrayList<>();
 
 
     /**
@@ -75,12 +97,21 @@ public class Reactor {
     private long currentTime;
 
     /**
-     * Keeps list of repeating tasks.
+     * Keeps repeating tasks ordered by when they next run.
+     */
+    private final PriorityQueue<RepeatingTask> repeatingTasks = new PriorityQueue<>(1, ReactorTask.ORDER);
+
+
+    /**
+     * Keeps one shot tasks ordered by when they run.
      */
-    private List<RepeatingTask> repeatingTasks = new ArrayList<>(1);
+    private final PriorityQueue<FireOnceTask> fireOnceAfterTasks = new PriorityQueue<>(1, ReactorTask.ORDER);
 
 
-    private List<FireOnceTask> fireOnceAfterTasks = new ArrayList<>(1);
+    /**
+     * Keeps tasks that are due at the same time in the order they were added.
+     */
+    private long taskSequence;
 
 
     /**
@@ -99,6 +130,7 @@ public class Reactor {
         this.timer = timer;
         currentTime = timer.now();
         this.defaultTimeOut = timeUnit.toMillis(defaultTimeOut);
+        this.timeouts = new TimingWheel<>(currentTime, 10, 1024);
     }
 
 
@@ -168,12 +200,15 @@ public class Reactor {
 
         currentTime = timer.now();
 
-        /* Check to see if callbacks completed or timed out. */
+        /* Check to see if callbacks completed. */
         monitorCallBacks();
 
-        /* Check to see if coordinators completed or timed out. */
+        /* Check to see if coordinators completed. */
         monitorCallbackCoordinators();
 
+        /* Time out the callbacks and coordinators that are due. */
+        timeouts.advance(currentTime, this::timeOut);
+
         /* flush services. */
         collaboratingServices.forEach(ServiceProxyUtils::flushServiceProxy);
 
@@ -183,26 +218,30 @@ public class Reactor {
 
     public void processRepeatingTasks() {
 
-        /* Run repeating tasks if needed. */
-        repeatingTasks.forEach(repeatingTask -> {
-            if (currentTime - repeatingTask.lastTimeInvoked > repeatingTask.repeatEveryMS) {
-                repeatingTask.lastTimeInvoked = currentTime;
-                repeatingTask.task.run();
-            }
-        });
+        /* Run repeating tasks if needed. Tasks run once per call even if they are more than one period behind. */
+        final long now = currentTime;
+        RepeatingTask repeatingTask = repeatingTasks.peek();
+        while (repeatingTask != null && repeatingTask.isDue(now)) {
+            repeatingTasks.poll();
+            repeatingTask.runAfter = now + repeatingTask.repeatEveryMS;
+            repeatingTask.sequence = taskSequence++;
+            repeatingTasks.add(repeatingTask);
+            repeatingTask.task.run();
+            repeatingTask = repeatingTasks.peek();
+        }
     }
 
 
     public void processFireOnceTasks() {
 
-        /* Run repeating tasks if needed. */
-        final List<FireOnceTask> fireOnceTasks = fireOnceAfterTasks.stream()
-                .filter(fireOnceTask -> currentTime - fireOnceTask.created > fireOnceTask.fireAfterMS)
-                .collect(Collectors.toList());
-
-        fireOnceTasks.forEach(fireOnceTask -> fireOnceTask.task.run());
-
-        fireOnceAfterTasks.removeAll(fireOnceTasks);
+        /* Run one shot tasks if needed. */
+        final long now = currentTime;
+        FireOnceTask fireOnceTask = fireOnceAfterTasks.peek();
+        while (fireOnceTask != null && fireOnceTask.isDue(now)) {
+            fireOnceAfterTasks.poll();
+            fireOnceTask.task.run();
+            fireOnceTask = fireOnceAfterTasks.peek();
+        }
 
     }
 
@@ -211,26 +250,41 @@ public class Reactor {
 
         CallbackCoordinator callable = coordinatorQueue.poll();
         while (callable != null) {
-            coordinatorList.add(callable);
+            coordinatorList.put(callable, scheduleTimeout(callable, callable.startTime(), callable.timeOutDuration()));
             callable = coordinatorQueue.poll();
         }
 
         callable = removeCoordinatorQueue.poll();
         while (callable != null) {
-            coordinatorList.remove(callable);
-            callable = coordinatorQueue.poll();
+            cancelTimeout(coordinatorList.remove(callable));
+            callable = removeCoordinatorQueue.poll();
+        }
+
+        /* Drain done before new so every done future we see has already been added. */
+        AsyncFutureCallback<?> futureCallback = doneFutureQueue.poll();
+        while (futureCallback != null) {
+            doneFutures.add(futureCallback);
+            futureCallback = doneFutureQueue.poll();
         }
 
-        AsyncFutureCallback<?> futureCallback = futureQueue.poll();
+        futureCallback = futureQueue.poll();
         while (futureCallback != null) {
-            futureList.add(futureCallback);
+            futureList.put(futureCallback, scheduleTimeout(futureCallback,
+                    futureCallback.startTime(), futureCallback.timeOutDuration()));
             futureCallback = futureQueue.poll();
         }
 
+        futureCallback = polledFutureQueue.poll();
+        while (futureCallback != null) {
+            polledFutureList.add(futureCallback);
+            futureCallback = polledFutureQueue.poll();
+        }
+
         futureCallback = removeFutureQueue.poll();
         while (futureCallback != null) {
-            futureList.remove(futureCallback);
-            futureCallback = futureQueue.poll();
+            cancelTimeout(futureList.remove(futureCallback));
+            polledFutureList.remove(futureCallback);
+            futureCallback = removeFutureQueue.poll();
         }
 
 
@@ -320,10 +374,10 @@ public class Reactor {
                 AsyncFutureCallbackImpl.callback(callback, currentTime,
                         timeUnit.toMillis(timeoutDuration),
                         createOnFinished(ref)
-                        , onTimeout, onError);
+                        , onTimeout, onError, createOnDone(ref));
 
         ref.set(asyncFutureCallback);
-        addCallback(asyncFutureCallback);
+        futureQueue.add(asyncFutureCallback);
         return asyncFutureCallback;
 
     }
@@ -352,28 +406,32 @@ public class Reactor {
                 AsyncFutureBlockOnGetCallbackImpl.callback(callback, currentTime,
                         timeUnit.toMillis(timeoutDuration),
                         createOnFinished(ref)
-                        , onTimeout, onError);
+                        , onTimeout, onError, createOnDone(ref));
 
         ref.set(asyncFutureCallback);
-        addCallback(asyncFutureCallback);
+        futureQueue.add(asyncFutureCallback);
         return asyncFutureCallback;
 
     }
 
     /**
-     * Add a callback to manage
+     * Add a future that the reactor checks on each process until it is done or times out.
      *
-     * @param asyncFutureCallback callback
-     * @param <T>                 T
+     * @param asyncFutureCallback future
+     * @param <T>                 type of future
      */
     public <T> void addCallback(final AsyncFutureCallback<T> asyncFutureCallback) {
-        futureQueue.add(asyncFutureCallback);
+        polledFutureQueue.add(asyncFutureCallback);
     }
 
     private <T> Runnable createOnFinished(final AtomicReference<AsyncFutureCallback<T>> ref) {
         return () -> Reactor.this.removeFuture(ref.get());
     }
 
+    private <T> Runnable createOnDone(final AtomicReference<AsyncFutureCallback<T>> ref) {
+        return () -> doneFutureQueue.add(ref.get());
+    }
+
     /**
      * Create a callback
      *
@@ -547,47 +605,92 @@ public class Reactor {
      */
     private void monitorCallBacks() {
 
-        if (futureList.size() > 0) {
+        if (doneFutures.size() > 0) {
+            for (int index = 0; index < doneFutures.size(); index++) {
+                final AsyncFutureCallback<?> callback = doneFutures.get(index);
+                if (futureList.containsKey(callback)) {
+                    cancelTimeout(futureList.remove(callback));
+                    callback.run();
+                }
+            }
+            doneFutures.clear();
+        }
 
-            final List<AsyncFutureCallback<?>> removeList = new ArrayList<>(futureList.size());
-            long now = currentTime;
-            for (AsyncFutureCallback<?> callback : futureList) {
+        if (polledFutureList.size() > 0) {
+            final long now = currentTime;
+            final Iterator<AsyncFutureCallback<?>> iterator = polledFutureList.iterator();
+            while (iterator.hasNext()) {
+                final AsyncFutureCallback<?> callback = iterator.next();
                 if (callback.isDone()) {
                     callback.run();
-                    removeList.add(callback);
-                } else {
-                    if (callback.checkTimeOut(now)) {
-                        removeList.add(callback);
-                    }
+                    iterator.remove();
+                } else if (callback.checkTimeOut(now)) {
+                    iterator.remove();
                 }
             }
-            futureList.removeAll(removeList);
         }
     }
 
     /**
      * Monitors Callback Coordinators.
-     * Trigger timeouts if needed and remove coordinators from list that timed out.
+     * Remove coordinators from list that completed. Timeouts are triggered from the timing wheel.
      */
     private void monitorCallbackCoordinators() {
 
-
+        /* Coordinators can only tell us they are complete when asked. */
         if (coordinatorList.size() > 0) {
-            final List<CallbackCoordinator> removeList = new ArrayList<>(coordinatorList.size());
-
-            for (CallbackCoordinator callable : coordinatorList) {
-                if (callable.checkComplete()) {
-                    callable.finished();
-                    removeList.add(callable);
-                } else if (callable.timedOut(currentTime)) {
-                    removeList.add(callable);
+            final Iterator<Map.Entry<CallbackCoordinator, TimingWheel.Timeout<Object>>> iterator =
+                    coordinatorList.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<CallbackCoordinator, TimingWheel.Timeout<Object>> entry = iterator.next();
+                if (entry.getKey().checkComplete()) {
+                    iterator.remove();
+                    cancelTimeout(entry.getValue());
+                    entry.getKey().finished();
                 }
             }
-            coordinatorList.removeAll(removeList);
         }
 
     }
 
+    private TimingWheel.Timeout<Object> scheduleTimeout(final Object item, final long startTime,
+                                                        final long timeOutDuration) {
+        if (startTime == -1 || timeOutDuration == -1) {
+            return null;
+        }
+        return timeouts.schedule(item, startTime + timeOutDuration);
+    }
+
+    private void cancelTimeout(final TimingWheel.Timeout<Object> timeout) {
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void timeOut(final Object item) {
+        if (item instanceof AsyncFutureCallback) {
+            final AsyncFutureCallback<?> callback = (AsyncFutureCallback<?>) item;
+            if (futureList.remove(callback) != null) {
+                /* It may have finished since we drained the done queue. */
+                if (callback.isDone()) {
+                    callback.run();
+                } else {
+                    callback.checkTimeOut(currentTime);
+                }
+            }
+        } else {
+            final CallbackCoordinator coordinator = (CallbackCoordinator) item;
+            if (coordinatorList.containsKey(coordinator)) {
+                if (coordinator.timedOut(currentTime)) {
+                    coordinatorList.remove(coordinator);
+                } else {
+                    coordinatorList.put(coordinator, scheduleTimeout(coordinator,
+                            coordinator.startTime(), coordinator.timeOutDuration()));
+                }
+            }
+        }
+    }
+
     /**
      * Used for quickly delegating one callback to another.
      * <p>
@@ -741,17 +844,38 @@ public class Reactor {
                 .build();
     }
 
+    /**
+     * Task the reactor runs once its runAfter time has passed.
+     */
+    abstract static class ReactorTask {
+
+        static final Comparator<ReactorTask> ORDER = (a, b) -> a.runAfter != b.runAfter ?
+                Long.compare(a.runAfter, b.runAfter) : Long.compare(a.sequence, b.sequence);
+
+        final Runnable task;
+        long runAfter;
+        long sequence;
+
+        ReactorTask(final Runnable task, final long runAfter, final long sequence) {
+            this.task = task;
+            this.runAfter = runAfter;
+            this.sequence = sequence;
+        }
+
+        boolean isDue(final long now) {
+            return now > runAfter;
+        }
+    }
+
     /**
      * A repeating task.
      */
-    class RepeatingTask {
-        private final Runnable task;
+    class RepeatingTask extends ReactorTask {
         private final long repeatEveryMS;
-        private long lastTimeInvoked;
 
 
         public RepeatingTask(Runnable task, TimeUnit timeUnit, long repeatEvery) {
-            this.task = task;
+            super(task, timeUnit.toMillis(repeatEvery), taskSequence++);
             this.repeatEveryMS = timeUnit.toMillis(repeatEvery);
         }
     }
@@ -760,15 +884,10 @@ public class Reactor {
     /**
      * Fire once task.
      */
-    class FireOnceTask {
-        private final Runnable task;
-        private final long fireAfterMS;
-        private final long created;
+    class FireOnceTask extends ReactorTask {
 
         public FireOnceTask(Runnable task, TimeUnit timeUnit, long fireAfter) {
-            this.task = task;
-            this.created = currentTime;
-            this.fireAfterMS = timeUnit.toMillis(fireAfter);
+            super(task, currentTime + timeUnit.toMillis(fireAfter), taskSequence++);
         }
     }
 }
@@ -20,6 +20,7 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
     private final long startTime;
     private final long maxExecutionTime;
     private final Runnable onFinished;
+    private final Runnable onDone;
     private final Consumer<Throwable> onError;
     private final AtomicReference<T> value = new AtomicReference<>();
     private final AtomicReference<Throwable> error = new AtomicReference<>();
@@ -34,6 +35,19 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
                                              final Runnable onFinished,
                                              final Runnable onTimeout,
                                              final Consumer<Throwable> onError) {
+        this(callback, startTime, maxExecutionDuration, onFinished, onTimeout, onError, null);
+    }
+
+    /**
+     * @param onDone called once on the completing thread when the callback gets a value, an error or is cancelled
+     */
+    public AsyncFutureBlockOnGetCallbackImpl(final Callback<T> callback,
+                                             final long startTime,
+                                             final long maxExecutionDuration,
+                                             final Runnable onFinished,
+                                             final Runnable onTimeout,
+                                             final Consumer<Throwable> onError,
+                                             final Runnable onDone) {
         this.callback = callback;
         this.startTime = startTime;
         this.maxExecutionTime = maxExecutionDuration;
@@ -42,6 +56,7 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
         } : onFinished;
 
         this.onTimeout = onTimeout;
+        this.onDone = onDone;
 
     }
 
@@ -54,6 +69,16 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
         return new AsyncFutureBlockOnGetCallbackImpl<>(callback, startTime, maxExecutionTime, onFinished, onTimeout, onError);
     }
 
+    public static <T> AsyncFutureBlockOnGetCallbackImpl<T> callback(final Callback<T> callback,
+                                                                    final long startTime,
+                                                                    final long maxExecutionTime,
+                                                                    final Runnable onFinished,
+                                                                    final Runnable onTimeout,
+                                                                    final Consumer<Throwable> onError,
+                                                                    final Runnable onDone) {
+        return new AsyncFutureBlockOnGetCallbackImpl<>(callback, startTime, maxExecutionTime, onFinished, onTimeout, onError, onDone);
+    }
+
     @Override
     public void finished() {
         onFinished.run();
@@ -90,7 +115,7 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
     @Override
     public void accept(final T t) {
         value.set(t);
-        done.set(true);
+        markDone();
         latch.countDown();
     }
 
@@ -98,7 +123,7 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
     public void onError(final Throwable error) {
 
         this.error.set(error);
-        done.set(true);
+        markDone();
         latch.countDown();
 
     }
@@ -137,11 +162,17 @@ public class AsyncFutureBlockOnGetCallbackImpl<T> implements AsyncFutureCallback
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
         cancelled.set(true);
-        done.set(true);
+        markDone();
         latch.countDown();
         return true;
     }
 
+    private void markDone() {
+        if (done.compareAndSet(false, true) && onDone != null) {
+            onDone.run();
+        }
+    }
+
     @Override
     public boolean isCancelled() {
         return cancelled.get();
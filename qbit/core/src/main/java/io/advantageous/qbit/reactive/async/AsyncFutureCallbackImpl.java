@@ -23,6 +23,7 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
     private final long startTime;
     private final long maxExecutionTime;
     private final Runnable onFinished;
+    private final Runnable onDone;
     private final Consumer<Throwable> onError;
     private final AtomicReference<T> value = new AtomicReference<>();
     private final AtomicReference<Throwable> error = new AtomicReference<>();
@@ -36,6 +37,19 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
                                    final Runnable onFinished,
                                    final Runnable onTimeout,
                                    final Consumer<Throwable> onError) {
+        this(callback, startTime, maxExecutionDuration, onFinished, onTimeout, onError, null);
+    }
+
+    /**
+     * @param onDone called once on the completing thread when the callback gets a value, an error or is cancelled
+     */
+    public AsyncFutureCallbackImpl(final Callback<T> callback,
+                                   final long startTime,
+                                   final long maxExecutionDuration,
+                                   final Runnable onFinished,
+                                   final Runnable onTimeout,
+                                   final Consumer<Throwable> onError,
+                                   final Runnable onDone) {
         this.callback = callback;
         this.startTime = startTime;
         this.maxExecutionTime = maxExecutionDuration;
@@ -44,6 +58,7 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
         } : onFinished;
 
         this.onTimeout = onTimeout;
+        this.onDone = onDone;
 
     }
 
@@ -56,6 +71,16 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
         return new AsyncFutureCallbackImpl<>(callback, startTime, maxExecutionTime, onFinished, onTimeout, onError);
     }
 
+    public static <T> AsyncFutureCallbackImpl<T> callback(final Callback<T> callback,
+                                                          final long startTime,
+                                                          final long maxExecutionTime,
+                                                          final Runnable onFinished,
+                                                          final Runnable onTimeout,
+                                                          final Consumer<Throwable> onError,
+                                                          final Runnable onDone) {
+        return new AsyncFutureCallbackImpl<>(callback, startTime, maxExecutionTime, onFinished, onTimeout, onError, onDone);
+    }
+
     @Override
     public void finished() {
         onFinished.run();
@@ -92,14 +117,14 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
     @Override
     public void accept(final T t) {
         value.set(t);
-        done.set(true);
+        markDone();
     }
 
     @Override
     public void onError(final Throwable error) {
 
         this.error.set(error);
-        done.set(true);
+        markDone();
 
     }
 
@@ -136,10 +161,16 @@ public class AsyncFutureCallbackImpl<T> implements AsyncFutureCallback<T> {
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
         cancelled.set(true);
-        done.set(true);
+        markDone();
         return true;
     }
 
+    private void markDone() {
+        if (done.compareAndSet(false, true) && onDone != null) {
+            onDone.run();
+        }
+    }
+
     @Override
     public boolean isCancelled() {
         return cancelled.get();
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 
 /**
  * Combines a sender with a protocol encoder so we can forward messages to another remote end point.
@@ -43,17 +44,39 @@ public class SenderEndPoint implements EndPoint {
     private final ProtocolEncoder encoder;
     private final String address;
     private final Sender<String> sender;
+    private final Sender<byte[]> binarySender;
     private final BeforeMethodCall beforeMethodCall;
     private final BlockingQueue<MethodCall<Object>> methodCalls;
     private final Logger logger = LoggerFactory.getLogger(SenderEndPoint.class);
 
     public SenderEndPoint(ProtocolEncoder encoder, String address, Sender<String> sender, BeforeMethodCall beforeMethodCall,
                           int requestBatchSize) {
+        this(encoder, address, sender, null, beforeMethodCall, requestBatchSize);
+    }
+
+    private SenderEndPoint(ProtocolEncoder encoder, String address, Sender<String> sender, Sender<byte[]> binarySender,
+                           BeforeMethodCall beforeMethodCall, int requestBatchSize) {
         this.encoder = encoder;
         this.address = address;
         this.beforeMethodCall = beforeMethodCall == null ? new NoOpBeforeMethodCall() : beforeMethodCall;
         this.methodCalls = new ArrayBlockingQueue<>(requestBatchSize);
         this.sender = sender;
+        this.binarySender = binarySender;
+    }
+
+    /**
+     * Creates an end point that sends the method calls as binary frames.
+     *
+     * @param encoder          encoder, method calls are encoded with encodeMethodCallsAsBytes
+     * @param address          address
+     * @param binarySender     sender of the encoded bytes
+     * @param beforeMethodCall before method call
+     * @param requestBatchSize request batch size
+     * @return end point
+     */
+    public static SenderEndPoint binarySenderEndPoint(ProtocolEncoder encoder, String address, Sender<byte[]> binarySender,
+                                                      BeforeMethodCall beforeMethodCall, int requestBatchSize) {
+        return new SenderEndPoint(encoder, address, null, binarySender, beforeMethodCall, requestBatchSize);
     }
 
     @Override
@@ -89,14 +112,20 @@ public class SenderEndPoint implements EndPoint {
 
         if (methodCalls.size() > 0) {
             String returnAddress = methodCalls.get(0).returnAddress();
-            sender.send(returnAddress, encoder.encodeMethodCalls(methodCalls.get(0).returnAddress(), methodCalls), e -> {
+            final Consumer<Exception> exceptionConsumer = e -> {
 
                 methodCalls.forEach(mc -> {
                     if (mc.callback() != null) {
                         mc.callback().onError(e);
                     }
                 });
-            });
+            };
+            if (binarySender != null) {
+                binarySender.send(returnAddress, encoder.encodeMethodCallsAsBytes(returnAddress, methodCalls),
+                        exceptionConsumer);
+            } else {
+                sender.send(returnAddress, encoder.encodeMethodCalls(returnAddress, methodCalls), exceptionConsumer);
+            }
         }
     }
 
@@ -121,6 +150,10 @@ public class SenderEndPoint implements EndPoint {
         } catch (Exception ex) {
             logger.warn("Unable to flush before stop", ex);
         }
-        sender.stop();
+        if (binarySender != null) {
+            binarySender.stop();
+        } else {
+            sender.stop();
+        }
     }
 }
@@ -185,6 +185,10 @@ public class EndpointServerBuilder {
     private long flushResponseInterval = 25;
     private int parserWorkerCount = 4;
     private int encoderWorkerCount = 2;
+    /**
+     * Accept binary protocol frames on the WebSocket and answer them in binary.
+     */
+    private boolean binaryProtocol = true;
 
     private CallbackManager callbackManager;
     private CallbackManagerBuilder callbackManagerBuilder;
@@ -243,6 +247,7 @@ public class EndpointServerBuilder {
         this.parserWorkerCount = propertyResolver.getIntegerProperty("parserWorkerCount", parserWorkerCount);
         this.flushResponseInterval = propertyResolver.getLongProperty("flushResponseInterval", flushResponseInterval);
         this.protocolBatchSize = propertyResolver.getIntegerProperty("protocolBatchSize", protocolBatchSize);
+        this.binaryProtocol = propertyResolver.getBooleanProperty("binaryProtocol", binaryProtocol);
 
     }
 
@@ -531,6 +536,21 @@ public class EndpointServerBuilder {
         return this;
     }
 
+    public boolean isBinaryProtocol() {
+        return binaryProtocol;
+    }
+
+    /**
+     * Whether clients may send binary protocol frames over the WebSocket. Responses use the protocol the client used.
+     *
+     * @param binaryProtocol accept the binary protocol
+     * @return this builder
+     */
+    public EndpointServerBuilder setBinaryProtocol(boolean binaryProtocol) {
+        this.binaryProtocol = binaryProtocol;
+        return this;
+    }
+
     public boolean isEachServiceInItsOwnThread() {
         return eachServiceInItsOwnThread;
     }
@@ -687,7 +707,7 @@ public class EndpointServerBuilder {
                 this.getNumberOfOutstandingRequests(), getProtocolBatchSize(),
                 this.getFlushInterval(), this.getSystemManager(), getEndpointName(), getEndpointId(), getEndpointTags(),
                 getServiceDiscovery(), getHost(), getPort(), getTtlSeconds(), getHealthService(), getErrorHandler(),
-                getFlushResponseInterval(), getParserWorkerCount(), getEncoderWorkerCount());
+                getFlushResponseInterval(), getParserWorkerCount(), getEncoderWorkerCount(), isBinaryProtocol());
 
         if (serviceEndpointServer != null && qBitSystemManager != null) {
             qBitSystemManager.registerServer(serviceEndpointServer);
@@ -1,6 +1,7 @@
 package io.advantageous.qbit.server;
 
 import io.advantageous.boon.core.Str;
+import io.advantageous.boon.core.Sys;
 import io.advantageous.boon.primitive.CharBuf;
 import io.advantageous.qbit.GlobalConstants;
 import io.advantageous.qbit.annotation.RequestMethod;
@@ -9,26 +10,28 @@ import io.advantageous.qbit.http.HttpStatusCodeException;
 import io.advantageous.qbit.http.request.*;
 import io.advantageous.qbit.json.JsonMapper;
 import io.advantageous.qbit.message.MethodCall;
-import io.advantageous.qbit.message.Request;
 import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.meta.RequestMetaData;
 import io.advantageous.qbit.meta.ServiceMethodMeta;
 import io.advantageous.qbit.meta.builder.ContextMetaBuilder;
 import io.advantageous.qbit.meta.provider.StandardMetaDataProvider;
 import io.advantageous.qbit.meta.transformer.StandardRequestTransformer;
+import io.advantageous.qbit.queue.QueueException;
 import io.advantageous.qbit.queue.SendQueue;
 import io.advantageous.qbit.service.ServiceBundle;
 import io.advantageous.qbit.service.ServiceMethodNotFoundException;
+import io.advantageous.qbit.util.CallbackRegistry;
 import io.advantageous.qbit.util.MultiMap;
 import io.advantageous.qbit.util.MultiMapImpl;
 import io.advantageous.qbit.util.Timer;
+import io.advantageous.qbit.util.TimingWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -45,16 +48,38 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
 
 
     private final int timeoutInSeconds;
-    private final AtomicLong lastTimeoutCheckTime = new AtomicLong();
     private final int numberOfOutstandingRequests;
-    private final SendQueue<MethodCall<Object>> methodCallSendQueue;
+    /**
+     * Requests waiting on a service response keyed by request id and return address.
+     */
+    private final CallbackRegistry<TimingWheel.Timeout<HttpRequest>> outstandingRequests = new CallbackRegistry<>(64);
+    /**
+     * Admitted requests, counted before they are registered so the overflow check is exact under concurrency.
+     */
+    private final AtomicInteger outstandingRequestCount = new AtomicInteger();
+    private final TimingWheel<HttpRequest> timeoutWheel;
+    private final Consumer<HttpRequest> timeoutHandler = this::handleTimeout;
+    /**
+     * Number of send queues that HTTP threads spread their method calls over.
+     */
+    private static final int INGRESS_SHARDS = Sys.sysProp("QBIT_HTTP_INGRESS_SHARDS",
+            Runtime.getRuntime().availableProcessors());
+    /**
+     * Each HTTP thread gets its own send queue so event loops do not contend on one lock.
+     */
+    private final IngressShard[] ingressShards;
+    private final AtomicInteger nextIngressShard = new AtomicInteger();
+    private final ThreadLocal<IngressShard> ingressShard = new ThreadLocal<IngressShard>() {
+        @Override
+        protected IngressShard initialValue() {
+            return ingressShards[(nextIngressShard.getAndIncrement() & Integer.MAX_VALUE) % ingressShards.length];
+        }
+    };
     private final int flushInterval;
     private final JsonMapper jsonMapper;
-    private final Map<String, Request<Object>> outstandingRequestMap = new ConcurrentHashMap<>(100_000);
     private final Logger logger = LoggerFactory.getLogger(HttpRequestServiceServerHandlerUsingMetaImpl.class);
 
     private final boolean devMode = GlobalConstants.DEV_MODE;
-    private final Lock lock = new ReentrantLock();
     private final Map<RequestMethod, StandardMetaDataProvider> metaDataProviderMap = new ConcurrentHashMap<>();
     private final Consumer<Throwable> errorHandler;
     private long lastFlushTime;
@@ -68,12 +93,16 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
                                                         final int flushInterval,
                                                         final Consumer<Throwable> errorHandler) {
         this.timeoutInSeconds = timeoutInSeconds;
-        lastTimeoutCheckTime.set(Timer.timer().now() + (timeoutInSeconds * 1000));
+        final long timeoutInMS = timeoutInSeconds * 1000L;
+        this.timeoutWheel = new TimingWheel<>(Timer.timer().now(), Math.max(10, timeoutInMS / 32), 64);
         this.numberOfOutstandingRequests = numberOfOutstandingRequests;
         this.jsonMapper = jsonMapper;
         this.errorHandler = errorHandler;
 
-        this.methodCallSendQueue = serviceBundle.methodSendQueue();
+        this.ingressShards = new IngressShard[Math.max(1, INGRESS_SHARDS)];
+        for (int index = 0; index < ingressShards.length; index++) {
+            ingressShards[index] = new IngressShard(serviceBundle.methodSendQueue());
+        }
         this.flushInterval = flushInterval;
 
         contextMetaBuilder = ContextMetaBuilder.contextMetaBuilder();
@@ -158,11 +187,24 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
         final MethodCall<Object> methodCall = standardRequestTransformer.transform(request, errorList);
 
         if (methodCall != null && errorList.size() == 0) {
+            final IngressShard shard = ingressShard.get();
+            if (shard.isUnderPressure()) {
+                handleBackPressure(request);
+                return;
+            }
             if (!addRequestToCheckForTimeouts(request)) {
                 handleOverflow(request);
                 return;
             }
-            sendMethodToServiceBundle(methodCall);
+            try {
+                shard.send(methodCall);
+            } catch (QueueException queueException) {
+                /* A send that throws leaves nothing behind in the local batch, so the 503 is final. */
+                logger.debug("Unable to send method call to service bundle", queueException);
+                removeOutstandingRequest(request);
+                handleBackPressure(request);
+                return;
+            }
         } else {
             if (!request.isHandled()) {
                 handleErrorConverting(request, errorList, methodCall);
@@ -179,6 +221,7 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
                 && !serviceMethod.hasCallBack()) {
 
             request.handled();
+            removeOutstandingRequest(request);
 
             final int responseCode = serviceMethod.getResponseCode();
             writeResponse(request.getReceiver(), responseCode == -1 ? HttpStatus.ACCEPTED : responseCode,
@@ -196,9 +239,7 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
     @Override
     public void handleResponseFromServiceToHttpResponse(final Response<Object> response, final HttpRequest originatingRequest) {
 
-        final String key = Str.add("" + originatingRequest.id(), "|", originatingRequest.returnAddress());
-        this.outstandingRequestMap.remove(key);
-
+        removeOutstandingRequest(originatingRequest);
 
         if (response.wasErrors()) {
             handleError(response, originatingRequest);
@@ -224,10 +265,10 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
                     headers.putAllCopyLists(requestMetaData.getRequest().getResponseHeaders());
                 }
 
-                writeResponse(originatingRequest.getReceiver(),
+                writeJsonResponse(originatingRequest.getReceiver(),
                         responseCode == -1 ? HttpStatus.OK : responseCode,
                         serviceMethodMeta.getContentType(),
-                        jsonMapper.toJson(response.body()),
+                        response.body(),
                         headers);
 
             }
@@ -245,11 +286,8 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
 
         if (duration > flushInterval) {
             lastFlushTime = now;
-            try {
-                lock.lock();
-                methodCallSendQueue.flushSends();
-            } finally {
-                lock.unlock();
+            for (IngressShard shard : ingressShards) {
+                shard.flushSends();
             }
         }
 
@@ -275,14 +313,12 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
                 "\"too many outstanding requests\"", MultiMap.empty());
     }
 
-    private void sendMethodToServiceBundle(MethodCall<Object> methodCall) {
-
-        try {
-            lock.lock();
-            methodCallSendQueue.send(methodCall);
-        } finally {
-            lock.unlock();
-        }
+    /**
+     * The service bundle queue is backed up, so fail fast instead of letting it grow.
+     */
+    private void handleBackPressure(HttpRequest request) {
+        writeResponse(request.getReceiver(), HttpStatus.SERVICE_UNAVAILABLE, "application/json",
+                "\"service unavailable\"", MultiMap.empty());
     }
 
     private void handleErrorConverting(HttpRequest request, List<String> errorList, MethodCall<Object> methodCall) {
@@ -317,50 +353,30 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
 
     @Override
     public void checkTimeoutsForRequests() {
+        timeoutWheel.advance(Timer.timer().now(), timeoutHandler);
+    }
 
-//        if (outstandingRequestMap.size()==0) {
-//            return;
-//        }
-
-        final long now = Timer.timer().now();
-        final long durationSinceLastCheck = now - lastTimeoutCheckTime.get();
-        final long timeoutInMS = timeoutInSeconds * 1000;
-        final boolean timedOut = durationSinceLastCheck > timeoutInMS;
+    private void handleTimeout(final HttpRequest request) {
 
+        final TimingWheel.Timeout<HttpRequest> timeout = outstandingRequests.get(request.id(), request.returnAddress());
 
-        if (!(timedOut)) {
+        /* Already answered, or the id was reused by a newer request. */
+        if (timeout == null || timeout.item() != request
+                || !outstandingRequests.remove(request.id(), request.returnAddress(), timeout)) {
             return;
         }
+        outstandingRequestCount.decrementAndGet();
 
-        lastTimeoutCheckTime.set(now);
-
-        long duration;
-
-
-        final Set<Map.Entry<String, Request<Object>>> entries = outstandingRequestMap.entrySet();
-
-        for (Map.Entry<String, Request<Object>> requestEntry : entries) {
-
-            final Request<Object> request = requestEntry.getValue();
-            final String key = requestEntry.getKey();
-
-            if (request.isHandled()) {
-                request.handled();
-                outstandingRequestMap.remove(key);
-                continue;
-            }
-
-            duration = now - request.timestamp();
+        if (request.isHandled()) {
+            return;
+        }
 
-            if (duration > timeoutInMS) {
-                final HttpResponseReceiver httpResponse = ((HttpRequest) request).getReceiver();
-                try {
-                    //noinspection unchecked
-                    httpResponse.response(HttpStatus.TIMED_OUT, "application/json", "\"timed out\"");
-                } catch (Exception ex) {
-                    logger.debug("Response not marked handled and it timed out, but could not be written " + request, ex);
-                }
-            }
+        final HttpResponseReceiver httpResponse = request.getReceiver();
+        try {
+            //noinspection unchecked
+            httpResponse.response(HttpStatus.TIMED_OUT, "application/json", "\"timed out\"");
+        } catch (Exception ex) {
+            logger.debug("Response not marked handled and it timed out, but could not be written " + request, ex);
         }
     }
 
@@ -398,6 +414,21 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
         }
     }
 
+    /**
+     * Binary receivers get the UTF-8 bytes straight from the json mapper without a String in between.
+     */
+    private void writeJsonResponse(HttpResponseReceiver response, int code, String mimeType, Object body,
+                                   MultiMap<String, String> headers) {
+
+        if (response.isText()) {
+            //noinspection unchecked
+            response.response(code, mimeType, jsonMapper.toJson(body), headers);
+        } else {
+            //noinspection unchecked
+            response.response(code, mimeType, jsonMapper.toJsonBytes(body), headers);
+        }
+    }
+
     private void writeResponse(HttpResponseReceiver response, int code, String mimeType, String responseString,
                                MultiMap<String, String> headers) {
 
@@ -411,17 +442,34 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
     }
 
     /**
-     * Add a request to the timeout queue. Server checks for timeouts when it is idle or when
-     * the max outstanding outstandingRequests is met.
+     * Add a request to the timeout wheel. Requests over the numberOfOutstandingRequests limit are not added.
      *
      * @param request request.
+     * @return false if there are too many outstanding requests
      */
-    private boolean addRequestToCheckForTimeouts(final Request<Object> request) {
+    private boolean addRequestToCheckForTimeouts(final HttpRequest request) {
 
-        String key = Str.add("" + request.id(), "|", request.returnAddress());
-        this.outstandingRequestMap.put(key, request);
+        if (outstandingRequestCount.incrementAndGet() > numberOfOutstandingRequests) {
+            outstandingRequestCount.decrementAndGet();
+            return false;
+        }
+
+        final TimingWheel.Timeout<HttpRequest> timeout =
+                timeoutWheel.schedule(request, request.timestamp() + timeoutInSeconds * 1000L);
+        final TimingWheel.Timeout<HttpRequest> replaced = outstandingRequests.put(request.id(), request.returnAddress(), timeout);
+        if (replaced != null) {
+            replaced.cancel();
+            outstandingRequestCount.decrementAndGet();
+        }
+        return true;
+    }
 
-        return outstandingRequestMap.size() < numberOfOutstandingRequests;
+    private void removeOutstandingRequest(final HttpRequest request) {
+        final TimingWheel.Timeout<HttpRequest> timeout = outstandingRequests.remove(request.id(), request.returnAddress());
+        if (timeout != null) {
+            timeout.cancel();
+            outstandingRequestCount.decrementAndGet();
+        }
     }
 
     public String asJson(final Throwable ex) {
@@ -489,4 +537,39 @@ public class HttpRequestServiceServerHandlerUsingMetaImpl implements HttpRequest
 
     }
 
+
+    /**
+     * A send queue owned by the HTTP threads mapped to it.
+     * The lock is only contended when two threads share a shard or when the idle flush runs.
+     */
+    private static final class IngressShard {
+        private final Lock lock = new ReentrantLock();
+        private final SendQueue<MethodCall<Object>> sendQueue;
+
+        private IngressShard(final SendQueue<MethodCall<Object>> sendQueue) {
+            this.sendQueue = sendQueue;
+        }
+
+        void send(final MethodCall<Object> methodCall) {
+            lock.lock();
+            try {
+                sendQueue.send(methodCall);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isUnderPressure() {
+            return sendQueue.isUnderPressure();
+        }
+
+        void flushSends() {
+            lock.lock();
+            try {
+                sendQueue.flushSends();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
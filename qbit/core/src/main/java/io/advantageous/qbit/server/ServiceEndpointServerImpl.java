@@ -93,6 +93,34 @@ public class ServiceEndpointServerImpl implements ServiceEndpointServer {
                                      final long flushResponseInterval,
                                      final int parserWorkerCount,
                                      final int encoderWorkerCount) {
+        this(httpServer, encoder, parser, serviceBundle, jsonMapper, timeOutInSeconds, numberOfOutstandingRequests,
+                protocolBatchSize, flushInterval, systemManager, endpointName, endpointId, endpointTags,
+                serviceDiscovery, host, port, ttlSeconds, healthServiceAsync, errorHandler, flushResponseInterval,
+                parserWorkerCount, encoderWorkerCount, true);
+    }
+
+    public ServiceEndpointServerImpl(final HttpTransport httpServer, final ProtocolEncoder encoder,
+                                     final ProtocolParser parser,
+                                     final ServiceBundle serviceBundle,
+                                     final JsonMapper jsonMapper,
+                                     final int timeOutInSeconds,
+                                     final int numberOfOutstandingRequests,
+                                     final int protocolBatchSize,
+                                     final int flushInterval,
+                                     final QBitSystemManager systemManager,
+                                     final String endpointName,
+                                     final String endpointId,
+                                     final List<String> endpointTags,
+                                     final ServiceDiscovery serviceDiscovery,
+                                     final String host,
+                                     final int port,
+                                     final int ttlSeconds,
+                                     final HealthServiceAsync healthServiceAsync,
+                                     final Consumer<Throwable> errorHandler,
+                                     final long flushResponseInterval,
+                                     final int parserWorkerCount,
+                                     final int encoderWorkerCount,
+                                     final boolean binaryProtocol) {
 
         this.systemManager = systemManager;
         this.encoder = encoder;
@@ -107,7 +135,7 @@ public class ServiceEndpointServerImpl implements ServiceEndpointServer {
         this.healthServiceAsync = healthServiceAsync;
 
         this.webSocketHandler = new WebSocketServiceServerHandler(protocolBatchSize, serviceBundle,
-                parserWorkerCount, encoderWorkerCount, flushResponseInterval);
+                parserWorkerCount, encoderWorkerCount, flushResponseInterval, binaryProtocol);
 
         this.serviceDiscovery = serviceDiscovery;
 
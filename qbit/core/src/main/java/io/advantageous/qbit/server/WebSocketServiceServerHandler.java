@@ -29,6 +29,7 @@ import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.message.impl.MethodCallImpl;
 import io.advantageous.qbit.message.impl.ResponseImpl;
 import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.service.Protocol;
 import io.advantageous.qbit.service.ServiceBundle;
 import io.advantageous.qbit.spi.ProtocolEncoder;
 import io.advantageous.qbit.spi.ProtocolParser;
@@ -36,6 +37,7 @@ import io.advantageous.qbit.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -49,6 +51,10 @@ public class WebSocketServiceServerHandler {
 
     protected final int protocolBatchSize;
     protected final long flushResponseInterval;
+    /**
+     * Accept binary protocol frames, a connection that sends them gets its responses in binary.
+     */
+    protected final boolean binaryProtocol;
 
     protected final ThreadLocal<ProtocolEncoder> encoderRef = new ThreadLocal<ProtocolEncoder>() {
         @Override
@@ -63,6 +69,18 @@ public class WebSocketServiceServerHandler {
             return QBit.factory().createProtocolParser();
         }
     };
+    protected final ThreadLocal<ProtocolEncoder> binaryEncoderRef = new ThreadLocal<ProtocolEncoder>() {
+        @Override
+        protected ProtocolEncoder initialValue() {
+            return QBit.factory().createBinaryEncoder();
+        }
+    };
+    protected final ThreadLocal<ProtocolParser> binaryParserRef = new ThreadLocal<ProtocolParser>() {
+        @Override
+        protected ProtocolParser initialValue() {
+            return QBit.factory().createBinaryProtocolParser();
+        }
+    };
 
 
     private final Logger logger = LoggerFactory.getLogger(WebSocketServiceServerHandler.class);
@@ -80,8 +98,19 @@ public class WebSocketServiceServerHandler {
             final int parseWorkersCount,
             final int encodeWorkersCount,
             final long flushResponseInterval) {
+        this(protocolBatchSize, serviceBundle, parseWorkersCount, encodeWorkersCount, flushResponseInterval, true);
+    }
+
+    public WebSocketServiceServerHandler(
+            final int protocolBatchSize,
+            final ServiceBundle serviceBundle,
+            final int parseWorkersCount,
+            final int encodeWorkersCount,
+            final long flushResponseInterval,
+            final boolean binaryProtocol) {
         this.protocolBatchSize = protocolBatchSize;
         this.flushResponseInterval = flushResponseInterval;
+        this.binaryProtocol = binaryProtocol;
 
         this.methodCallSendQueue = serviceBundle.methodSendQueue();
 
@@ -174,7 +203,16 @@ public class WebSocketServiceServerHandler {
 
         List<MethodCall<Object>> methodCalls;
 
-        if (body != null) {
+        if (body instanceof byte[]) {
+
+            final byte[] bytes = (byte[]) body;
+            if (isBinaryFrame(bytes)) {
+                methodCalls = binaryParserRef.get().parseMethodCalls(addressPrefix, bytes);
+            } else {
+                methodCalls = parserRef.get().parseMethodCalls(addressPrefix, new String(bytes, StandardCharsets.UTF_8));
+            }
+
+        } else if (body != null) {
 
 
             methodCalls = parserRef.get().parseMethodCalls(addressPrefix, body.toString());
@@ -192,7 +230,11 @@ public class WebSocketServiceServerHandler {
                 final Response<Object> response = ResponseImpl.response(-1, Timer.timer().now(), "SYSTEM", "ERROR",
                         "CAN'T HANDLE CALL", originatingRequest, true);
                 final WebSocketSender sender = webSocketMessage.getSender();
-                sender.sendText(encoderRef.get().encodeResponses("SYSTEM", Lists.list(response)));
+                if (body instanceof byte[] && isBinaryFrame((byte[]) body)) {
+                    sender.sendBytes(binaryEncoderRef.get().encodeResponsesAsBytes("SYSTEM", Lists.list(response)));
+                } else {
+                    sender.sendText(encoderRef.get().encodeResponses("SYSTEM", Lists.list(response)));
+                }
 
             }
 
@@ -215,6 +257,10 @@ public class WebSocketServiceServerHandler {
 
     }
 
+    private boolean isBinaryFrame(final byte[] bytes) {
+        return binaryProtocol && bytes.length > 1 && bytes[0] == Protocol.BINARY_PROTOCOL_MARKER;
+    }
+
     public void checkResponseBatchSend() {
 
 
@@ -247,12 +293,19 @@ public class WebSocketServiceServerHandler {
 
         final WebSocketMessage serverWebSocket;
 
+        /**
+         * The client talks the binary protocol, so responses are sent in binary too.
+         */
+        final boolean binary;
+
         volatile long lastSend;
 
         private WebSocketDelegate(int requestBatchSize, WebSocketMessage serverWebSocket) {
             this.requestBatchSize = requestBatchSize;
             outputMessages = new ArrayBlockingQueue<>(requestBatchSize);
             this.serverWebSocket = serverWebSocket;
+            final Object message = serverWebSocket.getMessage();
+            this.binary = message instanceof byte[] && isBinaryFrame((byte[]) message);
         }
 
 
@@ -292,8 +345,12 @@ public class WebSocketServiceServerHandler {
             if (returnAddress != null) {
                 final String returnAddr = returnAddress;
                 protocolEncoderThreadPool.execute(() -> {
-                    @SuppressWarnings("unchecked") final String textMessage = encoderRef.get().encodeResponses(returnAddr, messages);
-                    serverWebSocket.getSender().sendText(textMessage);
+                    if (binary) {
+                        serverWebSocket.getSender().sendBytes(binaryEncoderRef.get().encodeResponsesAsBytes(returnAddr, messages));
+                    } else {
+                        @SuppressWarnings("unchecked") final String textMessage = encoderRef.get().encodeResponses(returnAddr, messages);
+                        serverWebSocket.getSender().sendText(textMessage);
+                    }
                 });
             }
 
@@ -63,5 +63,24 @@ public class Protocol {
     public static final int WAS_ERRORS_POS = 8;
     public static final int RESPONSE_RETURN = 9;
 
+    /**
+     * Binary protocol, sent as binary WebSocket frames.
+     * A frame starts with the marker and version, then a table of the strings used for addresses, names and headers
+     * so each one is sent once per frame, then the messages which refer to the strings by index.
+     */
+    public static final int BINARY_PROTOCOL_MARKER = 0x1b;
+    public static final int BINARY_PROTOCOL_VERSION = 1;
+
+    public static final int BINARY_TYPE_NULL = 0;
+    public static final int BINARY_TYPE_TRUE = 1;
+    public static final int BINARY_TYPE_FALSE = 2;
+    public static final int BINARY_TYPE_INT = 3;
+    public static final int BINARY_TYPE_LONG = 4;
+    public static final int BINARY_TYPE_DOUBLE = 5;
+    public static final int BINARY_TYPE_STRING = 6;
+    public static final int BINARY_TYPE_LIST = 7;
+    public static final int BINARY_TYPE_MAP = 8;
+    public static final int BINARY_TYPE_JSON = 9;
+
 
 }
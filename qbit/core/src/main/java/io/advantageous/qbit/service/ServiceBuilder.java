@@ -30,7 +30,9 @@ import io.advantageous.qbit.queue.Queue;
 import io.advantageous.qbit.queue.QueueBuilder;
 import io.advantageous.qbit.queue.QueueCallBackHandler;
 import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.WaitStrategy;
 import io.advantageous.qbit.queue.impl.QueueCallBackHandlerHub;
+import io.advantageous.qbit.queue.impl.QueueListenerPool;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.health.ServiceHealthListener;
 import io.advantageous.qbit.service.impl.*;
@@ -373,6 +375,40 @@ public class ServiceBuilder {
 
     }
 
+    /**
+     * Sets how the service thread waits for method calls when its request queue is empty.
+     *
+     * @param waitStrategy wait strategy for the request queue
+     * @return this
+     */
+    public ServiceBuilder setWaitStrategy(final WaitStrategy waitStrategy) {
+        this.getRequestQueueBuilder().setWaitStrategy(waitStrategy);
+        return this;
+    }
+
+    /**
+     * Runs the service request queue on a shared pool of threads instead of a thread of its own.
+     * The service is still only called from one thread at a time.
+     *
+     * @param listenerPool shared listener pool
+     * @return this
+     */
+    public ServiceBuilder setListenerPool(final QueueListenerPool listenerPool) {
+        this.getRequestQueueBuilder().setListenerPool(listenerPool);
+        return this;
+    }
+
+    /**
+     * Runs the service on a virtual thread if the JVM supports them.
+     *
+     * @param virtualThreads true to use a virtual thread
+     * @return this
+     */
+    public ServiceBuilder setVirtualThreads(final boolean virtualThreads) {
+        this.getRequestQueueBuilder().setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     public boolean isAsyncResponse() {
         return asyncResponse;
     }
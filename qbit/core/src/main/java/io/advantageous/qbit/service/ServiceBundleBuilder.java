@@ -27,6 +27,7 @@ import io.advantageous.qbit.message.Request;
 import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.queue.Queue;
 import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.impl.QueueListenerPool;
 import io.advantageous.qbit.service.health.HealthServiceAsync;
 import io.advantageous.qbit.service.impl.CallbackManager;
 import io.advantageous.qbit.service.impl.ServiceConstants;
@@ -84,6 +85,7 @@ public class ServiceBundleBuilder {
      */
     private Transformer<Request, Object> argTransformer = ServiceConstants.NO_OP_ARG_TRANSFORM;
     private Timer timer;
+    private QueueListenerPool listenerPool;
 
     public ServiceBundleBuilder(PropertyResolver propertyResolver) {
         this.invokeDynamic = propertyResolver.getBooleanProperty("invokeDynamic", true);
@@ -303,8 +305,29 @@ public class ServiceBundleBuilder {
     }
 
 
+    public QueueListenerPool getListenerPool() {
+        return listenerPool;
+    }
+
+    /**
+     * Runs the bundle queues and the queues of every service added to the bundle
+     * on a shared pool of threads instead of a thread per queue.
+     *
+     * @param listenerPool shared listener pool
+     * @return this
+     */
+    public ServiceBundleBuilder setListenerPool(final QueueListenerPool listenerPool) {
+        this.listenerPool = listenerPool;
+        return this;
+    }
+
     public ServiceBundle build() {
 
+        if (listenerPool != null) {
+            getRequestQueueBuilder().setListenerPool(listenerPool);
+            getResponseQueueBuilder().setListenerPool(listenerPool);
+            getWebResponseQueueBuilder().setListenerPool(listenerPool);
+        }
 
         final ServiceBundle serviceBundle = getFactory().createServiceBundle(this.getAddress(),
                 getRequestQueueBuilder(),
@@ -24,8 +24,10 @@ import io.advantageous.qbit.message.Response;
 import io.advantageous.qbit.queue.ReceiveQueueListener;
 import io.advantageous.qbit.queue.SendQueue;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * This is a plugin just for the piece that does the invocation.
@@ -70,4 +72,28 @@ public interface ServiceMethodHandler extends ReceiveQueueListener<MethodCall<Ob
     default boolean couldHaveCallback(final String name) {
         return false;
     }
+
+    /**
+     * True if calls to the method can be handed to {@link #receiveMethodCallBatch(List)} together.
+     *
+     * @param name name of method
+     * @return true if the method takes batches of calls
+     */
+    default boolean isBatchMethod(final String name) {
+        return false;
+    }
+
+    /**
+     * Handles calls to the same batch method with one invocation.
+     *
+     * @param methodCalls calls to one batch method in the order they arrived
+     * @return a response per method call
+     */
+    default List<Response<Object>> receiveMethodCallBatch(final List<MethodCall<Object>> methodCalls) {
+        final List<Response<Object>> responses = new ArrayList<>(methodCalls.size());
+        for (MethodCall<Object> methodCall : methodCalls) {
+            responses.add(receiveMethodCall(methodCall));
+        }
+        return responses;
+    }
 }
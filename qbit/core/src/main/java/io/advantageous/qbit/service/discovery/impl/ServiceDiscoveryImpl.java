@@ -4,6 +4,7 @@ import io.advantageous.boon.core.Sys;
 import io.advantageous.qbit.GlobalConstants;
 import io.advantageous.qbit.QBit;
 import io.advantageous.qbit.concurrent.PeriodicScheduler;
+import io.advantageous.qbit.concurrent.VirtualThreads;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.service.discovery.*;
 import io.advantageous.qbit.service.discovery.ServiceDiscovery;
@@ -76,9 +77,14 @@ public class ServiceDiscoveryImpl implements ServiceDiscovery {
         this.servicePoolListener = servicePoolListener == null ? serviceName -> {
         } : servicePoolListener;
 
-        this.executorService = executorService == null ?
-                Executors.newCachedThreadPool(runnable -> new Thread(runnable, "ServiceDiscovery")) :
-                executorService;//Mostly sleeping threads doing long polls
+        if (executorService != null) {
+            this.executorService = executorService;
+        } else if (VirtualThreads.ENABLED) {
+            this.executorService = VirtualThreads.newExecutorService("ServiceDiscovery");
+        } else {
+            //Mostly sleeping threads doing long polls
+            this.executorService = Executors.newCachedThreadPool(runnable -> new Thread(runnable, "ServiceDiscovery"));
+        }
 
         if (trace) {
             logger.trace(
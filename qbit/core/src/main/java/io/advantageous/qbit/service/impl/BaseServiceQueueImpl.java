@@ -72,7 +72,9 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -101,6 +103,11 @@ public class BaseServiceQueueImpl implements ServiceQueue {
     private final BeforeMethodSent beforeMethodSent;
     private final Optional<EventManager> eventManager;
     private final boolean joinEventManager;
+    private final boolean async;
+    /**
+     * Calls to a batch method held until the end of the queue batch, only used from the queue thread.
+     */
+    private final List<MethodCall<Object>> batchedCalls = new ArrayList<>();
     private final AtomicBoolean started = new AtomicBoolean(false);
     private final BeforeMethodCall beforeMethodCall;
     private final BeforeMethodCall beforeMethodCallAfterTransform;
@@ -136,6 +143,7 @@ public class BaseServiceQueueImpl implements ServiceQueue {
         this.eventManager = Optional.ofNullable(eventManager);
 
         this.joinEventManager = joinEventManager;
+        this.async = async;
 
         this.beforeMethodSent = beforeMethodSent;
         this.beforeMethodCall = beforeMethodCall;
@@ -230,17 +238,49 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             if (debug) logger.debug("ServiceImpl::doHandleMethodCall() before handling stopped processing");
             return false;
         }
-        Response<Object> response = serviceMethodHandler.receiveMethodCall(methodCall);
+        if (async && serviceMethodHandler.isBatchMethod(methodCall.name())) {
+            if (!batchedCalls.isEmpty() && !batchedCalls.get(0).name().equals(methodCall.name())) {
+                flushBatchedCalls(serviceMethodHandler);
+            }
+            batchedCalls.add(methodCall);
+            return false;
+        }
+        /* Calls are handled in order so held batch calls go first. */
+        flushBatchedCalls(serviceMethodHandler);
+        handleResponse(methodCall, serviceMethodHandler.receiveMethodCall(methodCall));
+        return false;
+    }
+
+    /**
+     * Calls the batch method once for the calls held since the batch method was first called in this queue batch.
+     *
+     * @param serviceMethodHandler handler
+     */
+    private void flushBatchedCalls(final ServiceMethodHandler serviceMethodHandler) {
+        if (batchedCalls.isEmpty()) {
+            return;
+        }
+        try {
+            final List<Response<Object>> responses = serviceMethodHandler.receiveMethodCallBatch(batchedCalls);
+            for (int index = 0; index < responses.size(); index++) {
+                handleResponse(batchedCalls.get(index), responses.get(index));
+            }
+        } finally {
+            batchedCalls.clear();
+        }
+    }
+
+    private void handleResponse(final MethodCall<Object> methodCall, Response<Object> response) {
         if (response != ServiceConstants.VOID) {
 
             if (!afterMethodCall.after(methodCall, response)) {
-                return false;
+                return;
             }
             //noinspection unchecked
             response = responseObjectTransformer.transform(response);
 
             if (!afterMethodCallAfterTransform.after(methodCall, response)) {
-                return false;
+                return;
             }
 
             if (debug) {
@@ -258,8 +298,6 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             }
 
         }
-
-        return false;
     }
 
     @Override
@@ -453,6 +491,7 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             public void empty() {
 
                 serviceThreadLocal.set(BaseServiceQueueImpl.this);
+                flushBatchedCalls(serviceMethodHandler);
                 handle();
                 serviceMethodHandler.empty();
                 queueCallBackHandler.queueEmpty();
@@ -469,6 +508,7 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             public void limit() {
 
                 serviceThreadLocal.set(BaseServiceQueueImpl.this);
+                flushBatchedCalls(serviceMethodHandler);
                 handle();
                 serviceMethodHandler.limit();
                 queueCallBackHandler.queueLimit();
@@ -478,6 +518,7 @@ public class BaseServiceQueueImpl implements ServiceQueue {
             public void shutdown() {
 
                 serviceThreadLocal.set(BaseServiceQueueImpl.this);
+                flushBatchedCalls(serviceMethodHandler);
                 handle();
                 serviceMethodHandler.shutdown();
                 queueCallBackHandler.queueShutdown();
@@ -20,22 +20,27 @@ package io.advantageous.qbit.service.impl;
 
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.impl.MessagePool;
 import io.advantageous.qbit.queue.Queue;
 import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.util.CallbackRegistry;
 import io.advantageous.qbit.util.Timer;
+import io.advantageous.qbit.util.TimingWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Maps incoming call returns to client callback objects.
  */
 public class CallbackManagerWithTimeout implements CallbackManager {
 
+    /**
+     * Timeout used when we are not handling timeouts but the handlers grow very large.
+     */
+    private static final long MAX_TIMEOUT_MS = 60_000;
+
     private final String name;
     private final boolean handleTimeouts;
     private final long timeOutMS;
@@ -45,8 +50,13 @@ public class CallbackManagerWithTimeout implements CallbackManager {
     private final boolean debug = logger.isDebugEnabled();
     /**
      * Maps incoming calls with outgoing handlers (returns, async returns really).
+     * Keyed by message id and return address.
+     */
+    private final CallbackRegistry<PendingCallback> handlers = new CallbackRegistry<>();
+    /**
+     * Outstanding callbacks by deadline, so timeouts can be found without scanning every handler.
      */
-    private final Map<HandlerKey, Callback<Object>> handlers = new ConcurrentHashMap<>();
+    private final TimingWheel<PendingCallback> timeouts;
     private long lastCheckTime;
     private long now;
 
@@ -62,6 +72,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
         this.lastCheckTime = timer.now();
         this.now = lastCheckTime;
         this.timer = timer;
+        this.timeouts = new TimingWheel<>(lastCheckTime, this.checkInterval, 512);
     }
 
     /**
@@ -73,16 +84,21 @@ public class CallbackManagerWithTimeout implements CallbackManager {
     private void registerHandlerCallbackForClient(final MethodCall<Object> methodCall,
                                                   final Callback<Object> handler) {
 
-        final HandlerKey handlerKey = new HandlerKey(methodCall.returnAddress(), methodCall.address(),
-                methodCall.id(), methodCall.timestamp());
+        final PendingCallback pendingCallback = new PendingCallback(methodCall.returnAddress(),
+                methodCall.address(), methodCall.id(), methodCall.timestamp(), handler);
 
-        if (debug) {
-            if (handlers.containsKey(handlerKey)) {
-                logger.debug("DUPLICATE HANDLERS {}", handlerKey);
+        final PendingCallback duplicate = handlers.put(pendingCallback.messageId,
+                pendingCallback.returnAddress, pendingCallback);
+
+        if (duplicate != null) {
+            if (debug) {
+                logger.debug("DUPLICATE HANDLERS {}", duplicate);
             }
+            duplicate.cancelTimeout();
         }
 
-        handlers.put(handlerKey, handler);
+        pendingCallback.timeout = timeouts.schedule(pendingCallback,
+                pendingCallback.timestamp + (handleTimeouts ? timeOutMS : MAX_TIMEOUT_MS));
 
     }
 
@@ -108,26 +124,24 @@ public class CallbackManagerWithTimeout implements CallbackManager {
     @Override
     public void handleResponse(final Response<Object> response) {
 
-        final HandlerKey handlerKey = new HandlerKey(
-                response.returnAddress(),
-                response.address(),
-                response.id(),
-                response.timestamp());
+        final PendingCallback pendingCallback = handlers.remove(response.id(), response.returnAddress());
 
-
-        final Callback<Object> handler = handlers.remove(handlerKey);
-
-        if (handler == null) {
+        if (pendingCallback == null) {
             if (response.request().hasCallback()) {
-                logger.error("Could not find handler for key {}", handlerKey);
+                logger.error("Could not find handler for return address {} message id {}",
+                        response.returnAddress(), response.id());
             }
+            MessagePool.release(response);
             return;
         } else {
 
             if (debug)
-                logger.info("FOUND HANDLER {}", handlerKey);
+                logger.info("FOUND HANDLER {}", pendingCallback);
         }
 
+        pendingCallback.cancelTimeout();
+        final Callback<Object> handler = pendingCallback.callback;
+
         if (response.wasErrors()) {
 
             if (debug) {
@@ -147,6 +161,8 @@ public class CallbackManagerWithTimeout implements CallbackManager {
             handler.accept(response.body());
         }
 
+        MessagePool.release(response);
+
     }
 
     @Override
@@ -163,7 +179,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
         if (duration > checkInterval) {
             lastCheckTime = this.now;
             if (handleTimeouts) {
-                checkForTimeOuts(timeOutMS);
+                checkForTimeOuts();
             } else {
                 if (handlers.size() > 8_000) {
                     if (debug) {
@@ -178,7 +194,7 @@ public class CallbackManagerWithTimeout implements CallbackManager {
                     logger.error("Issue with handlers growing very large size {} " +
                                     "service name {}",
                             handlers.size(), this.name);
-                    checkForTimeOuts(60_000);
+                    checkForTimeOuts();
                 }
 
             }
@@ -186,31 +202,29 @@ public class CallbackManagerWithTimeout implements CallbackManager {
 
     }
 
-    private void checkForTimeOuts(long timeOutMS) {
+    private void checkForTimeOuts() {
 
         if (debug) {
             logger.debug("checking for timeouts");
         }
 
-        final ArrayList<Map.Entry<HandlerKey, Callback<Object>>> entries = new ArrayList<>(handlers.entrySet());
-
-
-        for (Map.Entry<HandlerKey, Callback<Object>> entry : entries) {
-            long duration = now - entry.getKey().timestamp;
-            if (duration > timeOutMS) {
-
+        timeouts.advance(now, this::timeOut);
+    }
 
-                if (debug) logger.debug("{} Call has timed out duration {} {} {}", name,
-                        now - entry.getKey().timestamp,
-                        entry.getKey().returnAddress,
-                        entry.getKey().messageId,
-                        new Date(entry.getKey().timestamp));
+    private void timeOut(final PendingCallback pendingCallback) {
 
-                handlers.remove(entry.getKey());
-                entry.getValue().onTimeout();
-            }
+        /* The response may have beaten us to it. */
+        if (!handlers.remove(pendingCallback.messageId, pendingCallback.returnAddress, pendingCallback)) {
+            return;
         }
 
+        if (debug) logger.debug("{} Call has timed out duration {} {} {}", name,
+                now - pendingCallback.timestamp,
+                pendingCallback.returnAddress,
+                pendingCallback.messageId,
+                new Date(pendingCallback.timestamp));
+
+        pendingCallback.callback.onTimeout();
     }
 
 
@@ -218,4 +232,43 @@ public class CallbackManagerWithTimeout implements CallbackManager {
         return handlers.size();
     }
 
+    /**
+     * Callback waiting for a response.
+     */
+    private static final class PendingCallback {
+        private final String returnAddress;
+        private final String address;
+        private final long messageId;
+        private final long timestamp;
+        private final Callback<Object> callback;
+        private volatile TimingWheel.Timeout<PendingCallback> timeout;
+
+        private PendingCallback(final String returnAddress, final String address,
+                                final long messageId, final long timestamp,
+                                final Callback<Object> callback) {
+            this.returnAddress = returnAddress;
+            this.address = address;
+            this.messageId = messageId;
+            this.timestamp = timestamp;
+            this.callback = callback;
+        }
+
+        private void cancelTimeout() {
+            final TimingWheel.Timeout<PendingCallback> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "PendingCallback{" +
+                    "returnAddress='" + returnAddress + '\'' +
+                    ", address='" + address + '\'' +
+                    ", messageId=" + messageId +
+                    ", timestamp=" + timestamp +
+                    '}';
+        }
+    }
+
 }
@@ -0,0 +1,280 @@
+/**
+ * ****************************************************************************
+ * <p>
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ * http://rick-hightower.blogspot.com/2014/12/rise-of-machines-writing-high-speed.html
+ * http://rick-hightower.blogspot.com/2014/12/quick-guide-to-programming-services-in.html
+ * http://rick-hightower.blogspot.com/2015/01/quick-startClient-qbit-programming.html
+ * http://rick-hightower.blogspot.com/2015/01/high-speed-soa.html
+ * http://rick-hightower.blogspot.com/2015/02/qbit-event-bus.html
+ * <p>
+ * ****************************************************************************
+ */
+package io.advantageous.qbit.service.stats;
+
+import java.util.Arrays;
+
+/**
+ * Fixed memory log-linear histogram of timings in the style of HdrHistogram.
+ * <p>
+ * Values below 64 are counted exactly. Larger values are counted in buckets
+ * where each power of two is split into 32 linear sub-buckets, so any reported
+ * value is within about 3% of the recorded one. The count array grows to the
+ * largest bucket seen and never past {@link #MAX_BUCKETS}, so memory use is
+ * bounded no matter how many readings are recorded.
+ * </p>
+ * <p>
+ * Histograms can be merged with {@link #add(LatencyHistogram)}, which is what
+ * lets percentiles survive being combined across threads, services and nodes.
+ * {@link #encode()} packs a histogram into a sparse long array so it can be
+ * passed as a method call argument to a remote StatService.
+ * </p>
+ * <p>
+ * Not thread safe. Each thread or service queue keeps its own and merges.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 6;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    static final int MAX_BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private static final int HEADER_SIZE = 4;
+
+    private long[] counts = new long[SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private long sum;
+
+
+    /**
+     * Decodes a histogram packed by {@link #encode()}.
+     *
+     * @param encoded encoded histogram
+     * @return histogram
+     */
+    public static LatencyHistogram decode(final long[] encoded) {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.add(encoded);
+        return histogram;
+    }
+
+    /**
+     * Reads the max out of an encoded histogram without decoding it.
+     *
+     * @param encoded encoded histogram
+     * @return max value recorded or 0 if empty
+     */
+    public static long encodedMax(final long[] encoded) {
+        return encoded == null || encoded.length < HEADER_SIZE ? 0 : encoded[2];
+    }
+
+    /**
+     * Reads the count out of an encoded histogram without decoding it.
+     *
+     * @param encoded encoded histogram
+     * @return number of values recorded
+     */
+    public static long encodedCount(final long[] encoded) {
+        return encoded == null || encoded.length < HEADER_SIZE ? 0 : encoded[0];
+    }
+
+    /**
+     * Reads the sum out of an encoded histogram without decoding it.
+     *
+     * @param encoded encoded histogram
+     * @return sum of values recorded
+     */
+    public static long encodedSum(final long[] encoded) {
+        return encoded == null || encoded.length < HEADER_SIZE ? 0 : encoded[3];
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValueInBucket(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        final long subBucket = index % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Record a timing. Negative values are recorded as 0.
+     *
+     * @param value value
+     */
+    public void record(final long value) {
+        recordCount(value < 0 ? 0 : value, 1);
+    }
+
+    private void recordCount(final long value, final long count) {
+        final int index = bucketIndex(value);
+        ensureCapacity(index);
+        counts[index] += count;
+        totalCount += count;
+        sum += value * count;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    private void ensureCapacity(final int index) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.min(MAX_BUCKETS, Math.max(index + 1, counts.length * 2)));
+        }
+    }
+
+    /**
+     * Merge another histogram into this one.
+     *
+     * @param other other histogram
+     */
+    public void add(final LatencyHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        ensureCapacity(other.counts.length - 1);
+        for (int index = 0; index < other.counts.length; index++) {
+            counts[index] += other.counts[index];
+        }
+        mergeSummary(other.totalCount, other.min, other.max, other.sum);
+    }
+
+    /**
+     * Merge an encoded histogram into this one.
+     *
+     * @param encoded histogram packed by {@link #encode()}
+     */
+    public void add(final long[] encoded) {
+        if (encoded == null || encoded.length < HEADER_SIZE || encoded[0] == 0) {
+            return;
+        }
+        for (int index = HEADER_SIZE; index + 1 < encoded.length; index += 2) {
+            final int bucket = (int) encoded[index];
+            if (bucket < 0 || bucket >= MAX_BUCKETS) {
+                throw new IllegalArgumentException("Encoded histogram has bad bucket index " + bucket);
+            }
+            ensureCapacity(bucket);
+            counts[bucket] += encoded[index + 1];
+        }
+        mergeSummary(encoded[0], encoded[1], encoded[2], encoded[3]);
+    }
+
+    private void mergeSummary(final long otherCount, final long otherMin, final long otherMax, final long otherSum) {
+        totalCount += otherCount;
+        sum += otherSum;
+        if (otherMin < min) {
+            min = otherMin;
+        }
+        if (otherMax > max) {
+            max = otherMax;
+        }
+    }
+
+    /**
+     * Packs the histogram into a sparse long array.
+     * The first four slots are count, min, max and sum, followed by
+     * bucket index and count pairs for each non empty bucket.
+     *
+     * @return encoded histogram
+     */
+    public long[] encode() {
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        final long[] encoded = new long[HEADER_SIZE + used * 2];
+        encoded[0] = totalCount;
+        encoded[1] = getMin();
+        encoded[2] = max;
+        encoded[3] = sum;
+        int position = HEADER_SIZE;
+        for (int index = 0; index < counts.length; index++) {
+            if (counts[index] != 0) {
+                encoded[position++] = index;
+                encoded[position++] = counts[index];
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Value at the given percentile, e.g., 99.9.
+     * The value reported is the top of the bucket, capped by the recorded max.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at percentile or 0 if nothing has been recorded
+     */
+    public long percentile(final double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        final double bounded = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long target = Math.max(1, (long) Math.ceil(bounded / 100.0 * totalCount));
+        long runningCount = 0;
+        for (int index = 0; index < counts.length; index++) {
+            runningCount += counts[index];
+            if (runningCount >= target) {
+                return Math.max(min, Math.min(max, highestValueInBucket(index)));
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+        sum = 0;
+    }
+}
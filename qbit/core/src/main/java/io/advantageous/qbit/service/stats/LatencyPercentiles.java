@@ -0,0 +1,59 @@
+package io.advantageous.qbit.service.stats;
+
+
+/**
+ * Percentile summary of a {@link LatencyHistogram}.
+ */
+public class LatencyPercentiles {
+    private final long count;
+    private final long min;
+    private final long max;
+    private final long mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    public LatencyPercentiles(LatencyHistogram histogram) {
+        this.count = histogram.getTotalCount();
+        this.min = histogram.getMin();
+        this.max = histogram.getMax();
+        this.mean = histogram.getMean();
+        this.p50 = histogram.percentile(50.0);
+        this.p90 = histogram.percentile(90.0);
+        this.p99 = histogram.percentile(99.0);
+        this.p999 = histogram.percentile(99.9);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * ****************************************************************************
+ * <p>
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ * http://rick-hightower.blogspot.com/2014/12/rise-of-machines-writing-high-speed.html
+ * http://rick-hightower.blogspot.com/2014/12/quick-guide-to-programming-services-in.html
+ * http://rick-hightower.blogspot.com/2015/01/quick-startClient-qbit-programming.html
+ * http://rick-hightower.blogspot.com/2015/01/high-speed-soa.html
+ * http://rick-hightower.blogspot.com/2015/02/qbit-event-bus.html
+ * <p>
+ * ****************************************************************************
+ */
+package io.advantageous.qbit.service.stats;
+
+import io.advantageous.qbit.service.ServiceProxyUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Thread safe metrics registry that any thread can write to without going through a service queue.
+ * <p>
+ * Look up a {@link Counter}, {@link Level} or {@link Timing} handle once and keep it.
+ * Writing to a handle does not look up a key or allocate. Counters are striped
+ * {@link LongAdder}s, levels are a single volatile write, and timings go to one of
+ * several {@link LatencyHistogram} stripes picked by thread, each with its own lock.
+ * </p>
+ * <p>
+ * The registry also implements StatsCollector, so existing code that records by name
+ * can be bridged onto it. That path does one concurrent map lookup per call.
+ * {@link #flush()} sends everything recorded since the last flush to the downstream
+ * collector, usually a StatService proxy, and is meant to be called periodically from one thread.
+ * </p>
+ */
+public class MetricsRegistry implements StatsCollector {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Level> levels = new ConcurrentHashMap<>();
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final StatsCollector statsCollector;
+    private final int timingStripes;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public MetricsRegistry(final StatsCollector statsCollector) {
+        this(statsCollector, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MetricsRegistry(final StatsCollector statsCollector, final int timingStripes) {
+        this.statsCollector = statsCollector;
+        this.timingStripes = Math.max(1, timingStripes);
+    }
+
+    public Counter counter(final String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public Level level(final String name) {
+        return levels.computeIfAbsent(name, Level::new);
+    }
+
+    public Timing timing(final String name) {
+        return timings.computeIfAbsent(name, key -> new Timing(key, timingStripes));
+    }
+
+    @Override
+    public void increment(final String name) {
+        counter(name).increment();
+    }
+
+    @Override
+    public void recordCount(final String name, final long count) {
+        counter(name).add(count);
+    }
+
+    @Override
+    public void recordLevel(final String name, final long level) {
+        level(name).set(level);
+    }
+
+    @Override
+    public void recordTiming(final String name, final long timing) {
+        timing(name).record(timing);
+    }
+
+    @Override
+    public void recordTimingHistogram(final String name, final long[] histogram) {
+        timing(name).add(histogram);
+    }
+
+    /**
+     * Sends counts, changed levels and timing histograms to the downstream collector.
+     * If another thread is already flushing this returns right away.
+     */
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            counters.values().forEach(counter -> {
+                /* sumThenReset is not atomic with concurrent adds, so never reset the adder; send the delta instead. */
+                final long sum = counter.adder.sum();
+                final long count = sum - counter.lastSent;
+                if (count != 0) {
+                    counter.lastSent = sum;
+                    statsCollector.recordCount(counter.name, count);
+                }
+            });
+
+            levels.values().forEach(level -> {
+                final long value = level.level;
+                if (value != level.lastLevelSent) {
+                    level.lastLevelSent = value;
+                    statsCollector.recordLevel(level.name, value);
+                }
+            });
+
+            timings.values().forEach(timing -> {
+                final LatencyHistogram histogram = timing.drain();
+                if (histogram.getTotalCount() > 0) {
+                    statsCollector.recordTimingHistogram(timing.name, histogram.encode());
+                    histogram.reset();
+                }
+            });
+
+            ServiceProxyUtils.flushServiceProxy(statsCollector);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void clientProxyFlush() {
+        flush();
+    }
+
+    /**
+     * Striped counter handle.
+     */
+    public static class Counter {
+        private final String name;
+        private final LongAdder adder = new LongAdder();
+        /* Written only by flush, which holds the flush lock. */
+        private volatile long lastSent;
+
+        Counter(final String name) {
+            this.name = name;
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(final long count) {
+            adder.add(count);
+        }
+
+        /**
+         * @return count recorded since the last flush
+         */
+        public long get() {
+            return adder.sum() - lastSent;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Level (gauge) handle. Only the latest level is sent, and only when it changes.
+     */
+    public static class Level {
+        private final String name;
+        private volatile long level;
+        /* Starts at a sentinel so a first level of 0 is still sent. */
+        private long lastLevelSent = Long.MIN_VALUE;
+
+        Level(final String name) {
+            this.name = name;
+        }
+
+        public void set(final long level) {
+            this.level = level;
+        }
+
+        public long get() {
+            return level;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Timing handle backed by histogram stripes picked by thread id.
+     */
+    public static class Timing {
+        private final String name;
+        private final ReentrantLock[] locks;
+        private final LatencyHistogram[] stripes;
+        private final LatencyHistogram drained = new LatencyHistogram();
+
+        Timing(final String name, final int stripeCount) {
+            this.name = name;
+            this.locks = new ReentrantLock[stripeCount];
+            this.stripes = new LatencyHistogram[stripeCount];
+            for (int index = 0; index < stripeCount; index++) {
+                locks[index] = new ReentrantLock();
+                stripes[index] = new LatencyHistogram();
+            }
+        }
+
+        public void record(final long timing) {
+            final int index = stripe();
+            final ReentrantLock lock = locks[index];
+            lock.lock();
+            try {
+                stripes[index].record(timing);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(final long[] histogram) {
+            final int index = stripe();
+            final ReentrantLock lock = locks[index];
+            lock.lock();
+            try {
+                stripes[index].add(histogram);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int stripe() {
+            return (int) (Thread.currentThread().getId() % stripes.length);
+        }
+
+        /* Only called from flush, which holds the flush lock. */
+        private LatencyHistogram drain() {
+            for (int index = 0; index < stripes.length; index++) {
+                final ReentrantLock lock = locks[index];
+                lock.lock();
+                try {
+                    drained.add(stripes[index]);
+                    stripes[index].reset();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return drained;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -36,5 +36,18 @@ import io.advantageous.qbit.client.ClientProxy;
  */
 public interface StatsCollector extends MetricsCollector, ClientProxy {
 
+    /**
+     * Record a batch of timings as a histogram packed by {@link LatencyHistogram#encode()}.
+     * Collectors that do not keep histograms fall back to recording the max.
+     *
+     * @param name      name of metric
+     * @param histogram encoded histogram
+     */
+    default void recordTimingHistogram(String name, long[] histogram) {
+        final long max = LatencyHistogram.encodedMax(histogram);
+        if (max > 0) {
+            recordTiming(name, max);
+        }
+    }
 
 }
@@ -82,6 +82,16 @@ public class StatsCollectorBuffer implements StatsCollector {
         recordTiming.set(timing);
     }
 
+    @Override
+    public void recordTimingHistogram(final String name, final long[] histogram) {
+        RecordTiming recordTiming = timings.get(name);
+        if (recordTiming == null) {
+            recordTiming = new RecordTiming(name);
+            timings.put(name, recordTiming);
+        }
+        recordTiming.histogram.add(histogram);
+    }
+
     public void sendStats() {
         counts.values().forEach(recordCount -> {
             if (recordCount.count > 0) {
@@ -98,14 +108,11 @@ public class StatsCollectorBuffer implements StatsCollector {
         });
 
         timings.values().forEach(recordTiming -> {
-            if (recordTiming.list.size() == 0) {
+            if (recordTiming.histogram.getTotalCount() == 0) {
                 return;
             }
-            final long max = recordTiming.list.max();
-            if (max > 0) {
-                statsCollector.recordTiming(recordTiming.name, max);
-            }
-            recordTiming.list.clear();
+            statsCollector.recordTimingHistogram(recordTiming.name, recordTiming.histogram.encode());
+            recordTiming.histogram.reset();
         });
 
         ServiceProxyUtils.flushServiceProxy(statsCollector);
@@ -118,7 +125,7 @@ public class StatsCollectorBuffer implements StatsCollector {
     }
 
     static class RecordTiming {
-        final StatList list = new StatList();
+        final LatencyHistogram histogram = new LatencyHistogram();
         final String name;
 
         RecordTiming(String name) {
@@ -126,7 +133,7 @@ public class StatsCollectorBuffer implements StatsCollector {
         }
 
         void set(long timing) {
-            list.addLong(timing);
+            histogram.record(timing);
         }
     }
 
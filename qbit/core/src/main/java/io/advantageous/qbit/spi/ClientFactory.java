@@ -35,4 +35,15 @@ public interface ClientFactory {
                   HttpClient httpClient,
                   int requestBatchSize,
                   final BeforeMethodSent beforeMethodSent);
+
+    default Client create(String uri,
+                          HttpClient httpClient,
+                          int requestBatchSize,
+                          final BeforeMethodSent beforeMethodSent,
+                          boolean binaryProtocol) {
+        if (!binaryProtocol) {
+            return create(uri, httpClient, requestBatchSize, beforeMethodSent);
+        }
+        throw new UnsupportedOperationException("binary protocol");
+    }
 }
@@ -21,6 +21,7 @@ package io.advantageous.qbit.spi;
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.Response;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 
 /**
@@ -36,4 +37,30 @@ public interface ProtocolEncoder {
 
     String encodeMethodCalls(String returnAddress, Collection<MethodCall<Object>> methodCalls);
 
+
+    /**
+     * Encodes responses into bytes to send as a binary frame.
+     * By default these are the UTF-8 bytes of the text encoding.
+     *
+     * @param returnAddress return address
+     * @param responses     responses
+     * @return encoded bytes
+     */
+    default byte[] encodeResponsesAsBytes(String returnAddress, Collection<Response<Object>> responses) {
+        return encodeResponses(returnAddress, responses).getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Encodes method calls into bytes to send as a binary frame.
+     * By default these are the UTF-8 bytes of the text encoding.
+     *
+     * @param returnAddress return address
+     * @param methodCalls   method calls
+     * @return encoded bytes
+     */
+    default byte[] encodeMethodCallsAsBytes(String returnAddress, Collection<MethodCall<Object>> methodCalls) {
+        return encodeMethodCalls(returnAddress, methodCalls).getBytes(StandardCharsets.UTF_8);
+    }
+
 }
@@ -22,6 +22,8 @@ import io.advantageous.qbit.message.Message;
 import io.advantageous.qbit.message.MethodCall;
 import io.advantageous.qbit.message.Response;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,5 +42,50 @@ public interface ProtocolParser {
 
     List<Response<Object>> parseResponses(String addressPrefix, String body);
 
+    /**
+     * Parses a binary frame. By default the bytes are treated as UTF-8 text.
+     *
+     * @param address address
+     * @param body    frame bytes
+     * @return messages
+     */
+    default List<Message<Object>> parse(String address, byte[] body) {
+        return parse(address, new String(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a binary frame and keeps only the method calls in it.
+     *
+     * @param addressPrefix address
+     * @param body          frame bytes
+     * @return method calls, empty if the frame held none
+     */
+    default List<MethodCall<Object>> parseMethodCalls(String addressPrefix, byte[] body) {
+        final List<MethodCall<Object>> methodCalls = new ArrayList<>();
+        for (Message<Object> message : parse(addressPrefix, body)) {
+            if (message instanceof MethodCall) {
+                methodCalls.add((MethodCall<Object>) message);
+            }
+        }
+        return methodCalls;
+    }
+
+    /**
+     * Parses a binary frame and keeps only the responses in it.
+     *
+     * @param addressPrefix address
+     * @param body          frame bytes
+     * @return responses, empty if the frame held none
+     */
+    default List<Response<Object>> parseResponses(String addressPrefix, byte[] body) {
+        final List<Response<Object>> responses = new ArrayList<>();
+        for (Message<Object> message : parse(addressPrefix, body)) {
+            if (message instanceof Response) {
+                responses.add((Response<Object>) message);
+            }
+        }
+        return responses;
+    }
+
 
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outstanding callbacks keyed by message id and return address.
+ * <p>
+ * Message ids are only unique per return address, so each id maps to a short chain of return addresses.
+ * Looking up or removing a callback does not allocate or hash the return address.
+ * The ids are spread over lock stripes so registering and completing calls from different threads
+ * rarely contend.
+ *
+ * @param <V> callback
+ */
+public class CallbackRegistry<V> {
+
+    private final Stripe<V>[] stripes;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public CallbackRegistry() {
+        this(16);
+    }
+
+    /**
+     * @param stripeCount number of lock stripes, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public CallbackRegistry(final int stripeCount) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int index = 0; index < count; index++) {
+            stripes[index] = new Stripe<>();
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Register a callback.
+     *
+     * @param id            message id
+     * @param returnAddress return address
+     * @param value         callback
+     * @return the callback it replaced, or null
+     */
+    public V put(final long id, final String returnAddress, final V value) {
+        final Stripe<V> stripe = stripe(id);
+        synchronized (stripe) {
+            final Entry<V> head = stripe.map.get(id);
+            for (Entry<V> entry = head; entry != null; entry = entry.next) {
+                if (same(entry.returnAddress, returnAddress)) {
+                    final V old = entry.value;
+                    entry.value = value;
+                    return old;
+                }
+            }
+            stripe.map.put(id, new Entry<>(returnAddress, value, head));
+        }
+        size.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @param id            message id
+     * @param returnAddress return address
+     * @return callback or null
+     */
+    public V get(final long id, final String returnAddress) {
+        final Stripe<V> stripe = stripe(id);
+        synchronized (stripe) {
+            for (Entry<V> entry = stripe.map.get(id); entry != null; entry = entry.next) {
+                if (same(entry.returnAddress, returnAddress)) {
+                    return entry.value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove a callback.
+     *
+     * @param id            message id
+     * @param returnAddress return address
+     * @return callback that was removed or null
+     */
+    public V remove(final long id, final String returnAddress) {
+        return removeEntry(id, returnAddress, 0, returnAddress == null ? 0 : returnAddress.length(), null);
+    }
+
+    /**
+     * Remove a callback whose return address is the region [start, end) of source,
+     * so callers holding a longer address do not have to cut a substring out of it first.
+     *
+     * @param id     message id
+     * @param source string holding the return address
+     * @param start  start of the return address in source
+     * @param end    end of the return address in source, exclusive
+     * @return callback that was removed or null
+     */
+    public V remove(final long id, final String source, final int start, final int end) {
+        return removeEntry(id, source, start, end, null);
+    }
+
+    /**
+     * Remove a callback only if it is still the one registered.
+     *
+     * @param id            message id
+     * @param returnAddress return address
+     * @param value         expected callback
+     * @return true if it was removed
+     */
+    public boolean remove(final long id, final String returnAddress, final V value) {
+        return value != null && removeEntry(id, returnAddress, 0,
+                returnAddress == null ? 0 : returnAddress.length(), value) != null;
+    }
+
+    private V removeEntry(final long id, final String source, final int start, final int end, final V expected) {
+        final Stripe<V> stripe = stripe(id);
+        synchronized (stripe) {
+            Entry<V> previous = null;
+            for (Entry<V> entry = stripe.map.get(id); entry != null; entry = entry.next) {
+                if (sameRegion(entry.returnAddress, source, start, end)) {
+                    if (expected != null && entry.value != expected) {
+                        return null;
+                    }
+                    if (previous != null) {
+                        previous.next = entry.next;
+                    } else if (entry.next != null) {
+                        stripe.map.put(id, entry.next);
+                    } else {
+                        stripe.map.remove(id);
+                    }
+                    size.decrementAndGet();
+                    return entry.value;
+                }
+                previous = entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of callbacks registered
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private Stripe<V> stripe(final long id) {
+        return stripes[(int) (id ^ (id >>> 32)) & mask];
+    }
+
+    private static boolean same(final String a, final String b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    private static boolean sameRegion(final String returnAddress, final String source, final int start, final int end) {
+        if (returnAddress == null || source == null) {
+            return returnAddress == source;
+        }
+        final int length = end - start;
+        return returnAddress.length() == length && returnAddress.regionMatches(0, source, start, length);
+    }
+
+    private static final class Stripe<V> {
+        private final LongObjectMap<Entry<V>> map = new LongObjectMap<>();
+    }
+
+    private static final class Entry<V> {
+        private final String returnAddress;
+        private V value;
+        private Entry<V> next;
+
+        private Entry(final String returnAddress, final V value, final Entry<V> next) {
+            this.returnAddress = returnAddress;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
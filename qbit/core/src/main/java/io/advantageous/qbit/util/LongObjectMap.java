@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from a primitive long to an object.
+ * <p>
+ * Keys are not boxed and lookups do not allocate. Null values are not allowed.
+ * This is not thread safe.
+ *
+ * @param <V> value
+ */
+public class LongObjectMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public LongObjectMap() {
+        this(16);
+    }
+
+    public LongObjectMap(final int initialCapacity) {
+        int capacity = 2;
+        while (capacity * LOAD_FACTOR < initialCapacity) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * @param key key
+     * @return value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        int index = index(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @param key   key
+     * @param value value, must not be null
+     * @return old value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        int index = index(key);
+        Object old;
+        while ((old = values[index]) != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * @param key key
+     * @return removed value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        int index = index(key);
+        Object value;
+        while ((value = values[index]) != null) {
+            if (keys[index] == key) {
+                shiftBack(index);
+                size--;
+                return (V) value;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Close the gap left by a removal so probe sequences stay unbroken.
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            final Object value = values[index];
+            if (value == null) {
+                break;
+            }
+            final int home = index(keys[index]);
+            /* Move it if its home slot is not between the gap and where it is now. */
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = value;
+                gap = index;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private int index(final long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & mask;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int index = 0; index < oldValues.length; index++) {
+            if (oldValues[index] != null) {
+                put(oldKeys[index], (V) oldValues[index]);
+            }
+        }
+    }
+}
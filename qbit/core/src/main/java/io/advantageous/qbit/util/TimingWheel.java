@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel used to track timeouts.
+ * <p>
+ * Scheduling and cancelling a timeout are O(1). Advancing the wheel only looks at the buckets for the ticks
+ * that have gone by since the last advance, so there is no periodic scan or copy of every outstanding item.
+ * Deadlines further out than one turn of the wheel stay in their bucket until a later turn reaches them.
+ * <p>
+ * Any thread can schedule or cancel. Only one thread at a time should call advance.
+ *
+ * @param <T> item that can time out
+ */
+public class TimingWheel<T> {
+
+    private final long startTime;
+    private final long tickDuration;
+    private final int mask;
+    private final Bucket<T>[] buckets;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Last tick whose bucket has been fully processed.
+     */
+    private volatile long lastTick;
+
+    /**
+     * @param startTime     current time
+     * @param tickDuration  duration of one tick, same unit as start time
+     * @param ticksPerWheel number of buckets, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(final long startTime, final long tickDuration, final int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel out of range " + ticksPerWheel);
+        }
+
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+
+        this.startTime = startTime;
+        this.tickDuration = tickDuration;
+        this.mask = wheelSize - 1;
+        this.buckets = new Bucket[wheelSize];
+        for (int index = 0; index < wheelSize; index++) {
+            buckets[index] = new Bucket<>();
+        }
+        this.lastTick = -1;
+    }
+
+    /**
+     * Schedule an item to time out after the deadline.
+     *
+     * @param item     item
+     * @param deadline deadline
+     * @return timeout which can be used to cancel
+     */
+    public Timeout<T> schedule(final T item, final long deadline) {
+        final Timeout<T> timeout = new Timeout<>(this, item, deadline);
+        long tick = tick(deadline);
+        final long nextTick = lastTick + 1;
+        if (tick < nextTick) {
+            tick = nextTick;
+        }
+        size.incrementAndGet();
+        buckets[(int) (tick & mask)].add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Expire every item whose deadline is before now.
+     *
+     * @param now       current time
+     * @param onExpired called for each expired item after it has been removed from the wheel
+     * @return number of items that expired
+     */
+    public int advance(final long now, final Consumer<T> onExpired) {
+
+        final long currentTick = tick(now);
+        long tick = lastTick + 1;
+        if (currentTick < tick) {
+            return 0;
+        }
+
+        /* More than one turn has gone by, so every bucket needs to be looked at once. */
+        if (currentTick - tick >= buckets.length) {
+            tick = currentTick - buckets.length + 1;
+        }
+
+        Timeout<T> expired = null;
+        for (; tick <= currentTick; tick++) {
+            expired = buckets[(int) (tick & mask)].expire(now, expired);
+        }
+
+        /* The current tick is not over, so it gets looked at again next time. */
+        lastTick = currentTick - 1;
+
+        int count = 0;
+        while (expired != null) {
+            final Timeout<T> next = expired.next;
+            expired.next = null;
+            count++;
+            onExpired.accept(expired.item);
+            expired = next;
+        }
+        size.addAndGet(-count);
+        return count;
+    }
+
+    /**
+     * @return number of items waiting to time out
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private long tick(final long time) {
+        return Math.max(0, time - startTime) / tickDuration;
+    }
+
+    /**
+     * Handle for a scheduled item.
+     *
+     * @param <T> item
+     */
+    public static final class Timeout<T> {
+
+        private final TimingWheel<T> wheel;
+        private final T item;
+        private final long deadline;
+        private volatile Bucket<T> bucket;
+        private Timeout<T> next;
+        private Timeout<T> previous;
+
+        private Timeout(final TimingWheel<T> wheel, final T item, final long deadline) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        /**
+         * Remove the item from the wheel.
+         *
+         * @return true if it was removed, false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            final Bucket<T> bucket = this.bucket;
+            if (bucket != null && bucket.remove(this)) {
+                wheel.size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+
+        synchronized void add(final Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        synchronized boolean remove(final Timeout<T> timeout) {
+            if (timeout.bucket != this) {
+                return false;
+            }
+            unlink(timeout);
+            timeout.next = null;
+            return true;
+        }
+
+        /**
+         * Unlinks the expired timeouts and pushes them onto the expired chain.
+         */
+        synchronized Timeout<T> expire(final long now, Timeout<T> expired) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                final Timeout<T> next = timeout.next;
+                if (timeout.deadline < now) {
+                    unlink(timeout);
+                    timeout.next = expired;
+                    expired = timeout;
+                }
+                timeout = next;
+            }
+            return expired;
+        }
+
+        private void unlink(final Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -18,8 +18,10 @@
 
 package io.advantageous.qbit.boon.client;
 
+import io.advantageous.boon.core.Lists;
 import io.advantageous.boon.core.Sys;
 import io.advantageous.boon.core.reflection.BeanUtils;
+import io.advantageous.qbit.QBit;
 import io.advantageous.qbit.client.BeforeMethodSent;
 import io.advantageous.qbit.client.Client;
 import io.advantageous.qbit.client.ClientBuilder;
@@ -29,16 +31,22 @@ import io.advantageous.qbit.http.request.HttpRequest;
 import io.advantageous.qbit.http.websocket.WebSocket;
 import io.advantageous.qbit.http.websocket.WebSocketBuilder;
 import io.advantageous.qbit.http.websocket.WebSocketSender;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.impl.ResponseImpl;
 import io.advantageous.qbit.reactive.Callback;
 import io.advantageous.qbit.spi.FactorySPI;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import static io.advantageous.boon.core.Exceptions.die;
 import static io.advantageous.boon.core.IO.puts;
+import static io.advantageous.qbit.service.Protocol.PROTOCOL_ARG_SEPARATOR;
+import static org.junit.Assert.assertEquals;
 
 
 @SuppressWarnings("PointlessBooleanExpression")
@@ -52,6 +60,8 @@ public class BoonClientTest {
     boolean httpPeriodicFlushCallbackCalled;
     boolean ok;
     volatile int sum;
+    /* When set, the mock web socket answers each call as a server would, with this prefix on the return address. */
+    volatile String serverAddressPrefix;
 
     @Before
     public void setUp() throws Exception {
@@ -165,6 +175,26 @@ public class BoonClientTest {
 
     }
 
+    @Test
+    public void testResponseWithPrefixedReturnAddress() throws Exception {
+        serverAddressPrefix = "server";
+        client.start();
+        Sys.sleep(100);
+
+        final ServiceMock mockService = client.createProxy(ServiceMock.class, "mockService");
+        final AtomicInteger result = new AtomicInteger();
+
+        mockService.sum(result::set);
+
+        ((ClientProxy) mockService).clientProxyFlush();
+
+        for (int index = 0; index < 20 && result.get() == 0; index++) {
+            Sys.sleep(50);
+        }
+
+        assertEquals(3, result.get());
+    }
+
     @Test
     public void testStart() throws Exception {
 
@@ -209,6 +239,17 @@ public class BoonClientTest {
 
                     httpSendWebSocketCalled = true;
                     periodicFlushCallback.accept(null);
+                    if (serverAddressPrefix != null) {
+                        final List<MethodCall<Object>> methodCalls =
+                                QBit.factory().createProtocolParser().parseMethodCalls("", body);
+                        for (MethodCall<Object> methodCall : methodCalls) {
+                            final String returnAddress = serverAddressPrefix + (char) PROTOCOL_ARG_SEPARATOR
+                                    + methodCall.returnAddress();
+                            webSocket.onTextMessage(QBit.factory().createEncoder().encodeResponses(returnAddress,
+                                    Lists.list(ResponseImpl.response(methodCall, 3))));
+                        }
+                        return;
+                    }
                     Sys.sleep(100);
 
                 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.service.impl;
+
+import io.advantageous.boon.core.reflection.ClassMeta;
+import io.advantageous.boon.core.reflection.MethodAccess;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ServiceMethodInvokerTest {
+
+    private MyService service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new MyService();
+    }
+
+    private ServiceMethodInvoker invoker(final String name) {
+        final MethodAccess methodAccess = ClassMeta.classMeta(MyService.class).method(name);
+        return new ServiceMethodInvoker(methodAccess, service);
+    }
+
+    @Test
+    public void testInvoke() {
+        assertEquals(3, invoker("add").invoke(new Object[]{1, 2}));
+        assertEquals("hi rick", invoker("hello").invoke(new Object[]{"rick"}));
+    }
+
+    @Test
+    public void testInvokeVoid() {
+        assertNull(invoker("clear").invoke(new Object[0]));
+        assertNull(invoker("clear").invoke(null));
+        assertTrue(service.cleared);
+    }
+
+    @Test
+    public void testInvokePrivateMethod() {
+        assertEquals("secret", invoker("secret").invoke(new Object[0]));
+    }
+
+    @Test
+    public void testInvokeDynamicSameTypes() {
+        assertEquals(5, invoker("add").invokeDynamic(new Object[]{2, 3}));
+        assertEquals("hi rick", invoker("hello").invokeDynamicObject("rick"));
+    }
+
+    @Test
+    public void testInvokeDynamicCoerces() {
+        assertEquals(5, invoker("add").invokeDynamic(new Object[]{"2", 3L}));
+        assertEquals(Color.RED, invoker("color").invokeDynamic(new Object[]{"RED"}));
+    }
+
+    @Test
+    public void testInvokeDynamicList() {
+        assertEquals(6, invoker("sum").invokeDynamic(new Object[]{Arrays.asList(1, 2, 3)}));
+        assertEquals(7, invoker("add").invokeDynamicObject(Arrays.asList(3, 4)));
+    }
+
+    @Test
+    public void testInvokeDynamicNoParamsIgnoresArgs() {
+        assertNull(invoker("clear").invokeDynamicObject(null));
+        assertTrue(service.cleared);
+    }
+
+    @Test
+    public void testExceptionIsWrappedLikeMethodAccess() {
+        try {
+            invoker("fail").invoke(new Object[]{"boom"});
+            fail();
+        } catch (Exception ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals("boom", ex.getCause().getMessage());
+        }
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class MyService {
+
+        boolean cleared;
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public String hello(String name) {
+            return "hi " + name;
+        }
+
+        public void clear() {
+            cleared = true;
+        }
+
+        public Color color(Color color) {
+            return color;
+        }
+
+        public int sum(List<Integer> values) {
+            int sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        private String secret() {
+            return "secret";
+        }
+    }
+}
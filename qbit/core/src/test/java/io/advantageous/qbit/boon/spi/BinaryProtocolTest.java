@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.boon.spi;
+
+import io.advantageous.boon.core.Lists;
+import io.advantageous.boon.core.Maps;
+import io.advantageous.qbit.message.Message;
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import io.advantageous.qbit.message.ResponseBuilder;
+import io.advantageous.qbit.util.MultiMap;
+import io.advantageous.qbit.util.MultiMapImpl;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.advantageous.qbit.service.Protocol.*;
+import static org.junit.Assert.*;
+
+public class BinaryProtocolTest {
+
+    private final BinaryProtocolEncoder encoder = new BinaryProtocolEncoder();
+    private final BinaryProtocolParser parser = new BinaryProtocolParser();
+
+    @Test
+    public void methodCall() throws Exception {
+
+        final MultiMap<String, String> headers = new MultiMapImpl<>();
+        headers.add("trace", "abc");
+        headers.add("trace", "def");
+
+        final MethodCall<Object> methodCall = MethodCallBuilder.methodCallBuilder()
+                .setName("trade")
+                .setObjectName("tradeservice")
+                .setAddress("/foo/bar/service/trade")
+                .setReturnAddress("client-1")
+                .setHeaders(headers)
+                .setTimestamp(1_450_000_000_000L)
+                .setBody(new Object[]{"Zo\u00eb", 42, 5_000_000_000L, 1.5, true, null, Color.RED,
+                        Lists.list(1, "two"), Maps.map("a", 1), new Trade()})
+                .setId(2L).build();
+
+        final byte[] bytes = encoder.encodeMethodCallsAsBytes("client-1", Lists.list(methodCall));
+        assertTrue(BinaryProtocolParser.isBinaryFrame(bytes));
+
+        final List<MethodCall<Object>> calls = parser.parseMethodCalls("", bytes);
+        assertEquals(1, calls.size());
+
+        final MethodCall<Object> afterParse = calls.get(0);
+        assertEquals("trade", afterParse.name());
+        assertEquals("tradeservice", afterParse.objectName());
+        assertEquals("/foo/bar/service/trade", afterParse.address());
+        assertEquals("client-1", afterParse.returnAddress());
+        assertEquals(1_450_000_000_000L, afterParse.timestamp());
+        assertEquals(2L, afterParse.id());
+        assertEquals(Lists.list("abc", "def"), Lists.list(afterParse.headers().getAll("trace")));
+
+        final Object[] args = (Object[]) afterParse.body();
+        assertEquals(10, args.length);
+        assertEquals("Zo\u00eb", args[0]);
+        assertEquals(42, args[1]);
+        assertEquals(5_000_000_000L, args[2]);
+        assertEquals(1.5, args[3]);
+        assertEquals(true, args[4]);
+        assertNull(args[5]);
+        assertEquals("RED", args[6]);
+        assertEquals(Arrays.asList(1, "two"), args[7]);
+        assertEquals(1, ((Map) args[8]).get("a"));
+        assertEquals("IBM", ((Map) args[9]).get("name"));
+    }
+
+    @Test
+    public void batchSharesStrings() throws Exception {
+        final List<MethodCall<Object>> methodCalls = new ArrayList<>();
+        for (int index = 0; index < 100; index++) {
+            methodCalls.add(MethodCallBuilder.methodCallBuilder().setName("trade").setObjectName("tradeservice")
+                    .setAddress("/foo/bar/service/trade").setReturnAddress("client-1")
+                    .setTimestamp(1_450_000_000_000L + index).setBody(new Object[]{index}).setId(index).build());
+        }
+
+        final byte[] bytes = encoder.encodeMethodCallsAsBytes("client-1", methodCalls);
+        final byte[] text = new BoonProtocolEncoder().encodeMethodCalls("client-1", methodCalls)
+                .getBytes(StandardCharsets.UTF_8);
+        assertTrue(bytes.length * 3 < text.length);
+
+        final List<MethodCall<Object>> calls = parser.parseMethodCalls("", bytes);
+        assertEquals(100, calls.size());
+        assertEquals(99L, calls.get(99).id());
+        assertEquals(99, ((Object[]) calls.get(99).body())[0]);
+        assertEquals("/foo/bar/service/trade", calls.get(99).address());
+    }
+
+    @Test
+    public void response() throws Exception {
+        final Response<Object> response = ResponseBuilder.responseBuilder().setReturnAddress("client-1")
+                .setAddress("/foo/bar/service/trade").setBody(Lists.list(new Trade())).setId(999).setTimestamp(200).build();
+        final Response<Object> error = ResponseBuilder.responseBuilder().setReturnAddress("client-1")
+                .setAddress("/foo/bar/service/trade").setBody("boom").setId(-1).setTimestamp(201)
+                .setErrors(true).build();
+
+        final List<Response<Object>> responses = parser.parseResponses("",
+                encoder.encodeResponsesAsBytes("client-1", Lists.list(response, error)));
+
+        assertEquals(2, responses.size());
+        assertEquals(999L, responses.get(0).id());
+        assertEquals(200L, responses.get(0).timestamp());
+        assertEquals("client-1", responses.get(0).returnAddress());
+        assertFalse(responses.get(0).wasErrors());
+        assertEquals("IBM", ((Map) ((List) responses.get(0).body()).get(0)).get("name"));
+
+        assertEquals(-1L, responses.get(1).id());
+        assertTrue(responses.get(1).wasErrors());
+        assertEquals("boom", responses.get(1).body());
+    }
+
+    @Test
+    public void textFramesUseTextProtocol() throws Exception {
+        final Response<Object> response = ResponseBuilder.responseBuilder().setReturnAddress("client-1")
+                .setAddress("/foo/bar/service/trade").setBody(true).setId(7).setTimestamp(200).build();
+
+        final String text = encoder.encodeResponses("client-1", Lists.list(response));
+        final List<Message<Object>> messages = parser.parse("", text.getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, messages.size());
+        assertEquals(7L, messages.get(0).id());
+    }
+
+    @Test(expected = Exception.class)
+    public void truncatedFrame() throws Exception {
+        final Response<Object> response = ResponseBuilder.responseBuilder().setReturnAddress("client-1")
+                .setAddress("/foo/bar/service/trade").setBody("hello").setId(7).setTimestamp(200).build();
+        final byte[] bytes = encoder.encodeResponsesAsBytes("client-1", Lists.list(response));
+        parser.parse("", Arrays.copyOf(bytes, bytes.length - 3));
+    }
+
+    @Test(expected = Exception.class)
+    public void hugeStringTableIsRejected() throws Exception {
+        parser.parse("", frame(0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+    }
+
+    @Test(expected = Exception.class)
+    public void listCountLargerThanFrameIsRejected() throws Exception {
+        parser.parse("", frame(0, 0, 1, PROTOCOL_MESSAGE_TYPE_RESPONSE, 0, 0, 0, 0,
+                BINARY_TYPE_LIST, 0xFF, 0xFF, 0xFF, 0x7F));
+    }
+
+    @Test(expected = Exception.class)
+    public void mapCountLargerThanFrameIsRejected() throws Exception {
+        parser.parse("", frame(0, 0, 1, PROTOCOL_MESSAGE_TYPE_RESPONSE, 0, 0, 0, 0,
+                BINARY_TYPE_MAP, 0x80, 0x80, 0x80, 0x40));
+    }
+
+    @Test(expected = Exception.class)
+    public void deeplyNestedValueIsRejected() throws Exception {
+        final int[] bytes = new int[8 + 2 * 10_000 + 1];
+        final int[] head = {0, 0, 1, PROTOCOL_MESSAGE_TYPE_RESPONSE, 0, 0, 0, 0};
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        for (int index = 0; index < 10_000; index++) {
+            bytes[head.length + index * 2] = BINARY_TYPE_LIST;
+            bytes[head.length + index * 2 + 1] = 1;
+        }
+        bytes[bytes.length - 1] = BINARY_TYPE_NULL;
+        parser.parse("", frame(bytes));
+    }
+
+    @Test
+    public void parseMethodCallsSkipsResponses() throws Exception {
+        final Response<Object> response = ResponseBuilder.responseBuilder().setReturnAddress("client-1")
+                .setAddress("/foo/bar/service/trade").setBody("hello").setId(7).setTimestamp(200).build();
+        final byte[] bytes = encoder.encodeResponsesAsBytes("client-1", Lists.list(response));
+
+        assertTrue(parser.parseMethodCalls("", bytes).isEmpty());
+        assertEquals(1, parser.parseResponses("", bytes).size());
+    }
+
+    private static byte[] frame(final int... body) {
+        final byte[] bytes = new byte[body.length + 2];
+        bytes[0] = BINARY_PROTOCOL_MARKER;
+        bytes[1] = BINARY_PROTOCOL_VERSION;
+        for (int index = 0; index < body.length; index++) {
+            bytes[index + 2] = (byte) body[index];
+        }
+        return bytes;
+    }
+
+    public enum Color {
+        RED
+    }
+
+    public static class Trade {
+        private String name = "IBM";
+        private long id = 1L;
+    }
+}
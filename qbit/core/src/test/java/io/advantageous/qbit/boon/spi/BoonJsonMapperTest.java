@@ -6,9 +6,13 @@ import io.advantageous.boon.json.JsonFactory;
 import io.advantageous.qbit.QBit;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static io.advantageous.boon.core.IO.puts;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -63,6 +67,38 @@ public class BoonJsonMapperTest {
         assertEquals("[1,2,null,3]", json);
     }
 
+    @Test
+    public void toJsonBytes() throws Exception {
+        final BoonJsonMapper boonJsonMapper = new BoonJsonMapper();
+
+        final Employee employee = new Employee();
+        employee.name = "Zo\u00eb \u20ac \ud83d\ude00";
+        employee.age = 42;
+        employee.tags = Lists.list("a", "b");
+
+        assertArrayEquals(boonJsonMapper.toJson(employee).getBytes(StandardCharsets.UTF_8),
+                boonJsonMapper.toJsonBytes(employee));
+
+        final List<Employee> employees = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            employees.add(employee);
+        }
+        assertArrayEquals(boonJsonMapper.toJson(employees).getBytes(StandardCharsets.UTF_8),
+                boonJsonMapper.toJsonBytes(employees));
+
+        /* The buffer is reused, a smaller payload must not see the old one. */
+        assertEquals("\"hi\"", new String(boonJsonMapper.toJsonBytes("hi"), StandardCharsets.UTF_8));
+        assertEquals("Zo\u00eb \u20ac \ud83d\ude00",
+                boonJsonMapper.fromJson(new String(boonJsonMapper.toJsonBytes(employee), StandardCharsets.UTF_8), Employee.class).name);
+    }
+
+    public static class Employee {
+        private String name;
+        private int age;
+        private List<String> tags;
+        private Employee boss;
+    }
+
     public class Genre {
         private String name;
     }
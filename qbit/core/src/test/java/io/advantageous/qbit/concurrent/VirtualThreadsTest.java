@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.concurrent;
+
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.SendQueue;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void testThreadFactory() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> threadName = new AtomicReference<>();
+
+        final Thread thread = VirtualThreads.threadFactory("vt").newThread(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        });
+        thread.start();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("vt"));
+    }
+
+    @Test
+    public void testExecutorService() throws Exception {
+        final ExecutorService executorService = VirtualThreads.newExecutorService("vt-executor");
+        final CountDownLatch latch = new CountDownLatch(100);
+        for (int index = 0; index < 100; index++) {
+            executorService.submit(latch::countDown);
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testScheduledExecutor() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final ExecutorContext executorContext = ScheduledExecutorBuilder.scheduledExecutorBuilder()
+                .setThreadName("vt-scheduled")
+                .setInitialDelay(0)
+                .setPeriod(10)
+                .setVirtualThreads(true)
+                .setRunnable(count::incrementAndGet)
+                .build();
+        executorContext.start();
+
+        for (int index = 0; index < 100 && count.get() < 3; index++) {
+            Thread.sleep(10);
+        }
+        executorContext.stop();
+        assertTrue(count.get() >= 3);
+    }
+
+    @Test
+    public void testQueueListener() throws Exception {
+        final Queue<String> queue = QueueBuilder.queueBuilder().setName("vt-queue")
+                .setBatchSize(5).setVirtualThreads(true).build();
+        final CountDownLatch latch = new CountDownLatch(100);
+        final AtomicInteger count = new AtomicInteger();
+
+        queue.startListener(item -> {
+            count.incrementAndGet();
+            latch.countDown();
+        });
+
+        final SendQueue<String> sendQueue = queue.sendQueue();
+        for (int index = 0; index < 100; index++) {
+            sendQueue.send("item" + index);
+        }
+        sendQueue.flushSends();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(100, count.get());
+        queue.stop();
+    }
+}
@@ -22,6 +22,9 @@ import io.advantageous.qbit.http.request.HttpRequest;
 import io.advantageous.qbit.http.request.HttpRequestBuilder;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static io.advantageous.boon.core.Exceptions.die;
 
 public class HttpRequestBuilderTest {
@@ -126,4 +129,40 @@ public class HttpRequestBuilderTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testByteBufferBodyIsNotCopied() throws Exception {
+
+        final byte[] transportBuffer = "xx{\"hi\":1}yy".getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer view = ByteBuffer.wrap(transportBuffer, 2, 8).slice();
+
+        final HttpRequest request = new HttpRequestBuilder().setUri("/foo").setMethodPost()
+                .setBodySupplier(() -> view).build();
+
+        final ByteBuffer body = request.getBodyAsByteBuffer();
+        ok = body.array() == transportBuffer || die();
+        ok = body.remaining() == 8 || die(body.remaining());
+
+        ok = "{\"hi\":1}".equals(request.getBodyAsString()) || die(request.getBodyAsString());
+        ok = request.getBody().length == 8 || die();
+        ok = request.body() instanceof byte[] || die();
+
+        final byte[] streamed = new byte[16];
+        final int read = request.getBodyAsStream().read(streamed);
+        ok = read == 8 || die(read);
+        ok = streamed[0] == '{' || die();
+
+        final HttpRequest copy = new HttpRequestBuilder().copyRequest(request).build();
+        ok = copy.getBodyAsByteBuffer().array() == transportBuffer || die();
+        ok = "{\"hi\":1}".equals(copy.getBodyAsString()) || die();
+    }
+
+    @Test
+    public void testNoBody() throws Exception {
+
+        final HttpRequest request = new HttpRequestBuilder().setUri("/foo").setBodySupplier(() -> null).build();
+
+        ok = request.getBodyAsByteBuffer() == null || die();
+        ok = request.getBodyAsStream().read() == -1 || die();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.message.impl;
+
+import io.advantageous.qbit.message.MethodCall;
+import io.advantageous.qbit.message.MethodCallBuilder;
+import io.advantageous.qbit.message.Response;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MessagePoolTest {
+
+    @Test
+    public void testRecycle() {
+        final MethodCallImpl methodCall = MessagePool.methodCall(1L, 2L, "name", "address", null, null,
+                new Object[]{"arg"}, "object", "returnAddress", null, null);
+        final ResponseImpl<Object> response = MessagePool.response(2L, 1L, "address", "returnAddress",
+                "body", methodCall, false);
+
+        assertEquals("name", methodCall.name());
+        assertEquals("body", response.body());
+        assertSame(methodCall, response.request());
+
+        MessagePool.release(response);
+
+        final MethodCallImpl methodCall2 = MessagePool.methodCall(3L, 4L, "name2", "address2", null, null,
+                null, "object2", "returnAddress2", null, null);
+        final ResponseImpl<Object> response2 = MessagePool.response(4L, 3L, "address2", "returnAddress2",
+                "body2", methodCall2, true);
+
+        /* Same objects, new contents. */
+        assertSame(methodCall, methodCall2);
+        assertSame(response, response2);
+        assertEquals(4L, methodCall2.id());
+        assertEquals("name2", methodCall2.name());
+        assertEquals("body2", response2.body());
+        assertTrue(response2.wasErrors());
+    }
+
+    @Test
+    public void testReleasedOnAnotherThreadGoesBackToOwner() throws Exception {
+        final MethodCallImpl methodCall = MessagePool.methodCall(1L, 2L, "name", "address", null, null,
+                null, "object", "returnAddress", null, null);
+        final ResponseImpl<Object> response = MessagePool.response(2L, 1L, "address", "returnAddress",
+                "body", methodCall, false);
+
+        final Thread responseThread = new Thread(() -> MessagePool.release(response));
+        responseThread.start();
+        responseThread.join();
+
+        final MethodCallImpl methodCall2 = MessagePool.methodCall(3L, 4L, "name2", "address2", null, null,
+                null, "object2", "returnAddress2", null, null);
+        final ResponseImpl<Object> response2 = MessagePool.response(4L, 3L, "address2", "returnAddress2",
+                "body2", methodCall2, false);
+
+        assertSame(methodCall, methodCall2);
+        assertSame(response, response2);
+        assertEquals("name2", methodCall2.name());
+        assertEquals("body2", response2.body());
+    }
+
+    @Test
+    public void testMessagesNotFromThePoolAreLeftAlone() {
+        final MethodCall<Object> methodCall = new MethodCallBuilder().setName("name").setId(5L)
+                .setReturnAddress("returnAddress").build();
+        final Response<Object> response = new ResponseImpl<>(methodCall, "body");
+
+        MessagePool.release(response);
+
+        assertEquals("name", methodCall.name());
+        assertEquals("body", response.body());
+        assertSame(methodCall, response.request());
+    }
+}
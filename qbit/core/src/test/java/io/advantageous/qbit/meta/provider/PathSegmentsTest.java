@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.provider;
+
+import io.advantageous.boon.core.Str;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PathSegmentsTest {
+
+    @Test
+    public void testSameIndexesAsSplit() {
+        final PathSegments segments = new PathSegments();
+        for (String path : new String[]{"/a/b", "/a/b/", "a/b", "/a//b", "/", "", "//x", "/services/emp/123"}) {
+            segments.reset(path);
+            final String[] split = Str.split(path, '/');
+            assertEquals(path, split.length, segments.size());
+            for (int index = 0; index < split.length; index++) {
+                assertEquals(path, split[index], segments.get(index));
+            }
+        }
+    }
+
+    @Test
+    public void testReuse() {
+        final PathSegments segments = new PathSegments();
+        segments.reset("/a/b/c/d/e/f/g/h/i/j/k");
+        assertEquals(12, segments.size());
+        assertEquals("k", segments.get(11));
+
+        segments.reset("/x/");
+        assertEquals(2, segments.size());
+        assertEquals("x", segments.get(1));
+        assertTrue(segments.hasTrailingSlash());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfRange() {
+        PathSegments.pathSegments("/a/b/").get(3);
+    }
+}
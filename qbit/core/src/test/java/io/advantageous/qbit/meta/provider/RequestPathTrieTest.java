@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+package io.advantageous.qbit.meta.provider;
+
+import io.advantageous.qbit.meta.RequestMeta;
+import io.advantageous.qbit.meta.RequestMetaData;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RequestPathTrieTest {
+
+    private RequestPathTrie trie;
+    private RequestMetaData employees;
+    private RequestMetaData employee;
+    private RequestMetaData employeeSearch;
+    private RequestMetaData phone;
+    private RequestMetaData slash;
+
+    private static RequestMetaData metaData(final String path) {
+        return new RequestMetaData(path, null, RequestMeta.getRequest(path), null, null);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        trie = new RequestPathTrie();
+        employees = add("/services/employee");
+        employee = add("/services/employee/{id}");
+        employeeSearch = add("/services/employee/search");
+        phone = add("/services/employee/{id}/phone/{phoneId}");
+        slash = add("/services/dept/");
+    }
+
+    private RequestMetaData add(final String path) {
+        final RequestMetaData metaData = metaData(path);
+        trie.add(path, metaData);
+        return metaData;
+    }
+
+    @Test
+    public void testLiteral() {
+        assertSame(employees, trie.find("/services/employee"));
+        assertSame(employeeSearch, trie.find("/services/employee/search"));
+        assertSame(slash, trie.find("/services/dept/"));
+        assertNull(trie.find("/services/dept"));
+        assertNull(trie.find("/services/employee/"));
+        assertNull(trie.find("/services"));
+    }
+
+    @Test
+    public void testIgnoresCase() {
+        assertSame(employees, trie.find("/Services/EMPLOYEE"));
+        assertSame(employeeSearch, trie.find("/services/employee/Search"));
+    }
+
+    @Test
+    public void testParams() {
+        assertSame(employee, trie.find("/services/employee/123"));
+        assertSame(employee, trie.find("/services/employee/123/"));
+        assertSame(phone, trie.find("/services/employee/123/phone/5"));
+        assertSame(phone, trie.find("/services/employee/search/phone/5"));
+        assertNull(trie.find("/services/employee/123/fax/5"));
+        assertNull(trie.find("/services/employee/123/phone"));
+        assertNull(trie.find("/services/employee//phone/5"));
+    }
+}
@@ -0,0 +1,152 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.concurrent.PeriodicScheduler;
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.queue.UnableToEnqueueHandler;
+import io.advantageous.qbit.queue.impl.sender.BasicBlockingQueueSender;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BackPressureTest {
+
+    private SendQueue<Object> sendQueue(final UnableToEnqueueHandler handler) {
+        final Queue<Object> queue = QueueBuilder.queueBuilder()
+                .setName("back pressure")
+                .setSize(10)
+                .setBatchSize(2).setArrayBlockingQueue()
+                .setUnableToEnqueueHandler(handler)
+                .build();
+        return queue.sendQueue();
+    }
+
+    @Test
+    public void testUnderPressure() {
+        final SendQueue<Object> sendQueue = sendQueue(new RejectUnableToEnqueueHandler(item -> {
+        }));
+
+        assertFalse(sendQueue.isUnderPressure());
+        for (int index = 0; index < 16; index++) {
+            sendQueue.sendAndFlush(index);
+        }
+        assertTrue(sendQueue.isUnderPressure());
+    }
+
+    @Test
+    public void testAutoFlushingSendQueueReportsPressure() {
+        final Queue<Object> queue = QueueBuilder.queueBuilder()
+                .setName("back pressure")
+                .setSize(10)
+                .setBatchSize(2).setArrayBlockingQueue()
+                .setUnableToEnqueueHandler(new RejectUnableToEnqueueHandler(item -> {
+                }))
+                .build();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final PeriodicScheduler periodicScheduler = (runnable, interval, timeUnit) ->
+                executor.scheduleAtFixedRate(runnable, interval, interval, timeUnit);
+
+        try {
+            final SendQueue<Object> sendQueue = queue.sendQueueWithAutoFlush(periodicScheduler, 1, TimeUnit.HOURS);
+            assertFalse(sendQueue.isUnderPressure());
+            for (int index = 0; index < 16; index++) {
+                sendQueue.sendAndFlush(index);
+            }
+            assertTrue(sendQueue.isUnderPressure());
+            sendQueue.stop();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnboundedQueueIsNeverUnderPressure() {
+        final SendQueue<Object> sendQueue = QueueBuilder.queueBuilder().setLinkTransferQueue()
+                .setBatchSize(2).build().sendQueue();
+        for (int index = 0; index < 1_000; index++) {
+            sendQueue.sendAndFlush(index);
+        }
+        assertFalse(sendQueue.isUnderPressure());
+    }
+
+    @Test
+    public void testPressureClearsWhenDrained() {
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(10);
+        final BasicBlockingQueueSender<Object> sender = new BasicBlockingQueueSender<>("test", 2, queue, false,
+                new RejectUnableToEnqueueHandler(item -> {
+                }), null);
+
+        for (int index = 0; index < 10; index++) {
+            sender.sendAndFlush(index);
+        }
+        assertTrue(sender.isUnderPressure());
+
+        queue.clear();
+        assertFalse(sender.isUnderPressure());
+    }
+
+    @Test
+    public void testRejectFast() {
+        final List<Object> rejected = new ArrayList<>();
+        final RejectUnableToEnqueueHandler handler = new RejectUnableToEnqueueHandler(rejected::add);
+        final SendQueue<Object> sendQueue = sendQueue(handler);
+
+        boolean ableToSend = true;
+        for (int index = 0; index < 24; index++) {
+            ableToSend &= sendQueue.send(index);
+        }
+        sendQueue.flushSends();
+
+        assertFalse(ableToSend);
+        assertEquals(4, rejected.size());
+        assertEquals(4, handler.rejectedCount());
+        assertEquals(20, rejected.get(0));
+    }
+
+    @Test
+    public void testDropOldest() {
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(2);
+        final List<Object> dropped = new ArrayList<>();
+        final DropOldestUnableToEnqueueHandler handler = new DropOldestUnableToEnqueueHandler(dropped::add);
+
+        queue.add(new Object[]{1, 2});
+        queue.add(new Object[]{3, 4});
+
+        assertTrue(handler.unableToEnqueue(queue, "test", new Object[]{5, 6}));
+        assertEquals(2, dropped.size());
+        assertEquals(1, dropped.get(0));
+        assertEquals(2, handler.droppedCount());
+        assertEquals(3, ((Object[]) queue.poll())[0]);
+        assertEquals(5, ((Object[]) queue.poll())[0]);
+    }
+
+    @Test
+    public void testShedByPriority() {
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(2);
+        final List<Object> shed = new ArrayList<>();
+        final ShedByPriorityUnableToEnqueueHandler handler = new ShedByPriorityUnableToEnqueueHandler(
+                item -> (Integer) item, 5, shed::add, new DropOldestUnableToEnqueueHandler());
+
+        queue.add(new Object[]{1});
+        queue.add(new Object[]{2});
+
+        assertFalse(handler.unableToEnqueue(queue, "test", new Object[]{3, 7, 4, 9}));
+        assertEquals(2, shed.size());
+        assertEquals(3, shed.get(0));
+        assertEquals(2, handler.shedCount());
+
+        /* The kept items made it through the fallback. */
+        assertEquals(2, ((Object[]) queue.poll())[0]);
+        final Object[] kept = (Object[]) queue.poll();
+        assertArrayEquals(new Object[]{7, 9}, kept);
+    }
+}
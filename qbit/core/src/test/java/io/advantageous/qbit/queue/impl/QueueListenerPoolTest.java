@@ -0,0 +1,148 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.reactive.Callback;
+import io.advantageous.qbit.service.ServiceBundle;
+import io.advantageous.qbit.service.ServiceBundleBuilder;
+import io.advantageous.qbit.service.ServiceProxyUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QueueListenerPoolTest {
+
+    private QueueListenerPool listenerPool;
+
+    @Before
+    public void setup() {
+        listenerPool = new QueueListenerPool("test", 2);
+    }
+
+    @After
+    public void tearDown() {
+        listenerPool.stop();
+    }
+
+    @Test
+    public void testManyQueuesFewThreads() throws Exception {
+
+        final int queueCount = 20;
+        final int amount = 1_000;
+        final CountDownLatch latch = new CountDownLatch(queueCount);
+        final CountDownLatch shutdownLatch = new CountDownLatch(queueCount);
+        final AtomicInteger idleCount = new AtomicInteger();
+        final Set<Thread> threadsUsed = ConcurrentHashMap.newKeySet();
+        final List<Queue<Integer>> queues = new ArrayList<>();
+        final List<AtomicInteger> counts = new ArrayList<>();
+
+        for (int index = 0; index < queueCount; index++) {
+            final Queue<Integer> queue = QueueBuilder.queueBuilder().setName("pooled" + index)
+                    .setBatchSize(10).setPollWait(10).setListenerPool(listenerPool).build();
+            final AtomicInteger count = new AtomicInteger();
+
+            queue.startListener(new ReceiveQueueListener<Integer>() {
+                Thread thread;
+
+                @Override
+                public void receive(final Integer item) {
+                    if (thread == null) {
+                        thread = Thread.currentThread();
+                        threadsUsed.add(thread);
+                    }
+                    /* A queue must stay on the thread it was pinned to. */
+                    assertEquals(thread, Thread.currentThread());
+                    if (count.incrementAndGet() == amount) {
+                        latch.countDown();
+                    }
+                }
+
+                @Override
+                public void idle() {
+                    idleCount.incrementAndGet();
+                }
+
+                @Override
+                public void shutdown() {
+                    shutdownLatch.countDown();
+                }
+            });
+            queues.add(queue);
+            counts.add(count);
+        }
+
+        assertEquals(queueCount, listenerPool.numberOfQueues());
+
+        for (Queue<Integer> queue : queues) {
+            final SendQueue<Integer> sendQueue = queue.sendQueue();
+            for (int index = 0; index < amount; index++) {
+                sendQueue.send(index);
+            }
+            sendQueue.flushSends();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (AtomicInteger count : counts) {
+            assertEquals(amount, count.get());
+        }
+        assertTrue(threadsUsed.size() <= 2);
+
+        Thread.sleep(100);
+        assertTrue(idleCount.get() > 0);
+
+        queues.forEach(Queue::stop);
+        assertTrue(shutdownLatch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testServiceBundleOnPool() throws Exception {
+
+        final ServiceBundle serviceBundle = ServiceBundleBuilder.serviceBundleBuilder()
+                .setListenerPool(listenerPool).build();
+
+        final int serviceCount = 50;
+        for (int index = 0; index < serviceCount; index++) {
+            serviceBundle.addServiceObject("adder" + index, new AdderService());
+        }
+        serviceBundle.startServiceBundle();
+
+        final CountDownLatch latch = new CountDownLatch(serviceCount);
+        final AtomicInteger total = new AtomicInteger();
+
+        for (int index = 0; index < serviceCount; index++) {
+            final Adder adder = serviceBundle.createLocalProxy(Adder.class, "adder" + index);
+            adder.add(callback -> {
+                total.addAndGet(callback);
+                latch.countDown();
+            }, index, 1);
+            ServiceProxyUtils.flushServiceProxy(adder);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(serviceCount * (serviceCount - 1) / 2 + serviceCount, total.get());
+        serviceBundle.stop();
+    }
+
+    interface Adder {
+        void add(Callback<Integer> callback, int a, int b);
+    }
+
+    public static class AdderService {
+        public void add(final Callback<Integer> callback, final int a, final int b) {
+            callback.resolve(a + b);
+        }
+    }
+}
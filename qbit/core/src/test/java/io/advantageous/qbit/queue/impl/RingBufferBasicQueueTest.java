@@ -0,0 +1,160 @@
+package io.advantageous.qbit.queue.impl;
+
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.QueueException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+public class RingBufferBasicQueueTest extends BasicSendReceiveTest {
+
+
+    @Before
+    public void setup() {
+
+        final QueueBuilder queueBuilder = QueueBuilder.queueBuilder();
+
+        queue = queueBuilder.setRingBufferQueue().setBatchSize(50)
+                .setCheckEvery(5).setCheckIfBusy(true)
+                .setEnqueueTimeoutTimeUnit(null).setEnqueueTimeout(0)
+                .setName("Queue test").setPollTimeUnit(TimeUnit.MILLISECONDS)
+                .setPollWait(50).build();
+
+        receiveQueue = queue.receiveQueue();
+        sendQueue = queue.sendQueue();
+    }
+
+
+    @Test(expected = QueueException.class)
+    public void testFull() {
+
+        final QueueBuilder queueBuilder = QueueBuilder.queueBuilder();
+
+        queue = queueBuilder.setRingBufferQueue().setBatchSize(5).setSize(4)
+                .setName("Queue test").setPollTimeUnit(TimeUnit.MILLISECONDS)
+                .setPollWait(50).build();
+
+        sendQueue = queue.sendQueue();
+
+        for (int index = 0; index < 2000; index++) {
+            sendQueue.send("" + index);
+        }
+    }
+
+    @Test
+    public void testCapacityAndWrap() {
+        final RingBufferBlockingQueue<String> ringBuffer = new RingBufferBlockingQueue<>(3);
+        assertEquals(4, ringBuffer.capacity());
+
+        for (int round = 0; round < 10; round++) {
+            assertTrue(ringBuffer.offer("a" + round));
+            assertTrue(ringBuffer.offer("b" + round));
+            assertTrue(ringBuffer.offer("c" + round));
+            assertTrue(ringBuffer.offer("d" + round));
+            assertFalse(ringBuffer.offer("e" + round));
+            assertEquals(4, ringBuffer.size());
+            assertEquals(0, ringBuffer.remainingCapacity());
+
+            assertEquals("a" + round, ringBuffer.peek());
+            assertEquals("a" + round, ringBuffer.poll());
+            final List<String> drained = new ArrayList<>();
+            assertEquals(3, ringBuffer.drainTo(drained));
+            assertEquals("d" + round, drained.get(2));
+            assertNull(ringBuffer.poll());
+            assertTrue(ringBuffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void testManyProducers() throws Exception {
+        final RingBufferBlockingQueue<Integer> ringBuffer = new RingBufferBlockingQueue<>(16);
+        final int producers = 4;
+        final int perProducer = 10_000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int producer = 0; producer < producers; producer++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int index = 0; index < perProducer; index++) {
+                        ringBuffer.put(index);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        long sum = 0;
+        for (int index = 0; index < producers * perProducer; index++) {
+            final Integer item = ringBuffer.poll(5, TimeUnit.SECONDS);
+            assertNotNull(item);
+            sum += item;
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer * (perProducer - 1) / 2, sum);
+        assertNull(ringBuffer.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testManyPollers() throws Exception {
+        final RingBufferBlockingQueue<Integer> ringBuffer = new RingBufferBlockingQueue<>(16);
+        final int items = 40_000;
+        final AtomicIntegerArray seen = new AtomicIntegerArray(items);
+        final AtomicInteger taken = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+
+        /* A drop oldest handler polls from the sending thread while the consumer polls too. */
+        for (int poller = 0; poller < 3; poller++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    while (taken.get() < items) {
+                        final Integer item = ringBuffer.poll();
+                        if (item != null) {
+                            seen.incrementAndGet(item);
+                            taken.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (int index = 0; index < items; index++) {
+            ringBuffer.put(index);
+        }
+
+        for (Thread thread : threads) {
+            thread.join(10_000);
+        }
+
+        assertEquals(items, taken.get());
+        for (int index = 0; index < items; index++) {
+            assertEquals(1, seen.get(index));
+        }
+        assertNull(ringBuffer.poll());
+    }
+
+}
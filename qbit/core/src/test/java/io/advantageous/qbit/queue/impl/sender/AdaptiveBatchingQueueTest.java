@@ -0,0 +1,101 @@
+package io.advantageous.qbit.queue.impl.sender;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.QueueException;
+import io.advantageous.qbit.queue.impl.DefaultUnableToEnqueueHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptiveBatchingQueueTest extends BasicSendQueueWithTransferQueueTest {
+
+    @Before
+    public void setup() {
+
+        queueBuilder = QueueBuilder.queueBuilder().setLinkTransferQueue()
+                .setCheckEvery(10)
+                .setBatchSize(1_000)
+                .setAdaptiveBatching(true);
+
+        queue = queueBuilder.build();
+
+        sendQueue = queue.sendQueue();
+        abq = new ArrayBlockingQueue<>(100_000);
+
+    }
+
+    @Test
+    public void testIdleConsumerGetsItemWithoutFlush() {
+
+        queue.startListener(abq::add);
+        Sys.sleep(10);
+
+        sendQueue.send("hi");
+
+        for (int index = 0; index < 100 && abq.isEmpty(); index++) {
+            Sys.sleep(10);
+        }
+        assertEquals("hi", abq.poll());
+    }
+
+    @Test
+    public void testBatchGrowsWhileConsumerIsBehind() {
+
+        final ArrayBlockingQueue<Object> backlog = new ArrayBlockingQueue<>(10_000);
+        final BasicBlockingQueueSender<String> sender = new BasicBlockingQueueSender<>("test", 64, backlog,
+                false, new DefaultUnableToEnqueueHandler(), null, true);
+
+        for (int index = 0; index < 1_000; index++) {
+            sender.send("" + index);
+        }
+        sender.flushSends();
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        int total = 0;
+        for (Object batch : backlog) {
+            batchSizes.add(((Object[]) batch).length);
+            total += ((Object[]) batch).length;
+        }
+
+        assertEquals(1_000, total);
+        assertEquals(1, (int) batchSizes.get(0));
+        assertTrue(batchSizes.contains(64));
+        assertTrue(batchSizes.size() < 100);
+    }
+
+    @Test
+    public void testItemIsNotKeptWhenItsSendFails() {
+
+        final ArrayBlockingQueue<Object> full = new ArrayBlockingQueue<>(1);
+        full.add(new Object[]{"backlog"});
+        final BasicBlockingQueueSender<String> sender = new BasicBlockingQueueSender<>("test", 64, full,
+                false, new DefaultUnableToEnqueueHandler(), null, true);
+
+        try {
+            sender.send("rejected");
+            fail("expected the send to fail");
+        } catch (QueueException expected) {
+            /* The item was not enqueued. */
+        }
+
+        full.clear();
+        sender.send("accepted");
+        sender.flushSends();
+
+        final List<Object> sent = new ArrayList<>();
+        for (Object batch : full) {
+            sent.addAll(Arrays.asList((Object[]) batch));
+        }
+        assertEquals(Collections.singletonList("accepted"), sent);
+    }
+}
@@ -0,0 +1,91 @@
+package io.advantageous.qbit.queue.impl.wait;
+
+import io.advantageous.qbit.queue.Queue;
+import io.advantageous.qbit.queue.QueueBuilder;
+import io.advantageous.qbit.queue.ReceiveQueue;
+import io.advantageous.qbit.queue.ReceiveQueueListener;
+import io.advantageous.qbit.queue.SendQueue;
+import io.advantageous.qbit.queue.WaitStrategy;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WaitStrategyTest {
+
+    private final WaitStrategy[] strategies = new WaitStrategy[]{
+            WaitStrategy.blocking(),
+            WaitStrategy.busySpin(),
+            WaitStrategy.spinThenYield(100),
+            WaitStrategy.spinThenPark(100, 10, 1, TimeUnit.MILLISECONDS)
+    };
+
+    private Queue<String> queue(final WaitStrategy waitStrategy) {
+        return QueueBuilder.queueBuilder().setName("WaitStrategyTest").setBatchSize(10)
+                .setPollWait(20).setWaitStrategy(waitStrategy).build();
+    }
+
+    @Test
+    public void testReturnsNullAfterIdleWait() {
+        for (WaitStrategy waitStrategy : strategies) {
+            final Queue<String> queue = queue(waitStrategy);
+            final ReceiveQueue<String> receiveQueue = queue.receiveQueue();
+            final long start = System.nanoTime();
+            assertNull(waitStrategy.toString(),
+                    waitStrategy.waitForItem(receiveQueue, TimeUnit.MILLISECONDS.toNanos(20)));
+            assertTrue(waitStrategy.toString(),
+                    System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(15));
+        }
+    }
+
+    @Test
+    public void testGetsItem() {
+        for (WaitStrategy waitStrategy : strategies) {
+            final Queue<String> queue = queue(waitStrategy);
+            final ReceiveQueue<String> receiveQueue = queue.receiveQueue();
+            final SendQueue<String> sendQueue = queue.sendQueue();
+            sendQueue.sendAndFlush("hi");
+            assertEquals(waitStrategy.toString(), "hi",
+                    waitStrategy.waitForItem(receiveQueue, TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    @Test
+    public void testListener() throws Exception {
+        for (WaitStrategy waitStrategy : strategies) {
+            final Queue<String> queue = queue(waitStrategy);
+            final int amount = 1_000;
+            final AtomicInteger count = new AtomicInteger(amount);
+            final AtomicInteger idle = new AtomicInteger();
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            queue.startListener(new ReceiveQueueListener<String>() {
+                @Override
+                public void receive(final String item) {
+                    if (count.decrementAndGet() == 0) {
+                        latch.countDown();
+                    }
+                }
+
+                @Override
+                public void idle() {
+                    idle.incrementAndGet();
+                }
+            });
+
+            final SendQueue<String> sendQueue = queue.sendQueue();
+            for (int index = 0; index < amount; index++) {
+                sendQueue.send("" + index);
+            }
+            sendQueue.flushSends();
+
+            assertTrue(waitStrategy.toString(), latch.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertTrue(waitStrategy.toString(), idle.get() > 0);
+            queue.stop();
+        }
+    }
+}
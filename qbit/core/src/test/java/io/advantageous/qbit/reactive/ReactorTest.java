@@ -3,6 +3,10 @@ package io.advantageous.qbit.reactive;
 import io.advantageous.qbit.util.TestTimer;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -277,4 +281,78 @@ public class ReactorTest {
 
 
     }
-}
\ No newline at end of file
+
+
+    @Test
+    public void testManyCallbacksSomeTimeOut() throws Exception {
+
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime();
+        final Reactor reactor = ReactorBuilder.reactorBuilder().setTimer(testTimer).build();
+        final AtomicInteger results = new AtomicInteger();
+        final AtomicInteger timeouts = new AtomicInteger();
+
+        final List<AsyncFutureCallback<Object>> callbacks = new ArrayList<>();
+        for (int index = 0; index < 1_000; index++) {
+            callbacks.add(reactor.callbackBuilder().setTimeoutTimeUnit(TimeUnit.SECONDS).setTimeoutDuration(1)
+                    .setOnTimeout(timeouts::incrementAndGet)
+                    .setCallback(Object.class, o -> results.incrementAndGet())
+                    .build());
+        }
+
+        reactor.process();
+
+        /* Complete every other one from another thread. */
+        final Thread thread = new Thread(() -> {
+            for (int index = 0; index < callbacks.size(); index += 2) {
+                callbacks.get(index).accept("done");
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(0, results.get());
+        reactor.process();
+        assertEquals(500, results.get());
+        assertEquals(0, timeouts.get());
+
+        testTimer.seconds(5);
+        reactor.process();
+        assertEquals(500, results.get());
+        assertEquals(500, timeouts.get());
+
+        /* Late results are ignored. */
+        callbacks.get(1).accept("late");
+        reactor.process();
+        assertEquals(500, results.get());
+    }
+
+
+    @Test
+    public void testTasksRunInOrder() throws Exception {
+
+        final TestTimer testTimer = new TestTimer();
+        testTimer.setTime();
+        final Reactor reactor = ReactorBuilder.reactorBuilder().setTimer(testTimer).build();
+        final List<String> ran = new ArrayList<>();
+
+        reactor.addOneShotAfterTask(20, TimeUnit.SECONDS, () -> ran.add("twenty"));
+        reactor.addOneShotAfterTask(10, TimeUnit.SECONDS, () -> ran.add("ten"));
+        reactor.addRepeatingTask(15, TimeUnit.SECONDS, () -> ran.add("repeat"));
+
+        reactor.process();
+        assertEquals(Collections.singletonList("repeat"), ran);
+
+        testTimer.seconds(11);
+        reactor.process();
+        assertEquals(Arrays.asList("repeat", "ten"), ran);
+
+        testTimer.seconds(5);
+        reactor.process();
+        assertEquals(Arrays.asList("repeat", "ten", "repeat"), ran);
+
+        testTimer.seconds(5);
+        reactor.process();
+        assertEquals(Arrays.asList("repeat", "ten", "repeat", "twenty"), ran);
+    }
+}
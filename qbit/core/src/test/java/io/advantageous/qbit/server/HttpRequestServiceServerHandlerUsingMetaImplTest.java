@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.server;
+
+import io.advantageous.boon.core.Sys;
+import io.advantageous.qbit.QBit;
+import io.advantageous.qbit.annotation.RequestMapping;
+import io.advantageous.qbit.http.HttpStatus;
+import io.advantageous.qbit.http.request.HttpRequest;
+import io.advantageous.qbit.http.request.HttpRequestBuilder;
+import io.advantageous.qbit.http.request.HttpTextReceiver;
+import io.advantageous.qbit.message.impl.ResponseImpl;
+import io.advantageous.qbit.service.ServiceBundleBuilder;
+import io.advantageous.qbit.util.Timer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The service bundle is never started, so method calls just sit in its queue
+ * and each test answers or times out requests itself.
+ */
+public class HttpRequestServiceServerHandlerUsingMetaImplTest {
+
+    private HttpRequestServiceServerHandlerUsingMetaImpl handler;
+
+    @Before
+    public void setup() {
+        handler = new HttpRequestServiceServerHandlerUsingMetaImpl(1,
+                new ServiceBundleBuilder().setAddress("/services").build(),
+                QBit.factory().createJsonMapper(), 1, 50, null);
+        handler.addRestSupportFor(SampleService.class, "/services");
+        handler.start();
+    }
+
+    @Test
+    public void tooManyOutstandingRequests() {
+        final Receiver first = new Receiver();
+        final Receiver second = new Receiver();
+
+        handler.handleRestCall(request("/services/sample/ping", first));
+        handler.handleRestCall(request("/services/sample/ping", second));
+
+        assertEquals(0, first.codes.size());
+        assertEquals(HttpStatus.TOO_MANY_REQUEST, second.code());
+    }
+
+    @Test
+    public void responseFreesTheSlot() {
+        final Receiver first = new Receiver();
+        final HttpRequest request = request("/services/sample/ping", first);
+        handler.handleRestCall(request);
+
+        handler.handleResponseFromServiceToHttpResponse(respond(request), request);
+        assertEquals(HttpStatus.OK, first.code());
+
+        final Receiver second = new Receiver();
+        handler.handleRestCall(request("/services/sample/ping", second));
+        assertEquals(0, second.codes.size());
+    }
+
+    @Test
+    public void voidMethodFreesTheSlot() {
+        final Receiver first = new Receiver();
+        handler.handleRestCall(request("/services/sample/fire", first));
+        assertEquals(HttpStatus.ACCEPTED, first.code());
+
+        final Receiver second = new Receiver();
+        handler.handleRestCall(request("/services/sample/ping", second));
+        assertEquals(0, second.codes.size());
+    }
+
+    @Test
+    public void timeoutAnswers408AndFreesTheSlot() {
+        final Receiver first = new Receiver();
+        handler.handleRestCall(expiredRequest(first));
+
+        expireTimeouts();
+        assertEquals(HttpStatus.TIMED_OUT, first.code());
+
+        final Receiver second = new Receiver();
+        handler.handleRestCall(request("/services/sample/ping", second));
+        assertEquals(0, second.codes.size());
+    }
+
+    @Test
+    public void lateResponseDoesNotFreeASecondSlot() {
+        final Receiver first = new Receiver();
+        final HttpRequest request = expiredRequest(first);
+        handler.handleRestCall(request);
+        expireTimeouts();
+        assertEquals(HttpStatus.TIMED_OUT, first.code());
+
+        /* The response shows up after the timeout already freed the slot. */
+        handler.handleResponseFromServiceToHttpResponse(respond(request), request);
+
+        final Receiver second = new Receiver();
+        final Receiver third = new Receiver();
+        handler.handleRestCall(request("/services/sample/ping", second));
+        handler.handleRestCall(request("/services/sample/ping", third));
+
+        assertEquals(0, second.codes.size());
+        assertEquals(HttpStatus.TOO_MANY_REQUEST, third.code());
+    }
+
+    private void expireTimeouts() {
+        /* Let the wheel move past the tick the expired request landed on. */
+        Sys.sleep(200);
+        handler.checkTimeoutsForRequests();
+    }
+
+    private static HttpRequest request(final String uri, final Receiver receiver) {
+        return new HttpRequestBuilder().setUri(uri).setTextReceiver(receiver).build();
+    }
+
+    private static HttpRequest expiredRequest(final Receiver receiver) {
+        return new HttpRequestBuilder().setUri("/services/sample/ping").setTextReceiver(receiver)
+                .setTimestamp(Timer.timer().now() - 10_000).build();
+    }
+
+    private static ResponseImpl<Object> respond(final HttpRequest request) {
+        return new ResponseImpl<>(request.id(), request.timestamp(), request.address(), request.returnAddress(),
+                null, "pong", null, false);
+    }
+
+    @RequestMapping("/sample")
+    public static class SampleService {
+
+        @RequestMapping("/ping")
+        public String ping() {
+            return "pong";
+        }
+
+        @RequestMapping("/fire")
+        public void fire() {
+        }
+    }
+
+    private static class Receiver implements HttpTextReceiver {
+        private final List<Integer> codes = new ArrayList<>();
+
+        @Override
+        public void response(int code, String contentType, String body) {
+            codes.add(code);
+        }
+
+        int code() {
+            assertEquals(1, codes.size());
+            return codes.get(0);
+        }
+    }
+}
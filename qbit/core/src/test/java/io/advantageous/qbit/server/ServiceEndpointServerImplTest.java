@@ -62,6 +62,7 @@ public class ServiceEndpointServerImplTest extends TimedTesting {
     static AtomicInteger timeOutCounter = new AtomicInteger();
     volatile int callMeCounter = 0;
     volatile int responseCounter = 0;
+    volatile int binaryResponseCounter = 0;
     volatile int failureCounter = 0;
     volatile String lastResponse = "";
     private ServiceEndpointServer objectUnderTest;
@@ -198,6 +199,41 @@ public class ServiceEndpointServerImplTest extends TimedTesting {
 
     }
 
+    @Test
+    public void testHTTPRequestsFromManyThreads() throws Exception {
+
+        final AtomicInteger responses = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int threadIndex = 0; threadIndex < 4; threadIndex++) {
+            final Thread thread = new Thread(() -> {
+                for (int index = 0; index < 25; index++) {
+                    httpServer.sendRequest(new HttpRequestBuilder().setUri("/services/mock/callme")
+                            .setTextReceiver((code, mimeType, body) -> {
+                                if (code == 202) {
+                                    responses.incrementAndGet();
+                                }
+                            }).setBody("").build());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Sys.sleep(50);
+        serviceServerImpl.flush();
+
+        waitForTrigger(20, o -> callMeCounter == 100);
+
+        ok |= responses.get() == 100 || die(responses.get());
+        ok |= callMeCounter == 100 || die(callMeCounter);
+
+    }
+
     @Test
     public void testTimeOut() throws Exception {
 
@@ -329,6 +365,32 @@ public class ServiceEndpointServerImplTest extends TimedTesting {
 
     }
 
+    @Test
+    public void testWebSocketBinaryCall() throws Exception {
+
+        final MethodCall<Object> methodCall = new MethodCallBuilder().setObjectName("serviceMockObject").setName("callWithReturn").setBody(null)
+                .build();
+
+        final byte[] message = QBit.factory().createBinaryEncoder().encodeMethodCallsAsBytes("", Lists.list(methodCall));
+
+        httpServer.sendWebSocketServerMessage(new WebSocketMessageBuilder().setRemoteAddress("/binary").setMessage(message).setSender(new
+                MockWebSocketSender()).build());
+
+        Sys.sleep(10);
+
+        serviceServerImpl.flush();
+
+        Sys.sleep(10);
+
+        waitForTrigger(20, o -> binaryResponseCounter == 1);
+
+        ok |= binaryResponseCounter == 1 || die();
+        ok |= responseCounter == 1 || die();
+        ok |= failureCounter == 0 || die();
+        ok |= lastResponse.equals("bacon") || die(lastResponse);
+
+    }
+
     @Test
     public void testExceptionCall() throws Exception {
 
@@ -467,7 +529,19 @@ public class ServiceEndpointServerImplTest extends TimedTesting {
 
         @Override
         public void sendBytes(byte[] message) {
-            //Binary not supported yet
+
+            final List<Message<Object>> messages = QBit.factory().createBinaryProtocolParser().parse("", message);
+
+            if (messages.size() == 1) {
+
+                binaryResponseCounter++;
+                responseCounter++;
+                final Response<Object> response = (Response<Object>) messages.get(0);
+                lastResponse = String.valueOf(response.body());
+                if (response.wasErrors()) {
+                    failureCounter++;
+                }
+            }
         }
 
     }
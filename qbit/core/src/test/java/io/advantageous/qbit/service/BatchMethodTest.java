@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.service;
+
+import io.advantageous.qbit.annotation.BatchMethod;
+import io.advantageous.qbit.reactive.Callback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.advantageous.qbit.service.ServiceProxyUtils.flushServiceProxy;
+import static org.junit.Assert.*;
+
+public class BatchMethodTest {
+
+    private static final int CALLS = 100;
+
+    private ServiceQueue serviceQueue;
+    private BatchService service;
+    private IBatchService proxy;
+
+    @Before
+    public void setup() {
+        service = new BatchService();
+        serviceQueue = ServiceBuilder.serviceBuilder().setServiceObject(service).buildAndStartAll();
+        proxy = serviceQueue.createProxy(IBatchService.class);
+    }
+
+    @After
+    public void tearDown() {
+        serviceQueue.stop();
+    }
+
+    @Test
+    public void testCallbacksPerCall() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(CALLS);
+        final AtomicInteger wrong = new AtomicInteger();
+
+        for (int index = 0; index < CALLS; index++) {
+            final String name = "emp" + index;
+            proxy.addEmployee(added -> {
+                if (!added.equals(name)) {
+                    wrong.incrementAndGet();
+                }
+                latch.countDown();
+            }, name);
+        }
+        flushServiceProxy(proxy);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, wrong.get());
+        assertEquals(CALLS, service.employees.size());
+        assertTrue("calls were batched " + service.batchSizes, service.batchSizes.size() < CALLS);
+    }
+
+    @Test
+    public void testListReturn() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(CALLS);
+        final AtomicInteger wrong = new AtomicInteger();
+
+        for (int index = 0; index < CALLS; index++) {
+            final int value = index;
+            proxy.square(result -> {
+                if (result != value * value) {
+                    wrong.incrementAndGet();
+                }
+                latch.countDown();
+            }, value);
+        }
+        flushServiceProxy(proxy);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(0, wrong.get());
+    }
+
+    @Test
+    public void testOrderIsKept() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        for (int index = 0; index < 5; index++) {
+            proxy.addEmployee(added -> {
+            }, "emp" + index);
+        }
+        proxy.employeeCount(value -> {
+            count.set(value);
+            latch.countDown();
+        });
+        flushServiceProxy(proxy);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(5, count.get());
+    }
+
+    @Test
+    public void testErrorGoesToEveryCall() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        for (int index = 0; index < 3; index++) {
+            proxy.fail(new Callback<Integer>() {
+                @Override
+                public void accept(Integer value) {
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    error.set(throwable);
+                    latch.countDown();
+                }
+            }, index);
+        }
+        flushServiceProxy(proxy);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        /* Callers get the exception the service threw, not the invoker's wrapper. */
+        assertTrue(String.valueOf(error.get()), error.get() instanceof IllegalStateException);
+        assertTrue(error.get().getMessage(), error.get().getMessage().startsWith("fail ["));
+    }
+
+    public interface IBatchService {
+        void addEmployee(Callback<String> callback, String name);
+
+        void square(Callback<Integer> callback, int value);
+
+        void employeeCount(Callback<Integer> callback);
+
+        void fail(Callback<Integer> callback, int value);
+    }
+
+    public static class BatchService {
+
+        final List<String> employees = new ArrayList<>();
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @BatchMethod
+        public void addEmployee(final List<Callback<String>> callbacks, final List<String> names) {
+            batchSizes.add(names.size());
+            employees.addAll(names);
+            for (int index = 0; index < names.size(); index++) {
+                callbacks.get(index).accept(names.get(index));
+            }
+        }
+
+        @BatchMethod
+        public List<Integer> square(final List<Integer> values) {
+            final List<Integer> results = new ArrayList<>(values.size());
+            for (Integer value : values) {
+                results.add(value * value);
+            }
+            return results;
+        }
+
+        @BatchMethod
+        public List<Integer> fail(final List<Integer> values) {
+            throw new IllegalStateException("fail " + values);
+        }
+
+        public int employeeCount() {
+            return employees.size();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.advantageous.qbit.service.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 1; index <= 50; index++) {
+            histogram.record(index);
+        }
+        assertEquals(50, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(50, histogram.getMax());
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(45, histogram.percentile(90));
+        assertEquals(50, histogram.percentile(99.9));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 1; index <= 100_000; index++) {
+            histogram.record(index);
+        }
+        assertWithin(50_000, histogram.percentile(50));
+        assertWithin(90_000, histogram.percentile(90));
+        assertWithin(99_000, histogram.percentile(99));
+        assertWithin(99_900, histogram.percentile(99.9));
+        assertEquals(100_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value : new long[]{63, 64, 65, 127, 128, 1_000_003, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index < LatencyHistogram.MAX_BUCKETS);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueInBucket(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testMergeMatchesSingleHistogram() {
+        final LatencyHistogram all = new LatencyHistogram();
+        final LatencyHistogram fast = new LatencyHistogram();
+        final LatencyHistogram slow = new LatencyHistogram();
+        for (int index = 0; index < 990; index++) {
+            fast.record(10);
+            all.record(10);
+        }
+        for (int index = 0; index < 10; index++) {
+            slow.record(5_000);
+            all.record(5_000);
+        }
+
+        final LatencyHistogram merged = new LatencyHistogram();
+        merged.add(fast);
+        merged.add(slow);
+
+        assertEquals(all.getTotalCount(), merged.getTotalCount());
+        assertEquals(all.getSum(), merged.getSum());
+        assertEquals(10, merged.percentile(99));
+        assertEquals(all.percentile(99.9), merged.percentile(99.9));
+        assertEquals(5_000, merged.getMax());
+        assertEquals(10, merged.getMin());
+    }
+
+    @Test
+    public void testEncodeDecode() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(700);
+        histogram.record(700);
+        histogram.record(90_000);
+
+        final long[] encoded = histogram.encode();
+        assertEquals(4 + 3 * 2, encoded.length);
+        assertEquals(90_000, LatencyHistogram.encodedMax(encoded));
+
+        final LatencyHistogram decoded = LatencyHistogram.decode(encoded);
+        assertEquals(4, decoded.getTotalCount());
+        assertEquals(3, decoded.getMin());
+        assertEquals(90_000, decoded.getMax());
+        assertEquals(histogram.percentile(50), decoded.percentile(50));
+        assertEquals(histogram.percentile(99), decoded.percentile(99));
+    }
+
+    @Test
+    public void testReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(4, histogram.encode().length);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                Math.abs(expected - actual) <= expected * 0.04);
+    }
+}
@@ -0,0 +1,150 @@
+package io.advantageous.qbit.service.stats;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testCountFromManyThreads() throws Exception {
+        final AtomicLong countHolder = new AtomicLong();
+        final MetricsRegistry registry = new MetricsRegistry(new StatsCollector() {
+            @Override
+            public void recordCount(String name, long count) {
+                countHolder.addAndGet(count);
+            }
+        });
+
+        final MetricsRegistry.Counter counter = registry.counter("requests");
+        assertSame(counter, registry.counter("requests"));
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (int index = 0; index < 10_000; index++) {
+                    counter.increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        registry.recordCount("requests", 5);
+
+        registry.flush();
+        assertEquals(40_005, countHolder.get());
+
+        registry.flush();
+        assertEquals(40_005, countHolder.get());
+    }
+
+    @Test
+    public void testLevelOnlySentWhenChanged() {
+        final AtomicLong holder = new AtomicLong();
+        final MetricsRegistry registry = new MetricsRegistry(new StatsCollector() {
+            @Override
+            public void recordLevel(String name, long level) {
+                holder.addAndGet(level);
+            }
+        });
+
+        final MetricsRegistry.Level level = registry.level("queueSize");
+        level.set(3);
+        level.set(6);
+        registry.flush();
+        registry.flush();
+
+        assertEquals(6, holder.get());
+    }
+
+    @Test
+    public void testFlushWhileThreadsWrite() throws Exception {
+        final AtomicLong countHolder = new AtomicLong();
+        final MetricsRegistry registry = new MetricsRegistry(new StatsCollector() {
+            @Override
+            public void recordCount(String name, long count) {
+                countHolder.addAndGet(count);
+            }
+        });
+
+        final MetricsRegistry.Counter counter = registry.counter("requests");
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (int index = 0; index < 250_000; index++) {
+                    counter.increment();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            registry.flush();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        registry.flush();
+        assertEquals(1_000_000, countHolder.get());
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testLevelOfZeroIsSent() {
+        final List<Long> sent = new ArrayList<>();
+        final MetricsRegistry registry = new MetricsRegistry(new StatsCollector() {
+            @Override
+            public void recordLevel(String name, long level) {
+                sent.add(level);
+            }
+        });
+
+        registry.level("queueSize").set(0);
+        registry.flush();
+        registry.flush();
+
+        assertEquals(1, sent.size());
+        assertEquals(0L, (long) sent.get(0));
+    }
+
+    @Test
+    public void testTimingFromManyThreads() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final MetricsRegistry registry = new MetricsRegistry(new StatsCollector() {
+            @Override
+            public void recordTimingHistogram(String name, long[] encoded) {
+                histogram.add(encoded);
+            }
+        }, 4);
+
+        final MetricsRegistry.Timing timing = registry.timing("latency");
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (int index = 0; index < 1_000; index++) {
+                    timing.record(index % 100 == 0 ? 500 : 5);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        registry.flush();
+
+        assertEquals(4_000, histogram.getTotalCount());
+        assertEquals(5, histogram.percentile(90));
+        assertEquals(500, histogram.percentile(99.9));
+
+        registry.flush();
+        assertEquals(4_000, histogram.getTotalCount());
+    }
+}
@@ -78,4 +78,29 @@ public class StatsCollectorBufferTest {
         assertEquals(6, holder.get());
 
     }
-}
\ No newline at end of file
+
+
+    @Test
+    public void testTimingHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        StatsCollector collector = new StatsCollector() {
+            @Override
+            public void recordTimingHistogram(String name, long[] encoded) {
+                histogram.add(encoded);
+            }
+        };
+        StatsCollectorBuffer buffer = new StatsCollectorBuffer(collector);
+
+        for (int index = 0; index < 99; index++) {
+            buffer.recordTiming("Rick", 2);
+        }
+        buffer.recordTiming("Rick", 40);
+
+        buffer.sendStats();
+        buffer.sendStats();
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(2, histogram.percentile(99));
+        assertEquals(40, histogram.percentile(99.9));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CallbackRegistryTest {
+
+    @Test
+    public void testSameIdDifferentReturnAddress() {
+        final CallbackRegistry<String> registry = new CallbackRegistry<>();
+        registry.put(1, "a", "a1");
+        registry.put(1, "b", "b1");
+        registry.put(1, null, "null1");
+        registry.put(2, "a", "a2");
+
+        assertEquals(4, registry.size());
+        assertEquals("b1", registry.get(1, new String("b")));
+        assertEquals("null1", registry.get(1, null));
+
+        assertEquals("b1", registry.remove(1, "b"));
+        assertNull(registry.remove(1, "b"));
+        assertEquals("a1", registry.get(1, "a"));
+        assertEquals("null1", registry.remove(1, null));
+        assertEquals("a1", registry.remove(1, "a"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testRemoveByRegion() {
+        final CallbackRegistry<String> registry = new CallbackRegistry<>();
+        registry.put(1, "client", "c1");
+        registry.put(1, "cli", "short");
+
+        assertNull(registry.remove(1, "xx|clientx", 3, 8));
+        assertEquals("c1", registry.remove(1, "xx|client", 3, 9));
+        assertEquals("short", registry.remove(1, "cli|ent", 0, 3));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testReplaceAndConditionalRemove() {
+        final CallbackRegistry<String> registry = new CallbackRegistry<>();
+        assertNull(registry.put(1, "a", "first"));
+        assertEquals("first", registry.put(1, "a", "second"));
+        assertEquals(1, registry.size());
+
+        assertFalse(registry.remove(1, "a", "first"));
+        assertTrue(registry.remove(1, "a", "second"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testManyThreads() throws Exception {
+        final CallbackRegistry<Integer> registry = new CallbackRegistry<>(4);
+        final AtomicInteger removed = new AtomicInteger();
+        final int threads = 4;
+        final CountDownLatch latch = new CountDownLatch(threads);
+
+        for (int thread = 0; thread < threads; thread++) {
+            final String returnAddress = "thread" + thread;
+            new Thread(() -> {
+                for (int id = 0; id < 10_000; id++) {
+                    registry.put(id, returnAddress, id);
+                }
+                for (int id = 0; id < 10_000; id++) {
+                    if (registry.remove(id, returnAddress) != null) {
+                        removed.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(40_000, removed.get());
+        assertEquals(0, registry.size());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LongObjectMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        final LongObjectMap<String> map = new LongObjectMap<>();
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus one"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("zero", map.put(0, "ZERO"));
+
+        assertEquals(3, map.size());
+        assertEquals("ZERO", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+        assertNull(map.get(1));
+
+        assertEquals("minus one", map.remove(-1));
+        assertNull(map.remove(-1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final LongObjectMap<Long> map = new LongObjectMap<>(4);
+        final Map<Long, Long> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int index = 0; index < 200_000; index++) {
+            /* Small key range so we get lots of collisions and removes. */
+            final long key = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, key), map.put(key, key));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
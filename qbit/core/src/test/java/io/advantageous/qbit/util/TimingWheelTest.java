@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015. Rick Hightower, Geoff Chandler
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * QBit - The Microservice lib for Java : JSON, WebSocket, REST. Be The Web!
+ */
+
+package io.advantageous.qbit.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTest {
+
+    private TimingWheel<String> timingWheel;
+    private List<String> expired;
+
+    @Before
+    public void setUp() throws Exception {
+        timingWheel = new TimingWheel<>(1_000, 10, 8);
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    public void testExpire() {
+        timingWheel.schedule("a", 1_050);
+        timingWheel.schedule("b", 1_100);
+        assertEquals(2, timingWheel.size());
+
+        assertEquals(0, timingWheel.advance(1_050, expired::add));
+        assertEquals(1, timingWheel.advance(1_051, expired::add));
+        assertEquals("a", expired.get(0));
+
+        assertEquals(1, timingWheel.advance(1_200, expired::add));
+        assertEquals("b", expired.get(1));
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void testCancel() {
+        final TimingWheel.Timeout<String> timeout = timingWheel.schedule("a", 1_050);
+        timingWheel.schedule("b", 1_050);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, timingWheel.size());
+
+        timingWheel.advance(2_000, expired::add);
+        assertEquals(1, expired.size());
+        assertEquals("b", expired.get(0));
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testDeadlineMoreThanOneTurnOut() {
+        /* Wheel turns every 80 ticks. */
+        timingWheel.schedule("far", 1_500);
+        timingWheel.schedule("near", 1_020);
+
+        for (long now = 1_000; now <= 1_500; now += 5) {
+            timingWheel.advance(now, expired::add);
+        }
+        assertEquals(1, expired.size());
+        assertEquals("near", expired.get(0));
+
+        timingWheel.advance(1_501, expired::add);
+        assertEquals(2, expired.size());
+        assertEquals("far", expired.get(1));
+    }
+
+    @Test
+    public void testDeadlineAlreadyPassed() {
+        timingWheel.advance(1_500, expired::add);
+        timingWheel.schedule("late", 1_100);
+        timingWheel.advance(1_501, expired::add);
+        assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void testManyTimeouts() {
+        final List<TimingWheel.Timeout<String>> timeouts = new ArrayList<>();
+        for (int index = 0; index < 10_000; index++) {
+            timeouts.add(timingWheel.schedule("item" + index, 1_000 + index));
+        }
+        for (int index = 0; index < 10_000; index += 2) {
+            timeouts.get(index).cancel();
+        }
+        assertEquals(5_000, timingWheel.size());
+        assertEquals(5_000, timingWheel.advance(20_000, expired::add));
+        assertEquals(0, timingWheel.size());
+    }
+}
@@ -32,6 +32,7 @@ import io.advantageous.qbit.network.NetSocket;
 import io.advantageous.qbit.network.impl.NetSocketBase;
 import io.advantageous.qbit.util.MultiMap;
 import io.advantageous.qbit.vertx.MultiMapWrapper;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.*;
@@ -42,6 +43,7 @@ import org.slf4j.LoggerFactory;
 import java.io.UnsupportedEncodingException;
 import java.net.ConnectException;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -254,22 +256,23 @@ public class HttpVertxClient implements HttpClient {
             }
         }
 
-        final byte[] body = request.getBody();
+        final ByteBuffer body = request.getBodyAsByteBuffer();
 
         if (keepAlive) {
             httpClientRequest.putHeader(HttpHeaders.CONNECTION, HttpHeaders.KEEP_ALIVE);
         }
 
-        if (body != null && body.length > 0) {
+        if (body != null && body.remaining() > 0) {
 
 
-            httpClientRequest.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length));
+            httpClientRequest.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.remaining()));
             if (request.getContentType() != null) {
 
 
                 httpClientRequest.putHeader("Content-Type", request.getContentType());
             }
-            httpClientRequest.end(Buffer.buffer(request.getBody()));
+            /* Wraps the body without copying it. */
+            httpClientRequest.end(Buffer.buffer(Unpooled.wrappedBuffer(body)));
 
         } else {
             httpClientRequest.end();
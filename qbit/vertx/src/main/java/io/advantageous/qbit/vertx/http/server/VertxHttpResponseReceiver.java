@@ -6,6 +6,7 @@ import io.advantageous.qbit.http.request.HttpResponseCreator;
 import io.advantageous.qbit.http.request.HttpResponseReceiver;
 import io.advantageous.qbit.http.request.decorator.HttpResponseDecorator;
 import io.advantageous.qbit.util.MultiMap;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 
@@ -47,16 +48,25 @@ public class VertxHttpResponseReceiver implements HttpResponseReceiver<Object> {
         if (body instanceof byte[]) {
             byte[] bBody = ((byte[]) body);
             response.putHeader("Content-Length", String.valueOf(bBody.length));
-            buffer = Buffer.buffer(bBody);
+            /* The body array is not reused by the caller so wrap it instead of copying it. */
+            buffer = Buffer.buffer(Unpooled.wrappedBuffer(bBody));
         } else if (body instanceof String) {
             String sBody = ((String) body);
             byte[] bBody = sBody.getBytes(StandardCharsets.UTF_8);
             response.putHeader("Content-Length", String.valueOf(bBody.length));
-            buffer = Buffer.buffer(bBody);
+            buffer = Buffer.buffer(Unpooled.wrappedBuffer(bBody));
         }
         return buffer;
     }
 
+    /**
+     * Bodies are written as bytes, so ask for bytes unless a decorator may need to look at a String body.
+     */
+    @Override
+    public boolean isText() {
+        return !decorators.isEmpty();
+    }
+
     @Override
     public void response(int code, String contentType, Object body) {
 
@@ -84,7 +84,7 @@ public class VertxServerUtils {
                 .setData(data)
                 .setUri(requestPath).setMethod(request.method().toString())
                 .setBodySupplier(() -> buffer == null ?
-                        null : buffer.get().getBytes())
+                        null : buffer.get().getByteBuf().nioBuffer())
                 .setRemoteAddress(request.remoteAddress().toString())
                 .setResponse(createResponse(requestPath, request.method().toString(), headers, params,
                         request.response(), decorators, httpResponseCreator))
@@ -52,6 +52,7 @@ public class FullIntegrationTest extends TimedTesting {
     HttpClient httpClient;
     ClientServiceInterface clientProxy;
     AtomicInteger callCount = new AtomicInteger();
+    int port;
 
     /**
      * Holds on to Boon cache so we don't have to recreate reflected gak.
@@ -82,6 +83,29 @@ public class FullIntegrationTest extends TimedTesting {
 
     }
 
+    @Test
+    public void testWebSocketBinaryProtocol() throws Exception {
+
+        final Client binaryClient = new ClientBuilder().setPort(port).setBinaryProtocol(true).build();
+        final ClientServiceInterface binaryProxy = binaryClient.createProxy(ClientServiceInterface.class, "mockService");
+        binaryClient.start();
+
+        final AtomicReference<String> pongValue = new AtomicReference<>();
+
+        try {
+            binaryProxy.ping(pongValue::set, "binary");
+
+            ServiceProxyUtils.flushServiceProxy(binaryProxy);
+
+            waitForTrigger(2, o -> pongValue.get() != null);
+
+            ok = "binary pong".equals(pongValue.get()) || die(pongValue.get());
+        } finally {
+            binaryClient.stop();
+        }
+
+    }
+
     public void testWebSocketSend10() throws Exception {
 
 
@@ -155,7 +179,7 @@ public class FullIntegrationTest extends TimedTesting {
 
         super.setupLatch();
 
-        int port = PortUtils.findOpenPortStartAt(7000);
+        port = PortUtils.findOpenPortStartAt(7000);
 
         httpClient = new HttpClientBuilder().setPort(port).setPoolSize(1).build();
 